@@ -9,6 +9,6 @@ import java.lang.annotation.Target;
  * Used to indicate that a builder argument is required.
  */
 @Target(ElementType.METHOD)
-@Retention(RetentionPolicy.CLASS)
+@Retention(RetentionPolicy.RUNTIME)
 public @interface RequiredBuilderArgument {
 }
@@ -0,0 +1,150 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import java.util.Date;
+
+/**
+ * Skeleton implementation of {@link CompoundElement}.
+ * <p>
+ * Every type check returns false and every conversion throws,
+ * implementations only override what applies to their own type.
+ */
+public abstract class AbstractCompoundElement implements CompoundElement {
+
+    @Override
+    public boolean isArray() {
+        return false;
+    }
+
+    @Override
+    public boolean isObject() {
+        return false;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return false;
+    }
+
+    @Override
+    public boolean isNull() {
+        return false;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        throw new IllegalStateException("Not a CompoundArray: " + this);
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        throw new IllegalStateException("Not a CompoundObject: " + this);
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive() {
+        throw new IllegalStateException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public CompoundNull getAsNull() {
+        throw new IllegalStateException("Not a CompoundNull: " + this);
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public double getAsDouble() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public long getAsLong() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public int getAsInt() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public byte getAsByte() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public byte[] getAsByteArray() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public Date getAsDate() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public char getAsChar() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public String getAsString() {
+        throw new UnsupportedOperationException("Not a CompoundPrimitive: " + this);
+    }
+
+    @Override
+    public String toString() {
+        return this.toJson();
+    }
+
+    @Override
+    public abstract CompoundElement clone();
+
+    /**
+     * Estimate the heap retained by this element alone, excluding its children which are measured separately.
+     * <p>
+     * Implementations knowing their storage should override this method, instances shared by the whole
+     * application should report zero.
+     *
+     * @return the estimated size in bytes.
+     * @see CompoundSizes
+     */
+    protected long shallowSize() {
+        return CompoundSizes.genericShallowSize(this);
+    }
+
+    /**
+     * Retrieve the children retained by this element, which are measured along with it.
+     * <p>
+     * Defaults to every child of an object or an array, implementations decoding their children on demand
+     * should only report the children already decoded.
+     *
+     * @return the retained children.
+     * @see CompoundSizes
+     */
+    protected Iterable<CompoundElement> retainedChildren() {
+        return CompoundSizes.genericChildren(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CompoundElement other && CompoundHashing.equals(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+        return CompoundHashing.hashCode(this);
+    }
+}
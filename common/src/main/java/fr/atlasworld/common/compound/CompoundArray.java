@@ -293,8 +293,10 @@ public interface CompoundArray extends CompoundElement, Iterable<CompoundElement
 
     /**
      * Retrieve this compound array as a list.
+     * <p>
+     * The list may be a live view, reflecting later changes made to this array.
      *
-     * @return <strong>immutable</strong> list of the element contained in this array.
+     * @return <strong>unmodifiable</strong> list of the element contained in this array.
      */
     List<CompoundElement> asList();
 
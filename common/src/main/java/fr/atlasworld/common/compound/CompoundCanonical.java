@@ -0,0 +1,293 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Canonical serialization of compound trees.
+ * <p>
+ * The canonical form is a deterministic {@code JSON} text: structurally equal elements, as defined by
+ * {@link CompoundHashing}, always produce the same text whatever their backend or insertion order.
+ * <ul>
+ *     <li>Object keys are sorted by their UTF-16 code units, and no whitespace is written.</li>
+ *     <li>Numbers holding an integer are written without fraction nor exponent,
+ *     other numbers use the shortest text that round-trips, with a lowercase exponent.
+ *     {@code NaN} and infinite numbers have no canonical form.</li>
+ *     <li>Strings only escape quotes, backslashes and control characters, byte arrays are written in Base64.</li>
+ * </ul>
+ * The canonical hash is computed over the {@code UTF-8} bytes of the canonical text while it is generated,
+ * without building the text, so it can be used as a content address across processes.
+ */
+public final class CompoundCanonical {
+    private static final HashFunction DEFAULT_HASH = Hashing.murmur3_128();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private CompoundCanonical() {
+    }
+
+    /**
+     * Convert an element into its canonical {@code JSON} form.
+     *
+     * @param element element to convert.
+     * @return the canonical text of the element.
+     * @throws IllegalArgumentException if the element holds a {@code NaN} or infinite number.
+     * @throws NullPointerException     if {@code element} is null.
+     */
+    public static String toJson(@NotNull CompoundElement element) {
+        StringBuilder builder = new StringBuilder();
+
+        try {
+            write(element, builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws.
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Write the canonical {@code JSON} form of an element into an output.
+     *
+     * @param element element to write.
+     * @param output  output to write to, it is neither flushed nor closed.
+     * @throws IOException              if the output could not be written to.
+     * @throws IllegalArgumentException if the element holds a {@code NaN} or infinite number.
+     * @throws NullPointerException     if {@code element} or {@code output} is null.
+     */
+    public static void write(@NotNull CompoundElement element, @NotNull Appendable output) throws IOException {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkNotNull(output);
+
+        writeElement(element, output);
+    }
+
+    /**
+     * Compute the canonical hash of an element, using 128-bit MurmurHash3.
+     *
+     * @param element element to hash.
+     * @return the hash of the canonical text of the element.
+     * @throws IllegalArgumentException if the element holds a {@code NaN} or infinite number.
+     * @throws NullPointerException     if {@code element} is null.
+     */
+    public static HashCode hash(@NotNull CompoundElement element) {
+        return hash(element, DEFAULT_HASH);
+    }
+
+    /**
+     * Compute the canonical hash of an element.
+     * <p>
+     * The result is the same as hashing the {@code UTF-8} bytes of {@link #toJson(CompoundElement)}.
+     *
+     * @param element  element to hash.
+     * @param function hash function to use, a cryptographic function should be used when the hash is trusted.
+     * @return the hash of the canonical text of the element.
+     * @throws IllegalArgumentException if the element holds a {@code NaN} or infinite number.
+     * @throws NullPointerException     if {@code element} or {@code function} is null.
+     */
+    public static HashCode hash(@NotNull CompoundElement element, @NotNull HashFunction function) {
+        Preconditions.checkNotNull(function);
+
+        Hasher hasher = function.newHasher();
+
+        try {
+            write(element, new HashingAppendable(hasher));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Hashers never throw.
+        }
+
+        return hasher.hash();
+    }
+
+    private static void writeElement(CompoundElement element, Appendable output) throws IOException {
+        if (element.isObject()) {
+            CompoundObject object = element.getAsObject();
+            String[] keys = object.asMap().keySet().toArray(String[]::new);
+            Arrays.sort(keys);
+
+            output.append('{');
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0)
+                    output.append(',');
+
+                writeString(keys[i], output);
+                output.append(':');
+                writeElement(object.get(keys[i]), output);
+            }
+            output.append('}');
+            return;
+        }
+
+        if (element instanceof CompoundIntArray || element instanceof CompoundLongArray || element instanceof CompoundDoubleArray) {
+            writeTypedArray(element, output);
+            return;
+        }
+
+        if (element.isArray()) {
+            CompoundArray array = element.getAsArray();
+
+            output.append('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0)
+                    output.append(',');
+
+                writeElement(array.get(i), output);
+            }
+            output.append(']');
+            return;
+        }
+
+        if (element.isPrimitive()) {
+            writePrimitive(element.getAsPrimitive(), output);
+            return;
+        }
+
+        output.append("null");
+    }
+
+    // Typed arrays are written from their unboxed values.
+    private static void writeTypedArray(CompoundElement element, Appendable output) throws IOException {
+        output.append('[');
+
+        if (element instanceof CompoundIntArray ints) {
+            for (int i = 0; i < ints.size(); i++) {
+                if (i > 0)
+                    output.append(',');
+
+                output.append(Integer.toString(ints.getInt(i)));
+            }
+        } else if (element instanceof CompoundLongArray longs) {
+            for (int i = 0; i < longs.size(); i++) {
+                if (i > 0)
+                    output.append(',');
+
+                output.append(Long.toString(longs.getLong(i)));
+            }
+        } else {
+            CompoundDoubleArray doubles = (CompoundDoubleArray) element;
+            for (int i = 0; i < doubles.size(); i++) {
+                if (i > 0)
+                    output.append(',');
+
+                double value = doubles.getDouble(i);
+                writeNumber(value, (long) value, false, output);
+            }
+        }
+
+        output.append(']');
+    }
+
+    private static void writePrimitive(CompoundPrimitive primitive, Appendable output) throws IOException {
+        if (primitive.isBoolean()) {
+            output.append(primitive.getAsBoolean() ? "true" : "false");
+            return;
+        }
+
+        if (primitive.isString() || primitive.isByteArray()) {
+            writeString(primitive.getAsString(), output); // Raw byte arrays are returned as Base64.
+            return;
+        }
+
+        writeNumber(primitive.getAsDouble(), primitive.getAsLong(), primitive.isLong(), output);
+    }
+
+    // Integral is only true for primitives holding an integer by type, their value may not fit a double exactly.
+    private static void writeNumber(double value, long integer, boolean integral, Appendable output) throws IOException {
+        if (!Double.isFinite(value))
+            throw new IllegalArgumentException("Non-finite numbers have no canonical form: " + value);
+
+        // Casting saturates, doubles out of the long range would otherwise be written as Long.MIN_VALUE or MAX_VALUE.
+        if ((double) integer == value && (integral || (value >= -0x1p63 && value < 0x1p63))) {
+            output.append(Long.toString(integer));
+            return;
+        }
+
+        String text = Double.toString(value);
+        int exponent = text.indexOf('E');
+        if (exponent < 0) {
+            output.append(text);
+            return;
+        }
+
+        // 1.0E-7 -> 1e-7, 1.25E20 -> 1.25e20
+        int mantissaEnd = text.startsWith(".0", exponent - 2) ? exponent - 2 : exponent;
+        output.append(text, 0, mantissaEnd).append('e').append(text, exponent + 1, text.length());
+    }
+
+    private static void writeString(String value, Appendable output) throws IOException {
+        output.append('"');
+
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\')
+                continue;
+
+            output.append(value, start, i);
+            start = i + 1;
+
+            switch (c) {
+                case '"' -> output.append("\\\"");
+                case '\\' -> output.append("\\\\");
+                case '\b' -> output.append("\\b");
+                case '\t' -> output.append("\\t");
+                case '\n' -> output.append("\\n");
+                case '\f' -> output.append("\\f");
+                case '\r' -> output.append("\\r");
+                default -> output.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+
+        output.append(value, start, value.length()).append('"');
+    }
+
+    // Feeds the UTF-8 bytes of the text to a hasher, surrogate pairs are never split since only ASCII is appended per char.
+    private static final class HashingAppendable implements Appendable {
+        private final Hasher hasher;
+
+        private HashingAppendable(Hasher hasher) {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            this.hasher.putString(csq, StandardCharsets.UTF_8);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            if (start < end)
+                this.hasher.putString(csq.subSequence(start, end), StandardCharsets.UTF_8);
+
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            if (c < 0x80)
+                this.hasher.putByte((byte) c);
+            else
+                this.hasher.putString(String.valueOf(c), StandardCharsets.UTF_8);
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Compound array of objects sharing the same keys, storing each key as a column instead of each object as a map.
+ * <p>
+ * The columnar array behaves as any other {@link CompoundArray} of objects, rows retrieved through {@link #get(int)}
+ * are live views over the columns. Columns holding only {@code int}, {@code long} or {@code double} values
+ * are stored contiguously, and can be aggregated without touching the rows through {@link #intColumn(String)},
+ * {@link #longColumn(String)} and {@link #doubleColumn(String)}.
+ * <p>
+ * The keys of the array are defined by its first row. Elements that are not objects, objects with other keys,
+ * and adding a key to or removing a key from a row are rejected with an {@link IllegalArgumentException}.
+ */
+public interface CompoundColumnArray extends CompoundArray {
+
+    /**
+     * Retrieve the keys shared by every row of this array.
+     *
+     * @return <strong>unmodifiable</strong> list of the columns, empty if this array is empty.
+     */
+    List<String> columns();
+
+    /**
+     * Retrieve the row at the specified index.
+     * <p>
+     * The row is a live view over the columns, bound to its index.
+     *
+     * @param index index of the row.
+     * @return the row at the index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Override
+    CompoundObject get(int index);
+
+    /**
+     * Stream the values of a column of {@code int} values, in row order.
+     * <p>
+     * The stream reads the column directly, the array must not be modified until it has been consumed.
+     *
+     * @param column key of the column.
+     * @return the values of the column.
+     * @throws NullPointerException     if {@code column} is null.
+     * @throws IllegalArgumentException if this array has no such column.
+     * @throws IllegalStateException    if the column does not only hold {@code int} values.
+     */
+    IntStream intColumn(@NotNull String column);
+
+    /**
+     * Stream the values of a column of {@code int} or {@code long} values, in row order.
+     * <p>
+     * The stream reads the column directly, the array must not be modified until it has been consumed.
+     *
+     * @param column key of the column.
+     * @return the values of the column.
+     * @throws NullPointerException     if {@code column} is null.
+     * @throws IllegalArgumentException if this array has no such column.
+     * @throws IllegalStateException    if the column does not only hold {@code int} or {@code long} values.
+     */
+    LongStream longColumn(@NotNull String column);
+
+    /**
+     * Stream the values of a numeric column as {@code double} values, in row order.
+     * <p>
+     * The stream reads the column directly, the array must not be modified until it has been consumed.
+     *
+     * @param column key of the column.
+     * @return the values of the column.
+     * @throws NullPointerException     if {@code column} is null.
+     * @throws IllegalArgumentException if this array has no such column.
+     * @throws IllegalStateException    if the column does not only hold {@code int}, {@code long} or {@code double} values.
+     */
+    DoubleStream doubleColumn(@NotNull String column);
+
+    @Override
+    CompoundColumnArray clone();
+}
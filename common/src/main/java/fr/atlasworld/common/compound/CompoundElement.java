@@ -9,10 +9,28 @@
 */
 package fr.atlasworld.common.compound;
 
+import com.google.common.base.Preconditions;
+import com.google.common.io.CharStreams;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.Date;
 
 /**
  * Class representing an element of a network compound.
+ * <p>
+ * Elements are compared structurally: {@code equals} and {@code hashCode} follow
+ * {@link CompoundHashing#equals(CompoundElement, CompoundElement)} and {@link CompoundHashing#hashCode(CompoundElement)},
+ * whatever the backend of the compared elements.
  *
  * @see CompoundObject
  * @see CompoundArray
@@ -156,6 +174,56 @@ public interface CompoundElement extends Cloneable {
      */
     String getAsString();
 
+    /**
+     * Retrieve the structural digest of this element.
+     * <p>
+     * Structurally equal elements always share the same digest, checking whether a tree changed
+     * can be done by comparing its digest with a previously retrieved one.
+     * Backends may cache the digest of their containers until they are modified, making this check constant time
+     * on unchanged trees.
+     *
+     * @return 64-bit digest of this element.
+     * @see CompoundHashing#digest(CompoundElement)
+     */
+    default long digest() {
+        return CompoundHashing.digest(this);
+    }
+
+    /**
+     * Checks whether this element caches its {@link #digest()} until it is modified.
+     * <p>
+     * Elements not caching their digest compute it from their whole tree on every call,
+     * comparing their digests is no cheaper than comparing them structurally.
+     *
+     * @return true if the digest of this element is cached, false otherwise.
+     */
+    default boolean isDigestCached() {
+        return false;
+    }
+
+    /**
+     * Dispatch this element to the method of the visitor matching its type.
+     *
+     * @param visitor visitor to accept.
+     * @param <R>     type of the result of the visit.
+     * @return result of the visit.
+     * @throws NullPointerException if {@code visitor} is null.
+     */
+    default <R> R accept(@NotNull CompoundVisitor<R> visitor) {
+        Preconditions.checkNotNull(visitor);
+
+        if (this.isObject())
+            return visitor.visitObject(this.getAsObject());
+
+        if (this.isArray())
+            return visitor.visitArray(this.getAsArray());
+
+        if (this.isPrimitive())
+            return visitor.visitPrimitive(this.getAsPrimitive());
+
+        return visitor.visitNull(this.getAsNull());
+    }
+
     /**
      * Convert this element into {@code JSON}.
      *
@@ -163,6 +231,86 @@ public interface CompoundElement extends Cloneable {
      */
     String toJson();
 
+    /**
+     * Convert this element into its canonical {@code JSON} form, with sorted keys and normalized numbers.
+     * <p>
+     * Structurally equal elements always produce the same text, whatever their backend or insertion order.
+     *
+     * @return this element as canonical {@code JSON}.
+     * @throws IllegalArgumentException if this element holds a {@code NaN} or infinite number.
+     * @see CompoundCanonical
+     */
+    default String toCanonicalJson() {
+        return CompoundCanonical.toJson(this);
+    }
+
+    /**
+     * Write this element as {@code JSON} directly into an output, without building the whole text in memory.
+     * <p>
+     * The output is flushed if it is {@link Flushable}, but never closed.
+     *
+     * @param output         output to write to.
+     * @param prettyPrinting whether the {@code JSON} should be indented.
+     * @throws IOException          if the output could not be written to.
+     * @throws NullPointerException if {@code output} is null.
+     */
+    default void writeJson(@NotNull Appendable output, boolean prettyPrinting) throws IOException {
+        Preconditions.checkNotNull(output);
+
+        Writer writer = output instanceof Writer outputWriter ? outputWriter : CharStreams.asWriter(output);
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        if (prettyPrinting)
+            jsonWriter.setIndent("  ");
+
+        new JsonCompoundWriter(jsonWriter).element(this);
+        jsonWriter.flush(); // Flushes the output without closing it.
+    }
+
+    /**
+     * Write this element as compact {@code JSON} directly into an output.
+     *
+     * @param output output to write to.
+     * @throws IOException          if the output could not be written to.
+     * @throws NullPointerException if {@code output} is null.
+     * @see #writeJson(Appendable, boolean)
+     */
+    default void writeJson(@NotNull Appendable output) throws IOException {
+        this.writeJson(output, false);
+    }
+
+    /**
+     * Write this element as {@code JSON} directly into a stream, without building the whole text in memory.
+     * <p>
+     * The stream is flushed, but never closed.
+     *
+     * @param stream         stream to write to.
+     * @param charset        charset used to encode the text.
+     * @param prettyPrinting whether the {@code JSON} should be indented.
+     * @throws IOException          if the stream could not be written to.
+     * @throws NullPointerException if {@code stream} or {@code charset} is null.
+     */
+    default void writeJson(@NotNull OutputStream stream, @NotNull Charset charset, boolean prettyPrinting) throws IOException {
+        Preconditions.checkNotNull(stream);
+        Preconditions.checkNotNull(charset);
+
+        this.writeJson(new BufferedWriter(new OutputStreamWriter(stream, charset)), prettyPrinting);
+    }
+
+    /**
+     * Write this element as compact {@code JSON} directly into a stream.
+     *
+     * @param stream  stream to write to.
+     * @param charset charset used to encode the text.
+     * @throws IOException          if the stream could not be written to.
+     * @throws NullPointerException if {@code stream} or {@code charset} is null.
+     * @see #writeJson(OutputStream, Charset, boolean)
+     */
+    default void writeJson(@NotNull OutputStream stream, @NotNull Charset charset) throws IOException {
+        this.writeJson(stream, charset, false);
+    }
+
     /**
      * Clones this compound.
      *
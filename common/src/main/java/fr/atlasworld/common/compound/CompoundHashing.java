@@ -0,0 +1,243 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Structural equality, hashing and digests of compound trees.
+ * <p>
+ * Two elements are structurally equal when they hold the same tree, whatever their backend:
+ * objects hold the same entries in any order, arrays hold the same elements in the same order,
+ * and primitives hold the same boolean, text or numeric value.
+ * Byte arrays are compared through their Base64 form, as they are stored by the Json backend,
+ * without being encoded when both sides hold raw bytes.
+ * <p>
+ * The digest of an element is a 64-bit Merkle-style hash, computed from the digests of its children.
+ * Backends may cache the digest of their containers, see {@link CompoundElement#digest()}.
+ */
+public final class CompoundHashing {
+    private static final long NULL_DIGEST = 0x6A09E667F3BCC908L;
+    private static final long BOOLEAN_SEED = 0xBB67AE8584CAA73BL;
+    private static final long TEXT_SEED = 0x3C6EF372FE94F82BL;
+    private static final long NUMBER_SEED = 0xA54FF53A5F1D36F1L;
+    private static final long ARRAY_SEED = 0x510E527FADE682D1L;
+    private static final long OBJECT_SEED = 0x9B05688C2B3E6C1FL;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private CompoundHashing() {
+    }
+
+    /**
+     * Checks whether two elements are structurally equal.
+     *
+     * @param left  first element.
+     * @param right second element.
+     * @return true if both elements hold the same tree.
+     * @throws NullPointerException if {@code left} or {@code right} is null.
+     */
+    public static boolean equals(@NotNull CompoundElement left, @NotNull CompoundElement right) {
+        Preconditions.checkNotNull(left);
+        Preconditions.checkNotNull(right);
+
+        if (left == right)
+            return true;
+
+        if (left.isObject() && right.isObject()) {
+            CompoundObject leftObject = left.getAsObject();
+            CompoundObject rightObject = right.getAsObject();
+
+            if (leftObject.size() != rightObject.size())
+                return false;
+
+            for (Map.Entry<String, CompoundElement> entry : leftObject.entrySet()) {
+                if (!rightObject.has(entry.getKey()) || !equals(entry.getValue(), rightObject.get(entry.getKey())))
+                    return false;
+            }
+
+            return true;
+        }
+
+        if (left.isArray() && right.isArray()) {
+            CompoundArray leftArray = left.getAsArray();
+            CompoundArray rightArray = right.getAsArray();
+
+            if (leftArray.size() != rightArray.size())
+                return false;
+
+            for (int i = 0; i < leftArray.size(); i++) {
+                if (!equals(leftArray.get(i), rightArray.get(i)))
+                    return false;
+            }
+
+            return true;
+        }
+
+        if (left.isPrimitive() && right.isPrimitive())
+            return equals(left.getAsPrimitive(), right.getAsPrimitive());
+
+        return left.isNull() && right.isNull();
+    }
+
+    /**
+     * Computes the structural hash code of an element, consistent with {@link #equals(CompoundElement, CompoundElement)}.
+     *
+     * @param element element to hash.
+     * @return hash code of the element.
+     * @throws NullPointerException if {@code element} is null.
+     */
+    public static int hashCode(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        return Long.hashCode(element.digest());
+    }
+
+    /**
+     * Computes the digest of an element from the digests of its direct children.
+     * <p>
+     * Children digests are retrieved through {@link CompoundElement#digest()}, and may come from their cache.
+     * Structurally equal elements always have the same digest, different elements have different digests
+     * with overwhelming probability.
+     *
+     * @param element element to digest.
+     * @return 64-bit digest of the element.
+     * @throws NullPointerException if {@code element} is null.
+     */
+    public static long digest(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        if (element.isObject()) {
+            CompoundObject object = element.getAsObject();
+
+            long sum = 0; // Entries are combined commutatively, objects are unordered.
+            for (Map.Entry<String, CompoundElement> entry : object.entrySet()) {
+                sum += mix(hash(entry.getKey()), entry.getValue().digest());
+            }
+
+            return mix(mix(OBJECT_SEED, object.size()), sum);
+        }
+
+        if (element.isArray()) {
+            CompoundArray array = element.getAsArray();
+
+            long digest = mix(ARRAY_SEED, array.size());
+            for (CompoundElement child : array) {
+                digest = mix(digest, child.digest());
+            }
+
+            return digest;
+        }
+
+        if (element.isPrimitive()) {
+            CompoundPrimitive primitive = element.getAsPrimitive();
+
+            if (primitive.isBoolean())
+                return mix(BOOLEAN_SEED, primitive.getAsBoolean() ? 1 : 0);
+
+            if (isRawBytes(primitive))
+                return mix(TEXT_SEED, hashBase64(primitive.getAsByteArray()));
+
+            if (isText(primitive))
+                return mix(TEXT_SEED, hash(primitive.getAsString()));
+
+            long integer = primitive.getAsLong();
+            double value = primitive.getAsDouble();
+
+            return (double) integer == value ? mix(NUMBER_SEED, integer) : mix(~NUMBER_SEED, Double.doubleToLongBits(value));
+        }
+
+        return NULL_DIGEST;
+    }
+
+    private static boolean equals(CompoundPrimitive left, CompoundPrimitive right) {
+        if (left.isBoolean() || right.isBoolean())
+            return left.isBoolean() && right.isBoolean() && left.getAsBoolean() == right.getAsBoolean();
+
+        if (isRawBytes(left) && isRawBytes(right))
+            return Arrays.equals(left.getAsByteArray(), right.getAsByteArray());
+
+        boolean leftText = isText(left);
+        boolean rightText = isText(right);
+
+        if (leftText || rightText)
+            return leftText && rightText && left.getAsString().equals(right.getAsString());
+
+        // Integers are compared exactly, other numbers through their double value, like the canonical form.
+        long leftInteger = left.getAsLong();
+        long rightInteger = right.getAsLong();
+        boolean leftIntegral = (double) leftInteger == left.getAsDouble();
+        boolean rightIntegral = (double) rightInteger == right.getAsDouble();
+
+        if (leftIntegral || rightIntegral)
+            return leftIntegral && rightIntegral && leftInteger == rightInteger;
+
+        return Double.compare(left.getAsDouble(), right.getAsDouble()) == 0;
+    }
+
+    private static boolean isText(CompoundPrimitive primitive) {
+        return primitive.isString() || primitive.isByteArray();
+    }
+
+    // Byte arrays held as is rather than as Base64 text.
+    private static boolean isRawBytes(CompoundPrimitive primitive) {
+        return primitive.isByteArray() && !primitive.isString();
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET; // FNV-1a, finalized by mix.
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+
+        return mix(hash, value.length());
+    }
+
+    // Same as hashing the Base64 text of the bytes, without encoding them.
+    private static long hashBase64(byte[] bytes) {
+        long hash = FNV_OFFSET;
+        int length = 0;
+
+        for (int i = 0; i < bytes.length; i += 3) {
+            int remaining = Math.min(3, bytes.length - i);
+            int group = (bytes[i] & 0xFF) << 16;
+            if (remaining > 1)
+                group |= (bytes[i + 1] & 0xFF) << 8;
+            if (remaining > 2)
+                group |= bytes[i + 2] & 0xFF;
+
+            for (int j = 0; j < 4; j++) {
+                char c = j <= remaining ? BASE64[(group >>> (18 - 6 * j)) & 0x3F] : '=';
+                hash = (hash ^ c) * FNV_PRIME;
+            }
+
+            length += 4;
+        }
+
+        return mix(hash, length);
+    }
+
+    private static long mix(long seed, long value) {
+        long hash = seed ^ (value + 0x9E3779B97F4A7C15L + (seed << 6) + (seed >>> 2));
+
+        // MurmurHash3 64-bit finalizer.
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
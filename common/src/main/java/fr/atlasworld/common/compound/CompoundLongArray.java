@@ -0,0 +1,95 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Compound array storing {@code long} values contiguously, without a wrapper per element.
+ * <p>
+ * The typed array behaves as any other {@link CompoundArray} and is written as a plain {@code JSON} array of numbers,
+ * elements retrieved through {@link #get(int)} are wrapped on access. Values added through the generic methods
+ * must be numbers fitting a {@code long}.
+ * <p>
+ * Only the binary backend provides typed arrays, see {@link fr.atlasworld.common.compound.binary.BinaryCompoundLongArray}.
+ * Other backends copy a typed array added to them into one of their regular arrays, which is no longer typed once read back.
+ */
+public interface CompoundLongArray extends CompoundArray {
+
+    /**
+     * Retrieve the value at the specified index.
+     *
+     * @param index index of the value.
+     * @return the value at the index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    long getLong(int index);
+
+    /**
+     * Replace the value at the specified index.
+     *
+     * @param index index of the value.
+     * @param value new value.
+     * @return the previous value at the index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    long setLong(int index, long value);
+
+    /**
+     * Append a value to the array.
+     *
+     * @param value value to append.
+     * @return instance of this array.
+     */
+    CompoundLongArray addLong(long value);
+
+    /**
+     * Append all the provided values to the array.
+     *
+     * @param values values to append.
+     * @return instance of this array.
+     * @throws NullPointerException if {@code values} is null.
+     */
+    CompoundLongArray addLongs(long @NotNull [] values);
+
+    /**
+     * Copy a range of values of this array into a primitive array.
+     *
+     * @param index       index of the first value to copy.
+     * @param destination array to copy the values into.
+     * @param offset      position of the first copied value in {@code destination}.
+     * @param length      number of values to copy.
+     * @throws NullPointerException      if {@code destination} is null.
+     * @throws IndexOutOfBoundsException if a range is out of the bounds of this array or of {@code destination}.
+     */
+    void getLongs(int index, long @NotNull [] destination, int offset, int length);
+
+    /**
+     * Overwrite a range of values of this array with values of a primitive array.
+     *
+     * @param index  index of the first value to overwrite.
+     * @param source array to copy the values from.
+     * @param offset position of the first value to copy in {@code source}.
+     * @param length number of values to copy.
+     * @throws NullPointerException      if {@code source} is null.
+     * @throws IndexOutOfBoundsException if a range is out of the bounds of this array or of {@code source}.
+     */
+    void setLongs(int index, long @NotNull [] source, int offset, int length);
+
+    /**
+     * Copy all the values of this array into a new primitive array.
+     *
+     * @return the values of this array.
+     */
+    long[] toLongArray();
+
+    @Override
+    CompoundLongArray clone();
+}
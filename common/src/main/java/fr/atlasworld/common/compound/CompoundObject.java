@@ -143,8 +143,10 @@ public interface CompoundObject extends CompoundElement {
 
     /**
      * Retrieve a set of entries of this object.
+     * <p>
+     * The set may be a live view, reflecting later changes made to this object.
      *
-     * @return set of the entries of this object.
+     * @return <strong>unmodifiable</strong> set of the entries of this object.
      */
     Set<Map.Entry<String, CompoundElement>> entrySet();
 
@@ -213,8 +215,10 @@ public interface CompoundObject extends CompoundElement {
 
     /**
      * Get this object's entries as a map.
+     * <p>
+     * The map may be a live view, reflecting later changes made to this object.
      *
-     * @return a <strong>immutable</strong> map of the entries of this object.
+     * @return an <strong>unmodifiable</strong> map of the entries of this object.
      */
     Map<String, CompoundElement> asMap();
 
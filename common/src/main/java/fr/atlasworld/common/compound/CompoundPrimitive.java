@@ -48,6 +48,9 @@ public interface CompoundPrimitive extends CompoundElement {
 
     /**
      * Checks whether this primitive is a byte-array.
+     * <p>
+     * Byte-array primitives hold their array as is and only encode it as Base64 when written as {@code JSON}.
+     * Strings read from {@code JSON} text are never byte-arrays, even when they hold Base64.
      *
      * @return true if this primitive is a byte-array, false otherwise.
      */
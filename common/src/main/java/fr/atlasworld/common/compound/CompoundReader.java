@@ -0,0 +1,155 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streaming pull reader for compounds.
+ * <p>
+ * Reads a compound token by token without building the compound tree,
+ * allowing large documents to be processed element by element in constant memory.
+ *
+ * @see CompoundWriter
+ */
+public interface CompoundReader extends Closeable {
+
+    /**
+     * Retrieve the type of the next token without consuming it.
+     *
+     * @return the type of the next token.
+     * @throws IOException if the underlying source could not be read.
+     */
+    CompoundToken peek() throws IOException;
+
+    /**
+     * Checks whether the current array or object has another element.
+     *
+     * @return true if there is another element, false otherwise.
+     * @throws IOException if the underlying source could not be read.
+     */
+    boolean hasNext() throws IOException;
+
+    /**
+     * Consumes the next token, asserting that it is the beginning of an object.
+     *
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not {@link CompoundToken#BEGIN_OBJECT}.
+     */
+    void beginObject() throws IOException;
+
+    /**
+     * Consumes the next token, asserting that it is the end of the current object.
+     *
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not {@link CompoundToken#END_OBJECT}.
+     */
+    void endObject() throws IOException;
+
+    /**
+     * Consumes the next token, asserting that it is the beginning of an array.
+     *
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not {@link CompoundToken#BEGIN_ARRAY}.
+     */
+    void beginArray() throws IOException;
+
+    /**
+     * Consumes the next token, asserting that it is the end of the current array.
+     *
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not {@link CompoundToken#END_ARRAY}.
+     */
+    void endArray() throws IOException;
+
+    /**
+     * Consumes the next token, asserting that it is the key of an entry.
+     *
+     * @return the key of the entry.
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not {@link CompoundToken#NAME}.
+     */
+    String nextName() throws IOException;
+
+    /**
+     * Consumes the next value as a string.
+     *
+     * @return the string value of the next token.
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not a {@link CompoundToken#STRING} or a {@link CompoundToken#NUMBER}.
+     */
+    String nextString() throws IOException;
+
+    /**
+     * Consumes the next value as a {@code boolean}.
+     *
+     * @return the {@code boolean} value of the next token.
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not a {@link CompoundToken#BOOLEAN}.
+     */
+    boolean nextBoolean() throws IOException;
+
+    /**
+     * Consumes the next value as a {@code double}.
+     *
+     * @return the {@code double} value of the next token.
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not a {@link CompoundToken#NUMBER} or a {@link CompoundToken#STRING}.
+     * @throws NumberFormatException if the next value cannot be parsed as a {@code double}.
+     */
+    double nextDouble() throws IOException;
+
+    /**
+     * Consumes the next value as a {@code long}.
+     *
+     * @return the {@code long} value of the next token.
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not a {@link CompoundToken#NUMBER} or a {@link CompoundToken#STRING}.
+     * @throws NumberFormatException if the next value cannot be parsed as a {@code long}.
+     */
+    long nextLong() throws IOException;
+
+    /**
+     * Consumes the next value as an {@code int}.
+     *
+     * @return the {@code int} value of the next token.
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not a {@link CompoundToken#NUMBER} or a {@link CompoundToken#STRING}.
+     * @throws NumberFormatException if the next value cannot be parsed as an {@code int}.
+     */
+    int nextInt() throws IOException;
+
+    /**
+     * Consumes the next value, asserting that it is a null value.
+     *
+     * @throws IOException           if the underlying source could not be read.
+     * @throws IllegalStateException if the next token is not a {@link CompoundToken#NULL}.
+     */
+    void nextNull() throws IOException;
+
+    /**
+     * Skips the next value, if the value is an object or an array all nested elements are skipped.
+     *
+     * @throws IOException if the underlying source could not be read.
+     */
+    void skipValue() throws IOException;
+
+    /**
+     * Consumes the next value and materializes it as a compound.
+     * <p>
+     * Only the next value is built, this allows iterating a large array
+     * while building one element at a time.
+     *
+     * @return the next value as a {@link CompoundElement}.
+     * @throws IOException if the underlying source could not be read.
+     */
+    CompoundElement nextElement() throws IOException;
+}
@@ -0,0 +1,243 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import fr.atlasworld.common.compound.json.JsonByteArray;
+import fr.atlasworld.common.compound.json.JsonCompoundElement;
+import fr.atlasworld.common.file.DataUnit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the heap retained by compound trees.
+ * <p>
+ * Sizes are estimated for a 64-bit virtual machine using compressed references: object headers take 12 bytes,
+ * references 4 bytes and objects are aligned on 8 bytes. Strings are assumed to be compacted whenever they only
+ * hold latin-1 characters. Instances shared by the whole application, such as nulls and booleans, are not counted,
+ * and containers held multiple times in a tree are only counted once. Strings, including keys, are counted
+ * every time they are referenced, keys interned by a backend are left out.
+ * <p>
+ * Sizes may be used to weigh cached compounds, for example through
+ * {@code CacheBuilder.newBuilder().weigher((key, value) -> (int) CompoundSizes.sizeOf(value, DataUnit.BYTES))}.
+ */
+public final class CompoundSizes {
+    public static final int OBJECT_HEADER = 12;
+    public static final int REFERENCE = 4;
+
+    private static final int ARRAY_HEADER = 16;
+    private static final int ALIGNMENT = 8;
+
+    private CompoundSizes() {
+    }
+
+    /**
+     * Estimate the heap retained by an element and all of its children.
+     *
+     * @param element element to measure.
+     * @param unit    unit of the returned size, the size is rounded down.
+     * @return the estimated size in the provided unit.
+     * @throws NullPointerException if {@code element} or {@code unit} is null.
+     */
+    public static long sizeOf(@NotNull CompoundElement element, @NotNull DataUnit unit) {
+        Preconditions.checkNotNull(unit);
+
+        return unit.convert(sizeOf(element), DataUnit.BYTES);
+    }
+
+    /**
+     * Estimate the heap retained by an element and all of its children.
+     *
+     * @param element element to measure.
+     * @return the estimated size in bytes.
+     * @throws NullPointerException if {@code element} is null.
+     */
+    public static long sizeOf(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        return sizeOf(element, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * Estimate the size of an object instance.
+     *
+     * @param references     number of reference fields.
+     * @param primitiveBytes total size of the primitive fields.
+     * @return the aligned size of the instance, in bytes.
+     */
+    public static long instanceSize(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Estimate the size of an array instance.
+     *
+     * @param length       length of the array.
+     * @param elementBytes size of a single element, {@link #REFERENCE} for arrays of objects.
+     * @return the aligned size of the array, in bytes.
+     */
+    public static long arraySize(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    /**
+     * Estimate the size of a string and its backing array.
+     *
+     * @param string string to measure.
+     * @return the size of the string, in bytes.
+     */
+    public static long stringSize(@NotNull String string) {
+        boolean latin1 = true;
+        for (int i = 0; i < string.length() && latin1; i++) {
+            latin1 = string.charAt(i) < 256;
+        }
+
+        return instanceSize(1, 10) + arraySize(string.length(), latin1 ? 1 : 2);
+    }
+
+    /**
+     * Estimate the size of an element, excluding its children, without any knowledge of its backend.
+     *
+     * @param element element to measure.
+     * @return the estimated size in bytes.
+     */
+    static long genericShallowSize(CompoundElement element) {
+        if (element.isObject()) {
+            long size = instanceSize(2, 8);
+            for (String key : element.getAsObject().asMap().keySet()) {
+                size += instanceSize(4, 4) + stringSize(key);
+            }
+
+            return size;
+        }
+
+        if (element.isArray())
+            return instanceSize(2, 8) + arraySize(element.getAsArray().size(), REFERENCE);
+
+        if (element.isPrimitive()) {
+            CompoundPrimitive primitive = element.getAsPrimitive();
+            if (primitive.isString())
+                return instanceSize(1, 0) + stringSize(primitive.getAsString());
+
+            if (primitive.isByteArray()) // Sized from the bytes, their text may not exist yet.
+                return instanceSize(1, 0) + arraySize(primitive.getAsByteArray().length, 1);
+
+            return instanceSize(1, 8);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Retrieve the children of an element without any knowledge of its backend.
+     *
+     * @param element element to retrieve the children of.
+     * @return the children of the element.
+     */
+    static Iterable<CompoundElement> genericChildren(CompoundElement element) {
+        if (element.isObject())
+            return element.getAsObject().asMap().values();
+
+        if (element.isArray() && !isTypedArray(element)) // Typed and columnar arrays wrap their values on access.
+            return element.getAsArray();
+
+        return List.of();
+    }
+
+    private static long sizeOf(CompoundElement element, Set<Object> visited) {
+        if (element instanceof JsonCompoundElement json) // Wrappers of nested elements are created on access.
+            return instanceSize(1, 0) + jsonSize(JsonCompoundElement.fromCompound(json), visited);
+
+        if ((element.isObject() || element.isArray()) && !visited.add(element))
+            return 0;
+
+        long size;
+        Iterable<CompoundElement> children;
+        if (element instanceof AbstractCompoundElement abstractElement) {
+            size = abstractElement.shallowSize();
+            children = abstractElement.retainedChildren();
+        } else {
+            size = genericShallowSize(element);
+            children = genericChildren(element);
+        }
+
+        for (CompoundElement child : children) {
+            size += sizeOf(child, visited);
+        }
+
+        return size;
+    }
+
+    private static long jsonSize(JsonElement element, Set<Object> visited) {
+        if (element instanceof JsonObject object) {
+            if (!visited.add(object))
+                return 0;
+
+            // JsonObject, its LinkedTreeMap and the map's header node, then one node per entry.
+            long size = instanceSize(1, 0) + instanceSize(5, 10) + instanceSize(7, 5);
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                size += instanceSize(7, 5) + stringSize(entry.getKey()) + jsonSize(entry.getValue(), visited);
+            }
+
+            return size;
+        }
+
+        if (element instanceof JsonArray array) {
+            if (!visited.add(array))
+                return 0;
+
+            // JsonArray, its ArrayList and the list's backing array.
+            long size = instanceSize(1, 0) + instanceSize(1, 8) + arraySize(array.size(), REFERENCE);
+            for (JsonElement child : array) {
+                size += jsonSize(child, visited);
+            }
+
+            return size;
+        }
+
+        if (element instanceof JsonPrimitive primitive) {
+            if (primitive.isBoolean())
+                return instanceSize(1, 0); // Booleans are shared.
+
+            if (primitive.isString())
+                return instanceSize(1, 0) + stringSize(primitive.getAsString());
+
+            Number number = primitive.getAsNumber();
+            if (number instanceof Long || number instanceof Integer || number instanceof Double
+                    || number instanceof Float || number instanceof Short || number instanceof Byte)
+                return instanceSize(1, 0) + instanceSize(0, 8);
+
+            return instanceSize(1, 0) + instanceSize(1, 0) + stringSize(number.toString()); // Parsed lazily, kept as text.
+        }
+
+        if (element instanceof JsonByteArray bytes)
+            return instanceSize(1, 0) + arraySize(bytes.length(), 1);
+
+        return 0; // JsonNull is a singleton.
+    }
+
+    private static boolean isTypedArray(CompoundElement element) {
+        return element instanceof CompoundIntArray || element instanceof CompoundLongArray || element instanceof CompoundDoubleArray
+                || element instanceof CompoundColumnArray;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+/**
+ * Tokens emitted by a {@link CompoundReader}.
+ */
+public enum CompoundToken {
+
+    /**
+     * The opening of a {@link CompoundArray}.
+     */
+    BEGIN_ARRAY,
+
+    /**
+     * The closing of a {@link CompoundArray}.
+     */
+    END_ARRAY,
+
+    /**
+     * The opening of a {@link CompoundObject}.
+     */
+    BEGIN_OBJECT,
+
+    /**
+     * The closing of a {@link CompoundObject}.
+     */
+    END_OBJECT,
+
+    /**
+     * The key of an entry of a {@link CompoundObject}.
+     */
+    NAME,
+
+    /**
+     * A string {@link CompoundPrimitive}.
+     */
+    STRING,
+
+    /**
+     * A numeric {@link CompoundPrimitive}.
+     */
+    NUMBER,
+
+    /**
+     * A boolean {@link CompoundPrimitive}.
+     */
+    BOOLEAN,
+
+    /**
+     * A {@link CompoundNull}.
+     */
+    NULL,
+
+    /**
+     * The end of the stream, no more tokens will be emitted.
+     */
+    END_DOCUMENT
+}
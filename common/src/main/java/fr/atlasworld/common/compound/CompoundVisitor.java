@@ -0,0 +1,56 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Compound Visitor, visits compound elements without depending on their backend.
+ * <p>
+ * Elements dispatch themselves to the matching method through {@link CompoundElement#accept(CompoundVisitor)},
+ * visitors walking nested elements do so by accepting themselves on the children they are interested in.
+ * Backends use visitors to ingest elements of any other backend directly, without a {@code JSON} text round trip.
+ *
+ * @param <R> type of the result of the visit.
+ */
+public interface CompoundVisitor<R> {
+
+    /**
+     * Visit an object.
+     *
+     * @param object visited object.
+     * @return result of the visit.
+     */
+    R visitObject(@NotNull CompoundObject object);
+
+    /**
+     * Visit an array.
+     *
+     * @param array visited array.
+     * @return result of the visit.
+     */
+    R visitArray(@NotNull CompoundArray array);
+
+    /**
+     * Visit a primitive.
+     *
+     * @param primitive visited primitive.
+     * @return result of the visit.
+     */
+    R visitPrimitive(@NotNull CompoundPrimitive primitive);
+
+    /**
+     * Visit a null element.
+     *
+     * @param element visited null element.
+     * @return result of the visit.
+     */
+    R visitNull(@NotNull CompoundNull element);
+}
@@ -0,0 +1,139 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Streaming push writer for compounds.
+ * <p>
+ * Writes a compound token by token without building the compound tree beforehand,
+ * allowing large documents to be written incrementally.
+ *
+ * @see CompoundReader
+ */
+public interface CompoundWriter extends Closeable, Flushable {
+
+    /**
+     * Begins a new object, every entry written until the matching {@link #endObject()} belongs to this object.
+     *
+     * @return instance of this writer.
+     * @throws IOException           if the underlying destination could not be written to.
+     * @throws IllegalStateException if an object cannot be written at this position.
+     */
+    CompoundWriter beginObject() throws IOException;
+
+    /**
+     * Ends the current object.
+     *
+     * @return instance of this writer.
+     * @throws IOException           if the underlying destination could not be written to.
+     * @throws IllegalStateException if there is no object to end.
+     */
+    CompoundWriter endObject() throws IOException;
+
+    /**
+     * Begins a new array, every element written until the matching {@link #endArray()} belongs to this array.
+     *
+     * @return instance of this writer.
+     * @throws IOException           if the underlying destination could not be written to.
+     * @throws IllegalStateException if an array cannot be written at this position.
+     */
+    CompoundWriter beginArray() throws IOException;
+
+    /**
+     * Ends the current array.
+     *
+     * @return instance of this writer.
+     * @throws IOException           if the underlying destination could not be written to.
+     * @throws IllegalStateException if there is no array to end.
+     */
+    CompoundWriter endArray() throws IOException;
+
+    /**
+     * Writes the key of the next entry of the current object.
+     *
+     * @param name key of the entry.
+     * @return instance of this writer.
+     * @throws IOException           if the underlying destination could not be written to.
+     * @throws IllegalStateException if the writer is not inside an object.
+     * @throws NullPointerException  if {@code name} is null.
+     */
+    CompoundWriter name(@NotNull String name) throws IOException;
+
+    /**
+     * Writes a value.
+     *
+     * @param value value to write.
+     * @return instance of this writer.
+     * @throws IOException if the underlying destination could not be written to.
+     */
+    CompoundWriter value(boolean value) throws IOException;
+
+    /**
+     * Writes a value.
+     *
+     * @param value value to write.
+     * @return instance of this writer.
+     * @throws IOException if the underlying destination could not be written to.
+     */
+    CompoundWriter value(double value) throws IOException;
+
+    /**
+     * Writes a value.
+     *
+     * @param value value to write.
+     * @return instance of this writer.
+     * @throws IOException if the underlying destination could not be written to.
+     */
+    CompoundWriter value(long value) throws IOException;
+
+    /**
+     * Writes a value.
+     *
+     * @param value value to write.
+     * @return instance of this writer.
+     * @throws IOException          if the underlying destination could not be written to.
+     * @throws NullPointerException if {@code value} is null.
+     */
+    CompoundWriter value(byte[] value) throws IOException;
+
+    /**
+     * Writes a value.
+     *
+     * @param value value to write.
+     * @return instance of this writer.
+     * @throws IOException          if the underlying destination could not be written to.
+     * @throws NullPointerException if {@code value} is null.
+     */
+    CompoundWriter value(@NotNull String value) throws IOException;
+
+    /**
+     * Writes a null value.
+     *
+     * @return instance of this writer.
+     * @throws IOException if the underlying destination could not be written to.
+     */
+    CompoundWriter nullValue() throws IOException;
+
+    /**
+     * Writes a whole compound element, including all of its nested elements.
+     *
+     * @param element element to write.
+     * @return instance of this writer.
+     * @throws IOException          if the underlying destination could not be written to.
+     * @throws NullPointerException if {@code element} is null.
+     */
+    CompoundWriter element(@NotNull CompoundElement element) throws IOException;
+}
@@ -0,0 +1,303 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class BinaryCompoundArray extends BinaryCompoundContainer implements CompoundArray {
+    private final ArrayList<BinaryCompoundElement> elements;
+
+    public BinaryCompoundArray() {
+        this.elements = new ArrayList<>();
+    }
+
+    BinaryCompoundArray(int expectedSize) {
+        this.elements = new ArrayList<>(expectedSize);
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundObject object = this.newObject();
+        builder.accept(object);
+
+        return this.append(object);
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundArray array = this.newArray();
+        builder.accept(array);
+
+        return this.append(array);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        return this.append(toBinary(value));
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        for (CompoundElement element : List.copyOf(array.asList())) {
+            this.append(BinaryCompoundConverter.convert(element));
+        }
+
+        return this;
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundObject object = this.newObject();
+        builder.accept(object);
+
+        return this.replace(index, object);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundArray array = this.newArray();
+        builder.accept(array);
+
+        return this.replace(index, array);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        return this.replace(index, toBinary(element));
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        int index = this.elements.indexOf(Preconditions.checkNotNull(element));
+        if (index < 0)
+            return false;
+
+        this.remove(index);
+        return true;
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        BinaryCompoundElement removed = this.elements.remove(index);
+        this.release(removed);
+
+        return removed;
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        return this.elements.contains(Preconditions.checkNotNull(element));
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.elements.isEmpty();
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        return this.elements.get(index);
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return Collections.unmodifiableList(this.elements);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.asList().iterator();
+    }
+
+    @Override
+    public BinaryCompoundArray clone() {
+        BinaryCompoundArray clone = new BinaryCompoundArray(this.elements.size());
+        for (BinaryCompoundElement element : this.elements) {
+            clone.append(element.clone());
+        }
+
+        clone.copyDigest(this);
+        return clone;
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(CONTAINER_REFERENCES + 1, CONTAINER_PRIMITIVE_BYTES)
+                + CompoundSizes.instanceSize(1, 8) + CompoundSizes.arraySize(this.elements.size(), CompoundSizes.REFERENCE);
+    }
+
+    @Override
+    void recycle() {
+        super.recycle();
+
+        int size = this.elements.size();
+        for (BinaryCompoundElement element : this.elements) {
+            this.forget(element);
+        }
+
+        this.elements.clear();
+        if (size > CompoundArena.RETAINED_CAPACITY)
+            this.elements.trimToSize();
+    }
+
+    @Override
+    boolean holds(BinaryCompoundElement element) {
+        for (BinaryCompoundElement child : this.elements) {
+            if (child == element)
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    byte tag() {
+        return BinaryCompoundCodec.TAG_ARRAY;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (BinaryCompoundElement element : this.elements) {
+            element.write(writer);
+        }
+        writer.endArray();
+    }
+
+    BinaryCompoundArray append(@NotNull BinaryCompoundElement element) {
+        this.elements.add(element);
+        this.adopt(element);
+        return this;
+    }
+
+    private BinaryCompoundElement replace(int index, BinaryCompoundElement element) {
+        BinaryCompoundElement previous = this.elements.set(index, element);
+
+        this.adopt(element);
+        this.release(previous);
+        return previous;
+    }
+
+    private static BinaryCompoundElement toBinary(CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        return BinaryCompoundConverter.convert(element);
+    }
+}
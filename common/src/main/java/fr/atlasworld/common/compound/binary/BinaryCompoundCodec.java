@@ -0,0 +1,388 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary Compound Codec, encodes and decodes compounds using a compact tagged binary format.
+ * <p>
+ * Every element starts with a one byte tag followed by its payload:
+ * <ul>
+ *     <li>{@code null}: no payload.</li>
+ *     <li>{@code boolean}, {@code byte}: a single byte.</li>
+ *     <li>{@code char}: two bytes, big-endian.</li>
+ *     <li>{@code int}, {@code long}: zig-zag encoded variable-length integer.</li>
+ *     <li>{@code double}: eight bytes, big-endian IEEE 754.</li>
+ *     <li>string, byte-array: variable-length size followed by the UTF-8 or raw bytes.</li>
+ *     <li>array: variable-length size followed by every element.</li>
+ *     <li>object: variable-length size followed by every key (encoded as a string) and element.</li>
+ *     <li>int-array, long-array: variable-length size followed by every zig-zag encoded value.</li>
+ *     <li>double-array: variable-length size followed by every value, eight bytes each.</li>
+ * </ul>
+ * Any {@link CompoundElement} can be encoded, decoding always produces a binary backed compound.
+ */
+public final class BinaryCompoundCodec {
+    static final byte TAG_NULL = 0;
+    static final byte TAG_BOOLEAN = 1;
+    static final byte TAG_BYTE = 2;
+    static final byte TAG_CHAR = 3;
+    static final byte TAG_INT = 4;
+    static final byte TAG_LONG = 5;
+    static final byte TAG_DOUBLE = 6;
+    static final byte TAG_STRING = 7;
+    static final byte TAG_BYTE_ARRAY = 8;
+    static final byte TAG_ARRAY = 9;
+    static final byte TAG_OBJECT = 10;
+    static final byte TAG_INT_ARRAY = 11;
+    static final byte TAG_LONG_ARRAY = 12;
+    static final byte TAG_DOUBLE_ARRAY = 13;
+
+    private static final int MAX_DEPTH = 512;
+
+    private BinaryCompoundCodec() {
+    }
+
+    /**
+     * Encode a compound into a byte array.
+     *
+     * @param element element to encode.
+     * @return encoded bytes.
+     * @throws NullPointerException if {@code element} is null.
+     */
+    public static byte[] encode(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        BinaryOutput.Array output = new BinaryOutput.Array();
+        try {
+            write(output, element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory output.
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Encode a compound into a buffer, starting at the buffer's current position.
+     *
+     * @param element element to encode.
+     * @param buffer  buffer to write to.
+     * @throws NullPointerException    if {@code element} or {@code buffer} is null.
+     * @throws BufferOverflowException if there is not enough space remaining in the buffer.
+     */
+    public static void encode(@NotNull CompoundElement element, @NotNull ByteBuffer buffer) {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkNotNull(buffer);
+
+        try {
+            write(new BinaryOutput.Buffer(buffer), element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory output.
+        }
+    }
+
+    /**
+     * Encode a compound into a stream.
+     * <p>
+     * The stream is neither buffered nor closed by this method.
+     *
+     * @param element element to encode.
+     * @param stream  stream to write to.
+     * @throws IOException          if the stream could not be written to.
+     * @throws NullPointerException if {@code element} or {@code stream} is null.
+     */
+    public static void encode(@NotNull CompoundElement element, @NotNull OutputStream stream) throws IOException {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkNotNull(stream);
+
+        write(new BinaryOutput.Stream(stream), element);
+    }
+
+    /**
+     * Decode a compound from a byte array.
+     *
+     * @param bytes encoded bytes.
+     * @return the decoded compound.
+     * @throws NullPointerException     if {@code bytes} is null.
+     * @throws IllegalArgumentException if the data is not a valid binary compound.
+     * @throws BufferUnderflowException if the data is truncated.
+     */
+    public static BinaryCompoundElement decode(byte[] bytes) {
+        Preconditions.checkNotNull(bytes);
+
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decode a compound from a buffer, starting at the buffer's current position.
+     * <p>
+     * Once decoded the buffer is positioned right after the compound.
+     *
+     * @param buffer buffer to read from.
+     * @return the decoded compound.
+     * @throws NullPointerException     if {@code buffer} is null.
+     * @throws IllegalArgumentException if the data is not a valid binary compound.
+     * @throws BufferUnderflowException if the data is truncated.
+     */
+    public static BinaryCompoundElement decode(@NotNull ByteBuffer buffer) {
+        Preconditions.checkNotNull(buffer);
+
+        try {
+            return read(new BinaryInput.Buffer(buffer), null, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory input.
+        }
+    }
+
+    /**
+     * Decode a compound from a buffer, allocating its objects and arrays from an arena.
+     * <p>
+     * Once decoded the buffer is positioned right after the compound.
+     * The decoded compound must not be used once the arena has been reset.
+     *
+     * @param buffer buffer to read from.
+     * @param arena  arena to allocate containers from.
+     * @return the decoded compound.
+     * @throws NullPointerException     if {@code buffer} or {@code arena} is null.
+     * @throws IllegalArgumentException if the data is not a valid binary compound.
+     * @throws BufferUnderflowException if the data is truncated.
+     * @see CompoundArena
+     */
+    public static BinaryCompoundElement decode(@NotNull ByteBuffer buffer, @NotNull CompoundArena arena) {
+        Preconditions.checkNotNull(buffer);
+        Preconditions.checkNotNull(arena);
+
+        try {
+            return read(new BinaryInput.Buffer(buffer), arena, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory input.
+        }
+    }
+
+    /**
+     * Decode a compound from a stream.
+     * <p>
+     * Only the bytes of the compound are consumed, the stream is neither buffered nor closed by this method.
+     *
+     * @param stream stream to read from.
+     * @return the decoded compound.
+     * @throws IOException              if the stream could not be read, or ended before the compound was complete.
+     * @throws NullPointerException     if {@code stream} is null.
+     * @throws IllegalArgumentException if the data is not a valid binary compound.
+     */
+    public static BinaryCompoundElement decode(@NotNull InputStream stream) throws IOException {
+        Preconditions.checkNotNull(stream);
+
+        return read(new BinaryInput.Stream(stream), null, 0);
+    }
+
+    private static void write(BinaryOutput output, CompoundElement element) throws IOException {
+        if (element instanceof BinaryCompoundPrimitive primitive) {
+            writePrimitive(output, primitive);
+            return;
+        }
+
+        if (element.isNull()) {
+            output.writeByte(TAG_NULL);
+            return;
+        }
+
+        if (element.isObject()) {
+            // Snapshot first, the size written must match the entries of concurrently modified objects.
+            List<Map.Entry<String, CompoundElement>> entries = List.copyOf(element.getAsObject().entrySet());
+            output.writeByte(TAG_OBJECT);
+            output.writeVarInt(entries.size());
+
+            for (Map.Entry<String, CompoundElement> entry : entries) {
+                writeString(output, entry.getKey());
+                write(output, entry.getValue());
+            }
+            return;
+        }
+
+        if (element instanceof CompoundIntArray ints) {
+            int[] values = ints.toIntArray();
+            output.writeByte(TAG_INT_ARRAY);
+            output.writeVarInt(values.length);
+
+            for (int value : values) {
+                output.writeVarLong(value);
+            }
+            return;
+        }
+
+        if (element instanceof CompoundLongArray longs) {
+            long[] values = longs.toLongArray();
+            output.writeByte(TAG_LONG_ARRAY);
+            output.writeVarInt(values.length);
+
+            for (long value : values) {
+                output.writeVarLong(value);
+            }
+            return;
+        }
+
+        if (element instanceof CompoundDoubleArray doubles) {
+            double[] values = doubles.toDoubleArray();
+            output.writeByte(TAG_DOUBLE_ARRAY);
+            output.writeVarInt(values.length);
+
+            for (double value : values) {
+                output.writeLong(Double.doubleToRawLongBits(value));
+            }
+            return;
+        }
+
+        if (element.isArray()) {
+            List<CompoundElement> children = List.copyOf(element.getAsArray().asList());
+            output.writeByte(TAG_ARRAY);
+            output.writeVarInt(children.size());
+
+            for (CompoundElement child : children) {
+                write(output, child);
+            }
+            return;
+        }
+
+        writeForeignPrimitive(output, element.getAsPrimitive());
+    }
+
+    private static void writePrimitive(BinaryOutput output, BinaryCompoundPrimitive primitive) throws IOException {
+        byte tag = primitive.tag();
+
+        output.writeByte(tag);
+        switch (tag) {
+            case TAG_BOOLEAN, TAG_BYTE -> output.writeByte((int) primitive.bits());
+            case TAG_CHAR -> output.writeShort((int) primitive.bits());
+            case TAG_INT, TAG_LONG -> output.writeVarLong(primitive.bits());
+            case TAG_DOUBLE -> output.writeLong(primitive.bits());
+            case TAG_STRING -> writeString(output, (String) primitive.reference());
+            case TAG_BYTE_ARRAY -> {
+                byte[] bytes = (byte[]) primitive.reference();
+                output.writeVarInt(bytes.length);
+                output.writeBytes(bytes);
+            }
+            default -> throw new IllegalStateException("Unknown binary primitive tag: " + tag);
+        }
+    }
+
+    // Other backends do not expose the exact type of their primitives, integral numbers are stored as int or long.
+    private static void writeForeignPrimitive(BinaryOutput output, CompoundPrimitive primitive) throws IOException {
+        if (primitive.isBoolean()) {
+            output.writeByte(TAG_BOOLEAN);
+            output.writeByte(primitive.getAsBoolean() ? 1 : 0);
+            return;
+        }
+
+        if (primitive.isString()) {
+            output.writeByte(TAG_STRING);
+            writeString(output, primitive.getAsString());
+            return;
+        }
+
+        if (primitive.isByteArray()) {
+            byte[] bytes = primitive.getAsByteArray();
+            output.writeByte(TAG_BYTE_ARRAY);
+            output.writeVarInt(bytes.length);
+            output.writeBytes(bytes);
+            return;
+        }
+
+        double doubleValue = primitive.getAsDouble();
+        long longValue = primitive.getAsLong();
+
+        if (doubleValue != longValue) {
+            output.writeByte(TAG_DOUBLE);
+            output.writeLong(Double.doubleToRawLongBits(doubleValue));
+            return;
+        }
+
+        output.writeByte(longValue == (int) longValue ? TAG_INT : TAG_LONG);
+        output.writeVarLong(longValue);
+    }
+
+    private static void writeString(BinaryOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        output.writeVarInt(bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    private static BinaryCompoundElement read(BinaryInput input, CompoundArena arena, int depth) throws IOException {
+        if (depth > MAX_DEPTH)
+            throw new IllegalArgumentException("Binary compound is nested deeper than " + MAX_DEPTH + " levels.");
+
+        int tag = input.readByte();
+        return switch (tag) {
+            case TAG_NULL -> BinaryCompoundNull.NULL;
+            case TAG_BOOLEAN -> BinaryCompoundPrimitive.of(input.readByte() != 0);
+            case TAG_BYTE -> BinaryCompoundPrimitive.of((byte) input.readByte());
+            case TAG_CHAR -> BinaryCompoundPrimitive.of((char) input.readShort());
+            case TAG_INT -> BinaryCompoundPrimitive.of((int) input.readVarLong());
+            case TAG_LONG -> BinaryCompoundPrimitive.of(input.readVarLong());
+            case TAG_DOUBLE -> BinaryCompoundPrimitive.of(Double.longBitsToDouble(input.readLong()));
+            case TAG_STRING -> BinaryCompoundPrimitive.of(readString(input));
+            case TAG_BYTE_ARRAY -> BinaryCompoundPrimitive.wrap(input.readBytes(input.readVarInt()));
+            case TAG_ARRAY -> {
+                int size = input.readVarInt();
+                BinaryCompoundArray array = arena != null ? arena.newArray() : new BinaryCompoundArray(Math.min(size, 1024));
+
+                for (int i = 0; i < size; i++) {
+                    array.append(read(input, arena, depth + 1));
+                }
+                yield array;
+            }
+            case TAG_OBJECT -> {
+                int size = input.readVarInt();
+                BinaryCompoundObject object = arena != null ? arena.newObject() : new BinaryCompoundObject(Math.min(size, 1024));
+
+                for (int i = 0; i < size; i++) {
+                    String key = readString(input);
+                    object.put(key, read(input, arena, depth + 1));
+                }
+                yield object;
+            }
+            case TAG_INT_ARRAY -> {
+                int size = input.readVarInt();
+                BinaryCompoundIntArray array = new BinaryCompoundIntArray(Math.min(size, 1024));
+
+                for (int i = 0; i < size; i++) {
+                    array.addInt((int) input.readVarLong());
+                }
+                yield array;
+            }
+            case TAG_LONG_ARRAY -> {
+                int size = input.readVarInt();
+                BinaryCompoundLongArray array = new BinaryCompoundLongArray(Math.min(size, 1024));
+
+                for (int i = 0; i < size; i++) {
+                    array.addLong(input.readVarLong());
+                }
+                yield array;
+            }
+            case TAG_DOUBLE_ARRAY -> {
+                int size = input.readVarInt();
+                BinaryCompoundDoubleArray array = new BinaryCompoundDoubleArray(Math.min(size, 1024));
+
+                for (int i = 0; i < size; i++) {
+                    array.addDouble(Double.longBitsToDouble(input.readLong()));
+                }
+                yield array;
+            }
+            default -> throw new IllegalArgumentException("Unknown binary compound tag: " + tag);
+        };
+    }
+
+    private static String readString(BinaryInput input) throws IOException {
+        return new String(input.readBytes(input.readVarInt()), StandardCharsets.UTF_8);
+    }
+}
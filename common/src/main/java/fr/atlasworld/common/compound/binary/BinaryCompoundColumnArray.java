@@ -0,0 +1,941 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Columnar array of the binary backend, stores each column in a single primitive array when possible.
+ * <p>
+ * A column starts as an {@code int[]}, {@code long[]} or {@code double[]} when its first value has that exact type,
+ * numeric columns widen to {@code long} or {@code double} columns when a wider number is stored, as long as every value
+ * keeps its exact value. Any other value turns the column into a column of elements, which holds every type of value. Columnar arrays are encoded as regular arrays
+ * of objects by the codecs.
+ */
+public final class BinaryCompoundColumnArray extends BinaryCompoundContainer implements CompoundColumnArray {
+    static final String SAME_KEYS_ONLY = "Columnar arrays only hold objects sharing the same keys.";
+
+    private static final byte INTS = 0;
+    private static final byte LONGS = 1;
+    private static final byte DOUBLES = 2;
+    private static final byte ELEMENTS = 3;
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final Column[] NO_COLUMNS = new Column[0];
+
+    private String[] keys;
+    private int[] table; // Index of the keys, null while there are few of them.
+    private Column[] columns;
+    private int size;
+    private int capacity;
+
+    public BinaryCompoundColumnArray() {
+        this.keys = NO_KEYS;
+        this.columns = NO_COLUMNS;
+    }
+
+    /**
+     * Create a columnar array holding a copy of the rows of an array.
+     *
+     * @param array array whose rows are copied.
+     * @return a new columnar array.
+     * @throws NullPointerException     if {@code array} is null.
+     * @throws IllegalArgumentException if the elements of the array are not objects sharing the same keys.
+     */
+    public static BinaryCompoundColumnArray copyOf(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        BinaryCompoundColumnArray columns = new BinaryCompoundColumnArray();
+        for (CompoundElement element : array) {
+            columns.appendRow(checkObject(element));
+        }
+
+        return columns;
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public List<String> columns() {
+        return List.of(this.keys);
+    }
+
+    @Override
+    public IntStream intColumn(@NotNull String column) {
+        Column values = this.column(column);
+        if (values.kind != INTS)
+            throw new IllegalStateException("Column '" + column + "' does not only hold int values.");
+
+        return Arrays.stream(values.ints, 0, this.size);
+    }
+
+    @Override
+    public LongStream longColumn(@NotNull String column) {
+        Column values = this.column(column);
+        return switch (values.kind) {
+            case INTS -> Arrays.stream(values.ints, 0, this.size).asLongStream();
+            case LONGS -> Arrays.stream(values.longs, 0, this.size);
+            default -> throw new IllegalStateException("Column '" + column + "' does not only hold int or long values.");
+        };
+    }
+
+    @Override
+    public DoubleStream doubleColumn(@NotNull String column) {
+        Column values = this.column(column);
+        return switch (values.kind) {
+            case INTS -> Arrays.stream(values.ints, 0, this.size).asDoubleStream();
+            case LONGS -> Arrays.stream(values.longs, 0, this.size).asDoubleStream();
+            case DOUBLES -> Arrays.stream(values.doubles, 0, this.size);
+            default -> throw new IllegalStateException("Column '" + column + "' does not only hold numbers.");
+        };
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        builder.accept(object);
+
+        this.appendRow(object);
+        return this;
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        this.appendRow(checkObject(value));
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        for (CompoundElement element : List.copyOf(array.asList())) {
+            this.add(element);
+        }
+
+        return this;
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        builder.accept(object);
+
+        return this.replaceRow(index, object);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        return this.replaceRow(index, checkObject(element));
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        throw new IllegalArgumentException(SAME_KEYS_ONLY);
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        int index = this.indexOf(element);
+        if (index < 0)
+            return false;
+
+        this.removeRow(index);
+        return true;
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        BinaryCompoundObject removed = this.copyRow(index);
+        this.removeRow(index);
+
+        return removed;
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        return this.indexOf(element) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public CompoundObject get(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return new Row(index);
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new ListView();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.asList().iterator();
+    }
+
+    @Override
+    public BinaryCompoundColumnArray clone() {
+        BinaryCompoundColumnArray clone = new BinaryCompoundColumnArray();
+        clone.keys = this.keys;
+        clone.table = this.table;
+        clone.size = this.size;
+        clone.capacity = this.size;
+        clone.columns = new Column[this.columns.length];
+
+        for (int i = 0; i < this.columns.length; i++) {
+            Column column = this.columns[i];
+            Column copy = new Column(column.kind);
+
+            switch (column.kind) {
+                case INTS -> copy.ints = Arrays.copyOf(column.ints, this.size);
+                case LONGS -> copy.longs = Arrays.copyOf(column.longs, this.size);
+                case DOUBLES -> copy.doubles = Arrays.copyOf(column.doubles, this.size);
+                default -> {
+                    copy.elements = new BinaryCompoundElement[this.size];
+                    for (int row = 0; row < this.size; row++) {
+                        copy.elements[row] = column.elements[row].clone();
+                        clone.adopt(copy.elements[row]);
+                    }
+                }
+            }
+
+            clone.columns[i] = copy;
+        }
+
+        clone.copyDigest(this);
+        return clone;
+    }
+
+    @Override
+    protected long shallowSize() {
+        long size = CompoundSizes.instanceSize(CONTAINER_REFERENCES + 3, CONTAINER_PRIMITIVE_BYTES + 8)
+                + CompoundSizes.arraySize(this.columns.length, CompoundSizes.REFERENCE);
+
+        for (Column column : this.columns) {
+            size += CompoundSizes.instanceSize(4, 1) + switch (column.kind) {
+                case INTS -> CompoundSizes.arraySize(this.capacity, Integer.BYTES);
+                case LONGS -> CompoundSizes.arraySize(this.capacity, Long.BYTES);
+                case DOUBLES -> CompoundSizes.arraySize(this.capacity, Double.BYTES);
+                default -> CompoundSizes.arraySize(this.capacity, CompoundSizes.REFERENCE);
+            };
+
+            if (column.kind != ELEMENTS)
+                continue;
+
+            // Rows are wrapped on access, the values they hold are measured with the array.
+            for (int row = 0; row < this.size; row++) {
+                size += CompoundSizes.sizeOf(column.elements[row]);
+            }
+        }
+
+        return size; // Keys are shared with the rows they were copied from.
+    }
+
+    @Override
+    boolean holds(BinaryCompoundElement element) {
+        for (Column column : this.columns) {
+            if (column.kind != ELEMENTS)
+                continue;
+
+            for (int row = 0; row < this.size; row++) {
+                if (column.elements[row] == element)
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    byte tag() {
+        return BinaryCompoundCodec.TAG_ARRAY;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int row = 0; row < this.size; row++) {
+            this.writeRow(writer, row);
+        }
+        writer.endArray();
+    }
+
+    private void writeRow(JsonWriter writer, int row) throws IOException {
+        writer.beginObject();
+        for (int i = 0; i < this.keys.length; i++) {
+            writer.name(this.keys[i]);
+
+            Column column = this.columns[i];
+            switch (column.kind) {
+                case INTS -> writer.value(column.ints[row]);
+                case LONGS -> writer.value(column.longs[row]);
+                case DOUBLES -> writer.value(column.doubles[row]);
+                default -> column.elements[row].write(writer);
+            }
+        }
+        writer.endObject();
+    }
+
+    private Column column(String key) {
+        Preconditions.checkNotNull(key);
+
+        int index = this.columnIndex(key);
+        Preconditions.checkArgument(index >= 0, "Unknown column: %s", key);
+
+        return this.columns[index];
+    }
+
+    private int columnIndex(String key) {
+        return CompoundShape.indexOf(this.keys, this.keys.length, this.table, key);
+    }
+
+    private BinaryCompoundElement value(int column, int row) {
+        Column values = this.columns[column];
+        return switch (values.kind) {
+            case INTS -> BinaryCompoundPrimitive.of(values.ints[row]);
+            case LONGS -> BinaryCompoundPrimitive.of(values.longs[row]);
+            case DOUBLES -> BinaryCompoundPrimitive.of(values.doubles[row]);
+            default -> values.elements[row];
+        };
+    }
+
+    private BinaryCompoundObject copyRow(int row) {
+        BinaryCompoundObject object = new BinaryCompoundObject(this.keys.length);
+        for (int i = 0; i < this.keys.length; i++) {
+            object.put(this.keys[i], this.value(i, row).clone());
+        }
+
+        return object;
+    }
+
+    private void appendRow(CompoundObject object) {
+        if (this.size == 0)
+            this.defineColumns(object);
+
+        int[] positions = this.positions(object);
+
+        if (this.size == this.capacity)
+            this.resize(BinaryCompoundNumberArray.grow(this.capacity, this.size + 1));
+
+        int row = this.size++;
+        int i = 0;
+        for (CompoundElement value : object.asMap().values()) {
+            this.store(positions[i++], row, BinaryCompoundConverter.convert(value), true);
+        }
+
+        this.changed();
+    }
+
+    private BinaryCompoundObject replaceRow(int index, CompoundObject object) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        int[] positions = this.positions(object);
+        BinaryCompoundObject previous = this.copyRow(index);
+
+        int i = 0;
+        for (CompoundElement value : object.asMap().values()) {
+            this.store(positions[i++], index, BinaryCompoundConverter.convert(value), false);
+        }
+
+        this.changed();
+        return previous;
+    }
+
+    private void removeRow(int index) {
+        int moved = this.size - index - 1;
+
+        for (Column column : this.columns) {
+            switch (column.kind) {
+                case INTS -> System.arraycopy(column.ints, index + 1, column.ints, index, moved);
+                case LONGS -> System.arraycopy(column.longs, index + 1, column.longs, index, moved);
+                case DOUBLES -> System.arraycopy(column.doubles, index + 1, column.doubles, index, moved);
+                default -> {
+                    BinaryCompoundElement removed = column.elements[index];
+                    System.arraycopy(column.elements, index + 1, column.elements, index, moved);
+                    column.elements[this.size - 1] = null;
+                    this.release(removed);
+                }
+            }
+        }
+
+        this.size--;
+        this.changed();
+
+        // The next row defines the keys again.
+        if (this.size == 0) {
+            this.keys = NO_KEYS;
+            this.table = null;
+            this.columns = NO_COLUMNS;
+            this.capacity = 0;
+        }
+    }
+
+    // Position of the column of each entry of the object, in entry order.
+    private int[] positions(CompoundObject object) {
+        if (object.size() != this.keys.length)
+            throw new IllegalArgumentException(SAME_KEYS_ONLY);
+
+        int[] positions = new int[this.keys.length];
+        int i = 0;
+        for (String key : object.asMap().keySet()) {
+            int position = this.columnIndex(key);
+            if (position < 0)
+                throw new IllegalArgumentException(SAME_KEYS_ONLY);
+
+            positions[i++] = position;
+        }
+
+        return positions;
+    }
+
+    private void defineColumns(CompoundObject object) {
+        this.keys = object.asMap().keySet().toArray(NO_KEYS);
+        this.table = this.keys.length > CompoundShape.INDEX_THRESHOLD ? CompoundShape.buildTable(this.keys, this.keys.length) : null;
+        this.columns = new Column[this.keys.length];
+
+        int i = 0;
+        for (CompoundElement value : object.asMap().values()) {
+            this.columns[i++] = new Column(kindOf(BinaryCompoundConverter.convert(value)));
+        }
+    }
+
+    private void resize(int capacity) {
+        for (Column column : this.columns) {
+            switch (column.kind) {
+                case INTS -> column.ints = Arrays.copyOf(column.ints == null ? new int[0] : column.ints, capacity);
+                case LONGS -> column.longs = Arrays.copyOf(column.longs == null ? new long[0] : column.longs, capacity);
+                case DOUBLES -> column.doubles = Arrays.copyOf(column.doubles == null ? new double[0] : column.doubles, capacity);
+                default -> column.elements = Arrays.copyOf(column.elements == null ? new BinaryCompoundElement[0] : column.elements, capacity);
+            }
+        }
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Store a value in a column, changing the storage of the column if the value does not fit it.
+     *
+     * @param column   index of the column.
+     * @param row      index of the row.
+     * @param value    value to store.
+     * @param appended whether the row is being appended, in which case there is no previous value to release.
+     */
+    private void store(int column, int row, BinaryCompoundElement value, boolean appended) {
+        Column values = this.columns[column];
+        byte kind = kindOf(value);
+
+        long bits = value instanceof BinaryCompoundPrimitive primitive ? primitive.bits() : 0;
+
+        byte fit = this.fit(values, kind, bits);
+        if (fit != values.kind)
+            this.widen(values, fit);
+
+        switch (values.kind) {
+            case INTS -> values.ints[row] = (int) bits;
+            case LONGS -> values.longs[row] = bits;
+            case DOUBLES -> values.doubles[row] = kind == DOUBLES ? Double.longBitsToDouble(bits) : (double) bits;
+            default -> {
+                BinaryCompoundElement previous = values.elements[row];
+                values.elements[row] = value;
+                this.adopt(value);
+
+                if (!appended)
+                    this.release(previous);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the kind of storage holding both the values of a column and a new value without losing precision.
+     * <p>
+     * Numbers widen from {@code int} to {@code long} or {@code double}, and from {@code long} to {@code double}
+     * while every {@code long} is exactly representable as a {@code double}. Anything else needs elements.
+     */
+    private byte fit(Column column, byte kind, long bits) {
+        if (column.kind == kind || column.kind == ELEMENTS || kind == ELEMENTS)
+            return kind == ELEMENTS ? ELEMENTS : column.kind;
+
+        return switch (column.kind) {
+            case INTS -> kind;
+            case LONGS -> kind == INTS ? LONGS : this.exactDoubles(column) ? DOUBLES : ELEMENTS;
+            default -> kind == INTS || exactDouble(bits) ? DOUBLES : ELEMENTS;
+        };
+    }
+
+    private boolean exactDoubles(Column column) {
+        for (int row = 0; row < this.size; row++) {
+            if (!exactDouble(column.longs[row]))
+                return false;
+        }
+
+        return true;
+    }
+
+    private static boolean exactDouble(long value) {
+        return value >= -MAX_EXACT_DOUBLE && value <= MAX_EXACT_DOUBLE;
+    }
+
+    // Copy the values of a column into a wider storage, the values of the other rows are kept.
+    private void widen(Column column, byte kind) {
+        if (kind == LONGS) {
+            column.longs = new long[this.capacity];
+            for (int row = 0; row < this.size; row++) {
+                column.longs[row] = column.ints[row];
+            }
+        } else if (kind == DOUBLES) {
+            column.doubles = new double[this.capacity];
+            for (int row = 0; row < this.size; row++) {
+                column.doubles[row] = column.kind == INTS ? column.ints[row] : column.longs[row];
+            }
+            column.longs = null;
+        } else {
+            column.elements = new BinaryCompoundElement[this.capacity];
+            for (int row = 0; row < this.size; row++) {
+                column.elements[row] = switch (column.kind) {
+                    case INTS -> BinaryCompoundPrimitive.of(column.ints[row]);
+                    case LONGS -> BinaryCompoundPrimitive.of(column.longs[row]);
+                    default -> BinaryCompoundPrimitive.of(column.doubles[row]);
+                };
+            }
+            column.longs = null;
+            column.doubles = null;
+        }
+
+        column.ints = null;
+        column.kind = kind;
+    }
+
+    private int indexOf(CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        for (int row = 0; row < this.size; row++) {
+            if (CompoundHashing.equals(new Row(row), element))
+                return row;
+        }
+
+        return -1;
+    }
+
+    private static CompoundObject checkObject(CompoundElement element) {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkArgument(element.isObject(), SAME_KEYS_ONLY);
+
+        return element.getAsObject();
+    }
+
+    private static byte kindOf(BinaryCompoundElement value) {
+        if (!(value instanceof BinaryCompoundPrimitive primitive))
+            return ELEMENTS;
+
+        return switch (primitive.tag()) {
+            case BinaryCompoundCodec.TAG_INT -> INTS;
+            case BinaryCompoundCodec.TAG_LONG -> LONGS;
+            case BinaryCompoundCodec.TAG_DOUBLE -> DOUBLES;
+            default -> ELEMENTS;
+        };
+    }
+
+    /**
+     * Values of a single key, only the array matching the kind of the column is allocated.
+     */
+    private static final class Column {
+        private byte kind;
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private BinaryCompoundElement[] elements;
+
+        private Column(byte kind) {
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Live view of a row, reading and writing the columns of the array.
+     */
+    private final class Row extends AbstractCompoundElement implements CompoundObject {
+        private final int index;
+
+        private Row(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean isObject() {
+            return true;
+        }
+
+        @Override
+        public CompoundObject getAsObject() {
+            return this;
+        }
+
+        @Override
+        public CompoundElement remove(@NotNull String key) {
+            throw new IllegalArgumentException(SAME_KEYS_ONLY);
+        }
+
+        @Override
+        public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+            Preconditions.checkNotNull(builder);
+
+            BinaryCompoundObject object = new BinaryCompoundObject();
+            builder.accept(object);
+
+            return this.put(key, object);
+        }
+
+        @Override
+        public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+            Preconditions.checkNotNull(builder);
+
+            BinaryCompoundArray array = new BinaryCompoundArray();
+            builder.accept(array);
+
+            return this.put(key, array);
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+            Preconditions.checkNotNull(value);
+
+            return this.put(key, BinaryCompoundConverter.convert(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, boolean value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, double value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, long value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, int value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, byte value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, byte[] value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, char value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public CompoundObject add(@NotNull String key, @NotNull String value) {
+            return this.put(key, BinaryCompoundPrimitive.of(value));
+        }
+
+        @Override
+        public Set<Map.Entry<String, CompoundElement>> entrySet() {
+            return this.asMap().entrySet();
+        }
+
+        @Override
+        public int size() {
+            return BinaryCompoundColumnArray.this.keys.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.size() == 0;
+        }
+
+        @Override
+        public boolean has(@NotNull String key) {
+            Preconditions.checkNotNull(key);
+
+            return BinaryCompoundColumnArray.this.columnIndex(key) >= 0;
+        }
+
+        @Override
+        public CompoundElement get(@NotNull String key) {
+            Preconditions.checkNotNull(key);
+            this.checkRow();
+
+            int column = BinaryCompoundColumnArray.this.columnIndex(key);
+            return column < 0 ? BinaryCompoundNull.NULL : BinaryCompoundColumnArray.this.value(column, this.index);
+        }
+
+        @Override
+        public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+            return this.get(key).getAsPrimitive();
+        }
+
+        @Override
+        public CompoundArray getAsArray(@NotNull String key) {
+            return this.get(key).getAsArray();
+        }
+
+        @Override
+        public CompoundObject getAsObject(@NotNull String key) {
+            return this.get(key).getAsObject();
+        }
+
+        @Override
+        public Map<String, CompoundElement> asMap() {
+            return new RowView(this);
+        }
+
+        @Override
+        public String toJson() {
+            this.checkRow();
+
+            StringWriter writer = new StringWriter();
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            jsonWriter.setStrictness(Strictness.LENIENT);
+
+            try {
+                BinaryCompoundColumnArray.this.writeRow(jsonWriter, this.index);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // StringWriter never throws.
+            }
+
+            return writer.toString();
+        }
+
+        @Override
+        public BinaryCompoundObject clone() {
+            this.checkRow();
+
+            return BinaryCompoundColumnArray.this.copyRow(this.index);
+        }
+
+        @Override
+        protected long shallowSize() {
+            return 0; // Values are measured with the array.
+        }
+
+        private CompoundObject put(String key, BinaryCompoundElement value) {
+            Preconditions.checkNotNull(key);
+            this.checkRow();
+
+            int column = BinaryCompoundColumnArray.this.columnIndex(key);
+            Preconditions.checkArgument(column >= 0, SAME_KEYS_ONLY);
+
+            BinaryCompoundColumnArray.this.store(column, this.index, value, false);
+            BinaryCompoundColumnArray.this.changed();
+            return this;
+        }
+
+        private void checkRow() {
+            Preconditions.checkElementIndex(this.index, BinaryCompoundColumnArray.this.size);
+        }
+    }
+
+    /**
+     * Live, unmodifiable map view of a row.
+     */
+    private final class RowView extends AbstractMap<String, CompoundElement> {
+        private final Row row;
+
+        private RowView(Row row) {
+            this.row = row;
+        }
+
+        @Override
+        public Set<Map.Entry<String, CompoundElement>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, CompoundElement>> iterator() {
+                    return new Iterator<>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.column < BinaryCompoundColumnArray.this.keys.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, CompoundElement> next() {
+                            if (!this.hasNext())
+                                throw new NoSuchElementException();
+
+                            RowView.this.row.checkRow();
+
+                            int column = this.column++;
+                            return Map.entry(BinaryCompoundColumnArray.this.keys[column],
+                                    BinaryCompoundColumnArray.this.value(column, RowView.this.row.index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return BinaryCompoundColumnArray.this.keys.length;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return BinaryCompoundColumnArray.this.keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String name && BinaryCompoundColumnArray.this.columnIndex(name) >= 0;
+        }
+
+        @Override
+        public CompoundElement get(Object key) {
+            return key instanceof String name && this.containsKey(name) ? this.row.get(name) : null;
+        }
+    }
+
+    /**
+     * Live, unmodifiable list view of the rows.
+     */
+    private final class ListView extends AbstractList<CompoundElement> implements RandomAccess {
+
+        @Override
+        public CompoundElement get(int index) {
+            return BinaryCompoundColumnArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return BinaryCompoundColumnArray.this.size;
+        }
+    }
+}
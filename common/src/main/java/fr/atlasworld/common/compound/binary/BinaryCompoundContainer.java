@@ -0,0 +1,190 @@
+package fr.atlasworld.common.compound.binary;
+
+import fr.atlasworld.common.compound.CompoundHashing;
+
+import java.util.Arrays;
+
+/**
+ * Base of binary objects and arrays, caches the digest of the container until it, or any of its children, changes.
+ * <p>
+ * Containers keep track of the containers holding them, modifying a container invalidates its cached digest
+ * and the ones of every container holding it. A container whose digest is cached always has the digests of all of
+ * its children cached, so invalidation stops at the first container that was already invalidated.
+ */
+abstract class BinaryCompoundContainer extends BinaryCompoundElement {
+    // Fields declared by this class, used by containers to estimate their size.
+    static final int CONTAINER_REFERENCES = 2;
+    static final int CONTAINER_PRIMITIVE_BYTES = 9;
+
+    CompoundArena arena; // Arena this container was allocated from, null if it was allocated normally.
+
+    private Object owners; // Null, the single container holding this one, or an array of those containers.
+    private long digest;
+    private boolean digested;
+
+    BinaryCompoundContainer() {
+    }
+
+    @Override
+    public long digest() {
+        if (!this.digested) {
+            this.digest = CompoundHashing.digest(this);
+            this.digested = true;
+        }
+
+        return this.digest;
+    }
+
+    @Override
+    public boolean isDigestCached() {
+        return true;
+    }
+
+    /**
+     * Allocate a new object, from the arena of this container if it has one.
+     *
+     * @return new empty object.
+     */
+    BinaryCompoundObject newObject() {
+        return this.arena != null ? this.arena.newObject() : new BinaryCompoundObject();
+    }
+
+    /**
+     * Allocate a new array, from the arena of this container if it has one.
+     *
+     * @return new empty array.
+     */
+    BinaryCompoundArray newArray() {
+        return this.arena != null ? this.arena.newArray() : new BinaryCompoundArray();
+    }
+
+    /**
+     * Empties this container so its arena can hand it out again.
+     * <p>
+     * Implementations must {@link #forget(BinaryCompoundElement)} each of their children.
+     */
+    void recycle() {
+        this.owners = null;
+        this.digested = false;
+    }
+
+    /**
+     * Stops tracking this container as an owner of a child, without invalidating any digest.
+     *
+     * @param element child being dropped.
+     */
+    void forget(BinaryCompoundElement element) {
+        if (element instanceof BinaryCompoundContainer container)
+            container.detach(this);
+    }
+
+    /**
+     * Checks whether this container directly holds the provided element instance.
+     *
+     * @param element element to look for.
+     * @return true if the element instance is a child of this container.
+     */
+    abstract boolean holds(BinaryCompoundElement element);
+
+    /**
+     * Must be called once an element has been added to this container.
+     *
+     * @param element added element.
+     */
+    void adopt(BinaryCompoundElement element) {
+        this.changed();
+
+        if (element instanceof BinaryCompoundContainer container)
+            container.attach(this);
+    }
+
+    /**
+     * Must be called once an element has been removed from, or replaced in, this container.
+     *
+     * @param element removed element.
+     */
+    void release(BinaryCompoundElement element) {
+        this.changed();
+
+        if (element instanceof BinaryCompoundContainer container && !this.holds(container))
+            container.detach(this);
+    }
+
+    /**
+     * Invalidates the cached digest of this container and of every container holding it.
+     */
+    void changed() {
+        if (!this.digested)
+            return;
+
+        this.digested = false;
+
+        if (this.owners instanceof BinaryCompoundContainer owner)
+            owner.changed();
+        else if (this.owners instanceof BinaryCompoundContainer[] owners) {
+            for (BinaryCompoundContainer owner : owners) {
+                owner.changed();
+            }
+        }
+    }
+
+    /**
+     * Copy the cached digest of a structurally equal container.
+     *
+     * @param source container this one was cloned from.
+     */
+    void copyDigest(BinaryCompoundContainer source) {
+        this.digest = source.digest;
+        this.digested = source.digested;
+    }
+
+    private void attach(BinaryCompoundContainer owner) {
+        if (this.owners == null) {
+            this.owners = owner;
+            return;
+        }
+
+        if (this.owners == owner)
+            return;
+
+        if (this.owners instanceof BinaryCompoundContainer single) {
+            this.owners = new BinaryCompoundContainer[]{single, owner};
+            return;
+        }
+
+        BinaryCompoundContainer[] owners = (BinaryCompoundContainer[]) this.owners;
+        for (BinaryCompoundContainer existing : owners) {
+            if (existing == owner)
+                return;
+        }
+
+        owners = Arrays.copyOf(owners, owners.length + 1);
+        owners[owners.length - 1] = owner;
+        this.owners = owners;
+    }
+
+    private void detach(BinaryCompoundContainer owner) {
+        if (this.owners == owner) {
+            this.owners = null;
+            return;
+        }
+
+        if (!(this.owners instanceof BinaryCompoundContainer[] owners))
+            return;
+
+        for (int i = 0; i < owners.length; i++) {
+            if (owners[i] != owner)
+                continue;
+
+            if (owners.length == 2) {
+                this.owners = owners[1 - i];
+            } else {
+                BinaryCompoundContainer[] remaining = new BinaryCompoundContainer[owners.length - 1];
+                System.arraycopy(owners, 0, remaining, 0, i);
+                System.arraycopy(owners, i + 1, remaining, i, owners.length - i - 1);
+                this.owners = remaining;
+            }
+            return;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fr.atlasworld.common.compound.binary;
+
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Converts elements of any backend into binary elements, copying them element by element.
+ */
+final class BinaryCompoundConverter implements CompoundVisitor<BinaryCompoundElement> {
+    static final BinaryCompoundConverter INSTANCE = new BinaryCompoundConverter();
+
+    private BinaryCompoundConverter() {
+    }
+
+    /**
+     * Convert an element into a binary element.
+     *
+     * @param element element to convert.
+     * @return the element itself if it is binary backed, a copy of the element otherwise.
+     */
+    static BinaryCompoundElement convert(CompoundElement element) {
+        if (element instanceof BinaryCompoundElement binary)
+            return binary;
+
+        return element.accept(INSTANCE);
+    }
+
+    @Override
+    public BinaryCompoundElement visitObject(@NotNull CompoundObject object) {
+        BinaryCompoundObject binary = new BinaryCompoundObject(object.size());
+        for (Map.Entry<String, CompoundElement> entry : object.entrySet()) {
+            binary.put(entry.getKey(), this.child(entry.getValue()));
+        }
+
+        return binary;
+    }
+
+    @Override
+    public BinaryCompoundElement visitArray(@NotNull CompoundArray array) {
+        BinaryCompoundArray binary = new BinaryCompoundArray(array.size());
+        for (CompoundElement element : array) {
+            binary.append(this.child(element));
+        }
+
+        return binary;
+    }
+
+    // Other backends do not expose the exact type of their primitives, integral numbers are stored as int or long.
+    @Override
+    public BinaryCompoundElement visitPrimitive(@NotNull CompoundPrimitive primitive) {
+        if (primitive instanceof BinaryCompoundPrimitive binary)
+            return binary; // Immutable
+
+        if (primitive.isBoolean())
+            return BinaryCompoundPrimitive.of(primitive.getAsBoolean());
+
+        if (primitive.isString())
+            return BinaryCompoundPrimitive.of(primitive.getAsString());
+
+        if (primitive.isByteArray())
+            return BinaryCompoundPrimitive.wrap(primitive.getAsByteArray());
+
+        double doubleValue = primitive.getAsDouble();
+        long longValue = primitive.getAsLong();
+
+        if (doubleValue != longValue)
+            return BinaryCompoundPrimitive.of(doubleValue);
+
+        return longValue == (int) longValue ? BinaryCompoundPrimitive.of((int) longValue) : BinaryCompoundPrimitive.of(longValue);
+    }
+
+    @Override
+    public BinaryCompoundElement visitNull(@NotNull CompoundNull element) {
+        return BinaryCompoundNull.NULL;
+    }
+
+    // Nested binary containers are copied as well, they must not be shared with a foreign tree.
+    private BinaryCompoundElement child(CompoundElement element) {
+        if (element instanceof BinaryCompoundPrimitive || element instanceof BinaryCompoundNull)
+            return (BinaryCompoundElement) element;
+
+        if (element instanceof BinaryCompoundElement binary)
+            return binary.clone();
+
+        return element.accept(this);
+    }
+}
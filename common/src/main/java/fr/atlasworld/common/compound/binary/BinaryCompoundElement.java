@@ -0,0 +1,54 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.AbstractCompoundElement;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Base of the binary compound backend.
+ * <p>
+ * Binary compounds are plain in-memory trees whose storage does not depend on Gson,
+ * they can be encoded into a compact tagged binary format through {@link BinaryCompoundCodec}.
+ */
+public abstract class BinaryCompoundElement extends AbstractCompoundElement {
+
+    BinaryCompoundElement() {
+    }
+
+    @Override
+    public String toJson() {
+        StringWriter writer = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try {
+            this.write(jsonWriter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws.
+        }
+
+        return writer.toString();
+    }
+
+    @Override
+    public abstract BinaryCompoundElement clone();
+
+    /**
+     * Retrieve the binary tag identifying this element's type.
+     *
+     * @return tag of this element.
+     */
+    abstract byte tag();
+
+    /**
+     * Write this element as {@code JSON}.
+     *
+     * @param writer writer to write to.
+     * @throws IOException if the writer could not be written to.
+     */
+    abstract void write(JsonWriter writer) throws IOException;
+}
@@ -0,0 +1,172 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundIntArray;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Typed array of the binary backend, stores its values in a single {@code int[]}.
+ */
+public final class BinaryCompoundIntArray extends BinaryCompoundNumberArray implements CompoundIntArray {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] values;
+
+    public BinaryCompoundIntArray() {
+        this.values = EMPTY;
+    }
+
+    /**
+     * Create a typed array holding a copy of the provided values.
+     *
+     * @param values initial values of the array.
+     * @throws NullPointerException if {@code values} is null.
+     */
+    public BinaryCompoundIntArray(int @NotNull [] values) {
+        Preconditions.checkNotNull(values);
+
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    BinaryCompoundIntArray(int expectedSize) {
+        this.values = new int[expectedSize];
+    }
+
+    @Override
+    public int getInt(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.values[index];
+    }
+
+    @Override
+    public int setInt(int index, int value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        int previous = this.values[index];
+        this.values[index] = value;
+        this.changed();
+
+        return previous;
+    }
+
+    @Override
+    public BinaryCompoundIntArray addInt(int value) {
+        if (this.size == this.values.length)
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, this.size + 1));
+
+        this.values[this.size++] = value;
+        this.changed();
+        return this;
+    }
+
+    @Override
+    public BinaryCompoundIntArray addInts(int @NotNull [] values) {
+        Preconditions.checkNotNull(values);
+
+        if (this.size + values.length > this.values.length)
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, this.size + values.length));
+
+        System.arraycopy(values, 0, this.values, this.size, values.length);
+        this.size += values.length;
+        this.changed();
+        return this;
+    }
+
+    @Override
+    public void getInts(int index, int @NotNull [] destination, int offset, int length) {
+        Preconditions.checkNotNull(destination);
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(offset, length, destination.length);
+
+        System.arraycopy(this.values, index, destination, offset, length);
+    }
+
+    @Override
+    public void setInts(int index, int @NotNull [] source, int offset, int length) {
+        Preconditions.checkNotNull(source);
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(offset, length, source.length);
+
+        System.arraycopy(source, offset, this.values, index, length);
+        this.changed();
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        return this.addInt(value);
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        return this.addInt(value);
+    }
+
+    @Override
+    public BinaryCompoundIntArray clone() {
+        BinaryCompoundIntArray clone = new BinaryCompoundIntArray(this.size);
+        System.arraycopy(this.values, 0, clone.values, 0, this.size);
+
+        clone.size = this.size;
+        clone.copyDigest(this);
+        return clone;
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(CONTAINER_REFERENCES + 1, CONTAINER_PRIMITIVE_BYTES + 4)
+                + CompoundSizes.arraySize(this.values.length, Integer.BYTES);
+    }
+
+    @Override
+    BinaryCompoundPrimitive element(int index) {
+        return BinaryCompoundPrimitive.of(this.values[index]);
+    }
+
+    @Override
+    void appendValue(CompoundPrimitive value) {
+        this.addInt(toInt(value));
+    }
+
+    @Override
+    BinaryCompoundPrimitive storeValue(int index, CompoundPrimitive value) {
+        return BinaryCompoundPrimitive.of(this.setInt(index, toInt(value)));
+    }
+
+    @Override
+    void removeAt(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+        this.changed();
+    }
+
+    @Override
+    byte tag() {
+        return BinaryCompoundCodec.TAG_INT_ARRAY;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < this.size; i++) {
+            writer.value(this.values[i]);
+        }
+        writer.endArray();
+    }
+}
@@ -0,0 +1,177 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundLongArray;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Typed array of the binary backend, stores its values in a single {@code long[]}.
+ */
+public final class BinaryCompoundLongArray extends BinaryCompoundNumberArray implements CompoundLongArray {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values;
+
+    public BinaryCompoundLongArray() {
+        this.values = EMPTY;
+    }
+
+    /**
+     * Create a typed array holding a copy of the provided values.
+     *
+     * @param values initial values of the array.
+     * @throws NullPointerException if {@code values} is null.
+     */
+    public BinaryCompoundLongArray(long @NotNull [] values) {
+        Preconditions.checkNotNull(values);
+
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    BinaryCompoundLongArray(int expectedSize) {
+        this.values = new long[expectedSize];
+    }
+
+    @Override
+    public long getLong(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.values[index];
+    }
+
+    @Override
+    public long setLong(int index, long value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        long previous = this.values[index];
+        this.values[index] = value;
+        this.changed();
+
+        return previous;
+    }
+
+    @Override
+    public BinaryCompoundLongArray addLong(long value) {
+        if (this.size == this.values.length)
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, this.size + 1));
+
+        this.values[this.size++] = value;
+        this.changed();
+        return this;
+    }
+
+    @Override
+    public BinaryCompoundLongArray addLongs(long @NotNull [] values) {
+        Preconditions.checkNotNull(values);
+
+        if (this.size + values.length > this.values.length)
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, this.size + values.length));
+
+        System.arraycopy(values, 0, this.values, this.size, values.length);
+        this.size += values.length;
+        this.changed();
+        return this;
+    }
+
+    @Override
+    public void getLongs(int index, long @NotNull [] destination, int offset, int length) {
+        Preconditions.checkNotNull(destination);
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(offset, length, destination.length);
+
+        System.arraycopy(this.values, index, destination, offset, length);
+    }
+
+    @Override
+    public void setLongs(int index, long @NotNull [] source, int offset, int length) {
+        Preconditions.checkNotNull(source);
+        Objects.checkFromIndexSize(index, length, this.size);
+        Objects.checkFromIndexSize(offset, length, source.length);
+
+        System.arraycopy(source, offset, this.values, index, length);
+        this.changed();
+    }
+
+    @Override
+    public long[] toLongArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        return this.addLong(value);
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        return this.addLong(value);
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        return this.addLong(value);
+    }
+
+    @Override
+    public BinaryCompoundLongArray clone() {
+        BinaryCompoundLongArray clone = new BinaryCompoundLongArray(this.size);
+        System.arraycopy(this.values, 0, clone.values, 0, this.size);
+
+        clone.size = this.size;
+        clone.copyDigest(this);
+        return clone;
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(CONTAINER_REFERENCES + 1, CONTAINER_PRIMITIVE_BYTES + 4)
+                + CompoundSizes.arraySize(this.values.length, Long.BYTES);
+    }
+
+    @Override
+    BinaryCompoundPrimitive element(int index) {
+        return BinaryCompoundPrimitive.of(this.values[index]);
+    }
+
+    @Override
+    void appendValue(CompoundPrimitive value) {
+        this.addLong(toLong(value));
+    }
+
+    @Override
+    BinaryCompoundPrimitive storeValue(int index, CompoundPrimitive value) {
+        return BinaryCompoundPrimitive.of(this.setLong(index, toLong(value)));
+    }
+
+    @Override
+    void removeAt(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+        this.changed();
+    }
+
+    @Override
+    byte tag() {
+        return BinaryCompoundCodec.TAG_LONG_ARRAY;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (int i = 0; i < this.size; i++) {
+            writer.value(this.values[i]);
+        }
+        writer.endArray();
+    }
+}
@@ -0,0 +1,43 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundNull;
+
+import java.io.IOException;
+
+public final class BinaryCompoundNull extends BinaryCompoundElement implements CompoundNull {
+    public static final BinaryCompoundNull NULL = new BinaryCompoundNull();
+
+    private BinaryCompoundNull() {
+    }
+
+    @Override
+    public boolean isNull() {
+        return true;
+    }
+
+    @Override
+    public CompoundNull getAsNull() {
+        return this;
+    }
+
+    @Override
+    public BinaryCompoundNull clone() {
+        return NULL;
+    }
+
+    @Override
+    protected long shallowSize() {
+        return 0; // Shared
+    }
+
+    @Override
+    byte tag() {
+        return BinaryCompoundCodec.TAG_NULL;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        writer.nullValue();
+    }
+}
@@ -0,0 +1,316 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundHashing;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Base of the typed arrays of the binary backend, implements the generic {@link CompoundArray} methods
+ * on top of the typed storage of its subclasses.
+ * <p>
+ * Generic values are converted to the type of the array, values that are not numbers or do not fit the type
+ * are rejected with an {@link IllegalArgumentException}.
+ */
+abstract class BinaryCompoundNumberArray extends BinaryCompoundContainer implements CompoundArray {
+    static final String NUMBERS_ONLY = "Typed arrays only hold numbers.";
+
+    int size;
+
+    BinaryCompoundNumberArray() {
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        this.appendValue(checkNumber(value));
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        this.appendValue(BinaryCompoundPrimitive.of(value));
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        this.appendValue(BinaryCompoundPrimitive.of(value));
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        this.appendValue(BinaryCompoundPrimitive.of(value));
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        this.appendValue(BinaryCompoundPrimitive.of(value));
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        for (CompoundElement element : List.copyOf(array.asList())) {
+            this.add(element);
+        }
+
+        return this;
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        return this.storeValue(index, checkNumber(element));
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        return this.storeValue(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        return this.storeValue(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        return this.storeValue(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        return this.storeValue(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        throw new IllegalArgumentException(NUMBERS_ONLY);
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        int index = this.indexOf(element);
+        if (index < 0)
+            return false;
+
+        this.removeAt(index);
+        return true;
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        CompoundElement removed = this.get(index);
+        this.removeAt(index);
+
+        return removed;
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        return this.indexOf(element) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.element(index);
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new ListView();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.asList().iterator();
+    }
+
+    @Override
+    public abstract BinaryCompoundNumberArray clone();
+
+    @Override
+    boolean holds(BinaryCompoundElement element) {
+        return false; // Values are stored unboxed.
+    }
+
+    /**
+     * Wrap the value at the provided index, the index has already been checked.
+     *
+     * @param index index of the value.
+     * @return the wrapped value.
+     */
+    abstract BinaryCompoundPrimitive element(int index);
+
+    /**
+     * Convert and append a value.
+     *
+     * @param value number to append.
+     * @throws IllegalArgumentException if the number does not fit the type of the array.
+     */
+    abstract void appendValue(CompoundPrimitive value);
+
+    /**
+     * Convert and store a value.
+     *
+     * @param index index of the value.
+     * @param value number to store.
+     * @return the previous value, wrapped.
+     * @throws IllegalArgumentException  if the number does not fit the type of the array.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    abstract BinaryCompoundPrimitive storeValue(int index, CompoundPrimitive value);
+
+    /**
+     * Remove the value at the provided index.
+     *
+     * @param index index of the value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    abstract void removeAt(int index);
+
+    static int toInt(CompoundPrimitive value) {
+        long longValue = value.getAsLong();
+        Preconditions.checkArgument(longValue == (int) longValue && value.getAsDouble() == longValue, "Not an int: %s", value);
+
+        return (int) longValue;
+    }
+
+    static long toLong(CompoundPrimitive value) {
+        long longValue = value.getAsLong();
+        Preconditions.checkArgument(value.getAsDouble() == (double) longValue, "Not a long: %s", value);
+
+        return longValue;
+    }
+
+    static int grow(int capacity, int required) {
+        return Math.max(required, Math.max(8, capacity + (capacity >> 1)));
+    }
+
+    private int indexOf(CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        for (int i = 0; i < this.size; i++) {
+            if (CompoundHashing.equals(this.element(i), element))
+                return i;
+        }
+
+        return -1;
+    }
+
+    private static CompoundPrimitive checkNumber(CompoundElement element) {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkArgument(element.isPrimitive(), NUMBERS_ONLY);
+
+        CompoundPrimitive primitive = element.getAsPrimitive();
+        Preconditions.checkArgument(!primitive.isBoolean() && !primitive.isString() && !primitive.isByteArray(), NUMBERS_ONLY);
+
+        return primitive;
+    }
+
+    /**
+     * Live, unmodifiable list view of the wrapped values.
+     */
+    private final class ListView extends AbstractList<CompoundElement> implements RandomAccess {
+
+        @Override
+        public CompoundElement get(int index) {
+            return BinaryCompoundNumberArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return BinaryCompoundNumberArray.this.size;
+        }
+    }
+}
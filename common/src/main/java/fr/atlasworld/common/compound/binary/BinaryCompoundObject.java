@@ -0,0 +1,417 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Object of the binary backend.
+ * <p>
+ * Entries are kept in insertion order in two parallel arrays, once the object grows past a few entries
+ * keys are indexed by an open-addressing hash table using linear probing.
+ * <p>
+ * Objects start in shape mode: their keys and index belong to a {@link CompoundShape} shared with every object
+ * built from the same keys, the object itself only holds its values. Objects with too many keys, or built from keys
+ * too diverse to be worth sharing, switch to owning their keys and index.
+ */
+public class BinaryCompoundObject extends BinaryCompoundContainer implements CompoundObject {
+    private static final BinaryCompoundElement[] EMPTY_VALUES = new BinaryCompoundElement[0];
+
+    private CompoundShape shape; // Null once the object owns its keys.
+    private String[] keys;
+    private BinaryCompoundElement[] values;
+    private int size;
+    private int modCount;
+
+    private int[] table; // Entry index + 1 for each slot, 0 marks an empty slot. Null while the object is small.
+    private MapView view;
+
+    public BinaryCompoundObject() {
+        this.shape = CompoundShape.ROOT;
+        this.keys = CompoundShape.ROOT.keys;
+        this.values = EMPTY_VALUES;
+    }
+
+    BinaryCompoundObject(int expectedSize) {
+        this.shape = CompoundShape.ROOT;
+        this.keys = CompoundShape.ROOT.keys;
+        this.values = new BinaryCompoundElement[expectedSize];
+    }
+
+    @Override
+    public boolean isObject() {
+        return true;
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        return this;
+    }
+
+    @Override
+    public CompoundElement remove(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        int index = this.indexOf(key);
+        if (index < 0)
+            return BinaryCompoundNull.NULL;
+
+        BinaryCompoundElement removed = this.values[index];
+        this.removeAt(index);
+
+        return removed;
+    }
+
+    @Override
+    public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundObject object = this.newObject();
+        builder.accept(object);
+
+        return this.put(key, object);
+    }
+
+    @Override
+    public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(builder);
+
+        BinaryCompoundArray array = this.newArray();
+        builder.accept(array);
+
+        return this.put(key, array);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+
+        return this.put(key, BinaryCompoundConverter.convert(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, boolean value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, double value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, long value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, int value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte[] value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, char value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull String value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public Set<Map.Entry<String, CompoundElement>> entrySet() {
+        return this.asMap().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public CompoundElement get(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        int index = this.indexOf(key);
+        return index < 0 ? BinaryCompoundNull.NULL : this.values[index];
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+        return this.get(key).getAsPrimitive();
+    }
+
+    @Override
+    public CompoundArray getAsArray(@NotNull String key) {
+        return this.get(key).getAsArray();
+    }
+
+    @Override
+    public CompoundObject getAsObject(@NotNull String key) {
+        return this.get(key).getAsObject();
+    }
+
+    @Override
+    public Map<String, CompoundElement> asMap() {
+        if (this.view == null)
+            this.view = new MapView();
+
+        return this.view;
+    }
+
+    @Override
+    public BinaryCompoundObject clone() {
+        BinaryCompoundObject clone = new BinaryCompoundObject(this.size);
+        for (int i = 0; i < this.size; i++) {
+            clone.values[i] = this.values[i].clone();
+            clone.adopt(clone.values[i]);
+        }
+
+        clone.copyDigest(this);
+        clone.shape = this.shape;
+        clone.keys = this.shape != null ? this.keys : Arrays.copyOf(this.keys, this.size);
+        clone.table = this.shape != null || this.table == null ? this.table : this.table.clone();
+        clone.size = this.size;
+        return clone;
+    }
+
+    @Override
+    protected long shallowSize() {
+        long size = CompoundSizes.instanceSize(CONTAINER_REFERENCES + 5, CONTAINER_PRIMITIVE_BYTES + 8)
+                + CompoundSizes.arraySize(this.values.length, CompoundSizes.REFERENCE);
+
+        if (this.shape != null)
+            return size; // Keys and index belong to the shared shape.
+
+        size += CompoundSizes.arraySize(this.keys.length, CompoundSizes.REFERENCE);
+        for (int i = 0; i < this.size; i++) {
+            size += CompoundSizes.stringSize(this.keys[i]);
+        }
+
+        return this.table == null ? size : size + CompoundSizes.arraySize(this.table.length, Integer.BYTES);
+    }
+
+    @Override
+    boolean holds(BinaryCompoundElement element) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.values[i] == element)
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    byte tag() {
+        return BinaryCompoundCodec.TAG_OBJECT;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        for (int i = 0; i < this.size; i++) {
+            writer.name(this.keys[i]);
+            this.values[i].write(writer);
+        }
+        writer.endObject();
+    }
+
+    BinaryCompoundObject put(@NotNull String key, @NotNull BinaryCompoundElement value) {
+        Preconditions.checkNotNull(key);
+
+        int index = this.indexOf(key);
+        if (index >= 0) {
+            BinaryCompoundElement previous = this.values[index];
+            this.values[index] = value;
+
+            this.adopt(value);
+            this.release(previous);
+            return this;
+        }
+
+        if (this.size == this.values.length)
+            this.values = Arrays.copyOf(this.values, Math.max(4, this.size + (this.size >> 1)));
+
+        CompoundShape next = this.shape == null ? null : this.shape.with(key);
+        if (next != null) {
+            this.useShape(next);
+        } else {
+            if (this.shape != null)
+                this.ownKeys();
+
+            if (this.size == this.keys.length)
+                this.keys = Arrays.copyOf(this.keys, this.values.length);
+
+            this.keys[this.size] = key;
+        }
+
+        this.values[this.size] = value;
+        this.size++;
+        this.modCount++;
+
+        if (this.shape == null) {
+            if (this.table != null && this.size * 2 <= this.table.length)
+                CompoundShape.insert(this.table, this.keys, this.size - 1);
+            else if (this.size > CompoundShape.INDEX_THRESHOLD)
+                this.table = CompoundShape.buildTable(this.keys, this.size);
+        }
+
+        this.adopt(value);
+        return this;
+    }
+
+    @Override
+    void recycle() {
+        super.recycle();
+
+        for (int i = 0; i < this.size; i++) {
+            this.forget(this.values[i]);
+            this.values[i] = null;
+        }
+
+        if (this.values.length > CompoundArena.RETAINED_CAPACITY)
+            this.values = EMPTY_VALUES;
+
+        this.size = 0;
+        this.modCount++;
+        this.useShape(CompoundShape.ROOT);
+    }
+
+    private int indexOf(String key) {
+        return CompoundShape.indexOf(this.keys, this.size, this.table, key);
+    }
+
+    private void removeAt(int index) {
+        BinaryCompoundElement removed = this.values[index];
+        CompoundShape next = this.shape == null ? null : this.shape.without(index);
+        if (this.shape != null && next == null)
+            this.ownKeys();
+
+        int moved = this.size - index - 1;
+        System.arraycopy(this.values, index + 1, this.values, index, moved);
+
+        this.size--;
+        this.values[this.size] = null;
+        this.modCount++;
+
+        if (next != null) {
+            this.useShape(next);
+        } else {
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            this.keys[this.size] = null;
+
+            // Entry indices after the removed one shifted, the table has to be rebuilt.
+            this.table = this.size > CompoundShape.INDEX_THRESHOLD ? CompoundShape.buildTable(this.keys, this.size) : null;
+        }
+
+        this.release(removed);
+    }
+
+    private void useShape(CompoundShape shape) {
+        this.shape = shape;
+        this.keys = shape.keys;
+        this.table = shape.table;
+    }
+
+    private void ownKeys() {
+        this.shape = null;
+        this.keys = Arrays.copyOf(this.keys, Math.max(this.values.length, this.size));
+        this.table = this.table == null ? null : this.table.clone();
+    }
+
+    /**
+     * Live, unmodifiable map view of this object's entries.
+     */
+    private final class MapView extends AbstractMap<String, CompoundElement> {
+        private final Set<Map.Entry<String, CompoundElement>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, CompoundElement>> iterator() {
+                return new Iterator<>() {
+                    private final int expectedModCount = BinaryCompoundObject.this.modCount;
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < BinaryCompoundObject.this.size;
+                    }
+
+                    @Override
+                    public Map.Entry<String, CompoundElement> next() {
+                        if (BinaryCompoundObject.this.modCount != this.expectedModCount)
+                            throw new ConcurrentModificationException();
+
+                        if (!this.hasNext())
+                            throw new NoSuchElementException();
+
+                        int current = this.index++;
+                        return new SimpleImmutableEntry<>(BinaryCompoundObject.this.keys[current], BinaryCompoundObject.this.values[current]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return BinaryCompoundObject.this.size;
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<String, CompoundElement>> entrySet() {
+            return this.entries;
+        }
+
+        @Override
+        public int size() {
+            return BinaryCompoundObject.this.size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String string && BinaryCompoundObject.this.indexOf(string) >= 0;
+        }
+
+        @Override
+        public CompoundElement get(Object key) {
+            if (!(key instanceof String string))
+                return null;
+
+            int index = BinaryCompoundObject.this.indexOf(string);
+            return index < 0 ? null : BinaryCompoundObject.this.values[index];
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Immutable primitive of the binary backend, keeps track of the exact type it was created with.
+ * <p>
+ * Numeric, boolean and char values are stored unboxed in a single {@code long} field,
+ * strings and byte arrays are stored as references.
+ */
+public final class BinaryCompoundPrimitive extends BinaryCompoundElement implements CompoundPrimitive {
+    private static final BinaryCompoundPrimitive TRUE = new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_BOOLEAN, 1, null);
+    private static final BinaryCompoundPrimitive FALSE = new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_BOOLEAN, 0, null);
+
+    // Small ints and every byte are shared, like boxed values, they are the most common values of short-lived messages.
+    private static final int INT_CACHE_LOW = -128;
+    private static final BinaryCompoundPrimitive[] INT_CACHE = new BinaryCompoundPrimitive[1024 - INT_CACHE_LOW];
+    private static final BinaryCompoundPrimitive[] BYTE_CACHE = new BinaryCompoundPrimitive[256];
+
+    static {
+        for (int i = 0; i < INT_CACHE.length; i++) {
+            INT_CACHE[i] = new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_INT, i + INT_CACHE_LOW, null);
+        }
+
+        for (int i = 0; i < BYTE_CACHE.length; i++) {
+            BYTE_CACHE[i] = new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_BYTE, (byte) i, null);
+        }
+    }
+
+    private final byte tag;
+    private final long bits;
+    private final Object reference;
+
+    private BinaryCompoundPrimitive(byte tag, long bits, Object reference) {
+        this.tag = tag;
+        this.bits = bits;
+        this.reference = reference;
+    }
+
+    public static BinaryCompoundPrimitive of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    public static BinaryCompoundPrimitive of(double value) {
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_DOUBLE, Double.doubleToRawLongBits(value), null);
+    }
+
+    public static BinaryCompoundPrimitive of(long value) {
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_LONG, value, null);
+    }
+
+    public static BinaryCompoundPrimitive of(int value) {
+        int index = value - INT_CACHE_LOW;
+        if (index >= 0 && index < INT_CACHE.length)
+            return INT_CACHE[index];
+
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_INT, value, null);
+    }
+
+    public static BinaryCompoundPrimitive of(byte value) {
+        return BYTE_CACHE[value & 0xFF];
+    }
+
+    public static BinaryCompoundPrimitive of(char value) {
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_CHAR, value, null);
+    }
+
+    public static BinaryCompoundPrimitive of(byte[] value) {
+        Preconditions.checkNotNull(value);
+
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_BYTE_ARRAY, 0, value.clone());
+    }
+
+    public static BinaryCompoundPrimitive of(@NotNull String value) {
+        Preconditions.checkNotNull(value);
+
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_STRING, 0, value);
+    }
+
+    static BinaryCompoundPrimitive wrap(byte[] value) {
+        return new BinaryCompoundPrimitive(BinaryCompoundCodec.TAG_BYTE_ARRAY, 0, value);
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return true;
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive() {
+        return this;
+    }
+
+    @Override
+    public boolean isBoolean() {
+        return this.tag == BinaryCompoundCodec.TAG_BOOLEAN;
+    }
+
+    @Override
+    public boolean isDouble() {
+        return this.isNumber();
+    }
+
+    @Override
+    public boolean isLong() {
+        return this.tag == BinaryCompoundCodec.TAG_LONG || this.isInt();
+    }
+
+    @Override
+    public boolean isInt() {
+        return this.tag == BinaryCompoundCodec.TAG_INT || this.isByte();
+    }
+
+    @Override
+    public boolean isByte() {
+        return this.tag == BinaryCompoundCodec.TAG_BYTE;
+    }
+
+    @Override
+    public boolean isByteArray() {
+        return this.tag == BinaryCompoundCodec.TAG_BYTE_ARRAY;
+    }
+
+    @Override
+    public boolean isDate() {
+        return this.isLong();
+    }
+
+    @Override
+    public boolean isChar() {
+        return this.tag == BinaryCompoundCodec.TAG_CHAR;
+    }
+
+    @Override
+    public boolean isString() {
+        return this.tag == BinaryCompoundCodec.TAG_STRING || this.isChar();
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        if (this.isBoolean())
+            return this.bits != 0;
+
+        return Boolean.parseBoolean(this.getAsString());
+    }
+
+    @Override
+    public double getAsDouble() {
+        if (this.tag == BinaryCompoundCodec.TAG_DOUBLE)
+            return Double.longBitsToDouble(this.bits);
+
+        if (this.isNumber())
+            return this.bits;
+
+        return Double.parseDouble(this.getAsString());
+    }
+
+    @Override
+    public long getAsLong() {
+        if (this.tag == BinaryCompoundCodec.TAG_DOUBLE)
+            return (long) Double.longBitsToDouble(this.bits);
+
+        if (this.isNumber())
+            return this.bits;
+
+        return Long.parseLong(this.getAsString());
+    }
+
+    @Override
+    public int getAsInt() {
+        if (this.isNumber())
+            return (int) this.getAsLong();
+
+        return Integer.parseInt(this.getAsString());
+    }
+
+    @Override
+    public byte getAsByte() {
+        if (this.isNumber())
+            return (byte) this.getAsLong();
+
+        return Byte.parseByte(this.getAsString());
+    }
+
+    @Override
+    public byte[] getAsByteArray() {
+        if (this.isByteArray())
+            return ((byte[]) this.reference).clone();
+
+        return Base64.getDecoder().decode(this.getAsString());
+    }
+
+    @Override
+    public Date getAsDate() {
+        return new Date(this.getAsLong());
+    }
+
+    @Override
+    public char getAsChar() {
+        if (this.isChar())
+            return (char) this.bits;
+
+        return this.getAsString().charAt(0);
+    }
+
+    @Override
+    public String getAsString() {
+        return switch (this.tag) {
+            case BinaryCompoundCodec.TAG_STRING -> (String) this.reference;
+            case BinaryCompoundCodec.TAG_BYTE_ARRAY -> Base64.getEncoder().encodeToString((byte[]) this.reference);
+            case BinaryCompoundCodec.TAG_BOOLEAN -> String.valueOf(this.bits != 0);
+            case BinaryCompoundCodec.TAG_CHAR -> String.valueOf((char) this.bits);
+            case BinaryCompoundCodec.TAG_DOUBLE -> String.valueOf(Double.longBitsToDouble(this.bits));
+            default -> String.valueOf(this.bits);
+        };
+    }
+
+    @Override
+    public BinaryCompoundPrimitive clone() {
+        return this; // Immutable
+    }
+
+    @Override
+    protected long shallowSize() {
+        return switch (this.tag) {
+            case BinaryCompoundCodec.TAG_BOOLEAN -> 0; // Shared
+            case BinaryCompoundCodec.TAG_INT, BinaryCompoundCodec.TAG_BYTE -> this.isCached() ? 0 : CompoundSizes.instanceSize(1, 9);
+            case BinaryCompoundCodec.TAG_STRING -> CompoundSizes.instanceSize(1, 9) + CompoundSizes.stringSize((String) this.reference);
+            case BinaryCompoundCodec.TAG_BYTE_ARRAY -> CompoundSizes.instanceSize(1, 9) + CompoundSizes.arraySize(((byte[]) this.reference).length, 1);
+            default -> CompoundSizes.instanceSize(1, 9);
+        };
+    }
+
+    private boolean isCached() {
+        if (this.tag == BinaryCompoundCodec.TAG_BYTE)
+            return BYTE_CACHE[(int) this.bits & 0xFF] == this;
+
+        long index = this.bits - INT_CACHE_LOW;
+        return index >= 0 && index < INT_CACHE.length && INT_CACHE[(int) index] == this;
+    }
+
+    @Override
+    byte tag() {
+        return this.tag;
+    }
+
+    /**
+     * Retrieve the unboxed value of a numeric, boolean or char primitive.
+     *
+     * @return the raw bits of this primitive, doubles are stored as their raw long bits.
+     */
+    long bits() {
+        return this.bits;
+    }
+
+    /**
+     * Retrieve the stored string or byte array without any conversion or defensive copy.
+     *
+     * @return the referenced value of this primitive, or null if the value is stored unboxed.
+     */
+    Object reference() {
+        return this.reference;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+        switch (this.tag) {
+            case BinaryCompoundCodec.TAG_BOOLEAN -> writer.value(this.bits != 0);
+            case BinaryCompoundCodec.TAG_BYTE, BinaryCompoundCodec.TAG_INT, BinaryCompoundCodec.TAG_LONG -> writer.value(this.bits);
+            case BinaryCompoundCodec.TAG_DOUBLE -> writer.value(Double.longBitsToDouble(this.bits));
+            default -> writer.value(this.getAsString());
+        }
+    }
+
+    private boolean isNumber() {
+        return this.tag == BinaryCompoundCodec.TAG_BYTE || this.tag == BinaryCompoundCodec.TAG_INT
+                || this.tag == BinaryCompoundCodec.TAG_LONG || this.tag == BinaryCompoundCodec.TAG_DOUBLE;
+    }
+}
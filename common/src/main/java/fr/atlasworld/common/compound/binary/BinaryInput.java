@@ -0,0 +1,113 @@
+package fr.atlasworld.common.compound.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Source of the binary decoder.
+ */
+abstract class BinaryInput {
+
+    abstract int readByte() throws IOException;
+
+    abstract byte[] readBytes(int length) throws IOException;
+
+    final int readShort() throws IOException {
+        return (this.readByte() << 8) | this.readByte();
+    }
+
+    final int readInt() throws IOException {
+        return (this.readShort() << 16) | this.readShort();
+    }
+
+    final long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | this.readByte();
+        }
+
+        return value;
+    }
+
+    final int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = this.readByte();
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                if (value < 0)
+                    throw new IllegalArgumentException("Negative length in binary compound.");
+
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed variable-length integer in binary compound.");
+    }
+
+    final long readVarLong() throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = this.readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        throw new IllegalArgumentException("Malformed variable-length integer in binary compound.");
+    }
+
+    static final class Buffer extends BinaryInput {
+        private final ByteBuffer buffer;
+
+        Buffer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int readByte() {
+            return this.buffer.get() & 0xFF;
+        }
+
+        @Override
+        byte[] readBytes(int length) {
+            if (length > this.buffer.remaining())
+                throw new BufferUnderflowException();
+
+            byte[] bytes = new byte[length];
+            this.buffer.get(bytes);
+            return bytes;
+        }
+    }
+
+    static final class Stream extends BinaryInput {
+        private final InputStream stream;
+
+        Stream(InputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        int readByte() throws IOException {
+            int value = this.stream.read();
+            if (value < 0)
+                throw new EOFException("Unexpected end of binary compound.");
+
+            return value;
+        }
+
+        @Override
+        byte[] readBytes(int length) throws IOException {
+            byte[] bytes = this.stream.readNBytes(length);
+            if (bytes.length != length)
+                throw new EOFException("Unexpected end of binary compound.");
+
+            return bytes;
+        }
+    }
+}
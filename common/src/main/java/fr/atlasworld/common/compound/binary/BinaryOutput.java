@@ -0,0 +1,123 @@
+package fr.atlasworld.common.compound.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Destination of the binary encoder.
+ */
+abstract class BinaryOutput {
+
+    abstract void writeByte(int value) throws IOException;
+
+    abstract void writeBytes(byte[] bytes, int offset, int length) throws IOException;
+
+    final void writeBytes(byte[] bytes) throws IOException {
+        this.writeBytes(bytes, 0, bytes.length);
+    }
+
+    final void writeShort(int value) throws IOException {
+        this.writeByte(value >>> 8);
+        this.writeByte(value);
+    }
+
+    final void writeInt(int value) throws IOException {
+        this.writeShort(value >>> 16);
+        this.writeShort(value);
+    }
+
+    final void writeLong(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.writeByte((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * Write an unsigned LEB128 variable-length integer, used for lengths and sizes.
+     */
+    final void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            this.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.writeByte(value);
+    }
+
+    /**
+     * Write a zig-zag encoded variable-length integer, small negative values stay small.
+     */
+    final void writeVarLong(long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            this.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        this.writeByte((int) zigzag);
+    }
+
+    static final class Array extends BinaryOutput {
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        @Override
+        void writeByte(int value) {
+            this.ensureCapacity(1);
+            this.buffer[this.position++] = (byte) value;
+        }
+
+        @Override
+        void writeBytes(byte[] bytes, int offset, int length) {
+            this.ensureCapacity(length);
+            System.arraycopy(bytes, offset, this.buffer, this.position, length);
+            this.position += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.buffer, this.position);
+        }
+
+        private void ensureCapacity(int additional) {
+            int required = this.position + additional;
+            if (required > this.buffer.length)
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+        }
+    }
+
+    static final class Buffer extends BinaryOutput {
+        private final ByteBuffer buffer;
+
+        Buffer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        void writeByte(int value) {
+            this.buffer.put((byte) value);
+        }
+
+        @Override
+        void writeBytes(byte[] bytes, int offset, int length) {
+            this.buffer.put(bytes, offset, length);
+        }
+    }
+
+    static final class Stream extends BinaryOutput {
+        private final OutputStream stream;
+
+        Stream(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        void writeByte(int value) throws IOException {
+            this.stream.write(value);
+        }
+
+        @Override
+        void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+            this.stream.write(bytes, offset, length);
+        }
+    }
+}
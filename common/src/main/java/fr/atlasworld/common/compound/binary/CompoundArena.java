@@ -0,0 +1,127 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.CompoundElement;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arena of binary containers, recycling short-lived compounds instead of allocating new ones.
+ * <p>
+ * Objects and arrays are handed out by {@link #newObject()} and {@link #newArray()}. Containers created through their
+ * {@code addObject}, {@code addArray}, {@code setObject} and {@code setArray} builders, or decoded by
+ * {@link BinaryCompoundCodec#decode(ByteBuffer, CompoundArena)}, are allocated from the same arena.
+ * {@link #reset()} releases all of them at once: they are emptied, keeping their storage, and handed out again
+ * by later calls. Once warmed up, building and discarding compounds of a similar shape no longer allocates containers.
+ * <p>
+ * Containers of an arena must neither be used nor referenced once the arena has been reset,
+ * {@link CompoundElement#clone()} returns a regular copy that can outlive it.
+ * Arenas are not thread-safe, each one is meant to be owned by a single thread processing one message at a time.
+ */
+public final class CompoundArena {
+    static final int RETAINED_CAPACITY = 64; // Containers holding more elements drop their storage once recycled.
+
+    private static final int DEFAULT_MAX_RETAINED = 4096;
+
+    private final int maxRetained;
+    private final List<BinaryCompoundObject> objects = new ArrayList<>();
+    private final List<BinaryCompoundArray> arrays = new ArrayList<>();
+    private int usedObjects;
+    private int usedArrays;
+
+    /**
+     * Create an arena retaining up to 4096 objects and 4096 arrays between resets.
+     */
+    public CompoundArena() {
+        this(DEFAULT_MAX_RETAINED);
+    }
+
+    /**
+     * Create an arena.
+     *
+     * @param maxRetained maximum number of objects, and of arrays, kept for reuse once the arena is reset.
+     * @throws IllegalArgumentException if {@code maxRetained} is negative.
+     */
+    public CompoundArena(int maxRetained) {
+        Preconditions.checkArgument(maxRetained >= 0, "Maximum retained containers must not be negative.");
+
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * Allocate an empty object from this arena.
+     *
+     * @return empty object, valid until this arena is reset.
+     */
+    public BinaryCompoundObject newObject() {
+        if (this.usedObjects < this.objects.size())
+            return this.objects.get(this.usedObjects++);
+
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        object.arena = this;
+
+        this.objects.add(object);
+        this.usedObjects++;
+        return object;
+    }
+
+    /**
+     * Allocate an empty array from this arena.
+     *
+     * @return empty array, valid until this arena is reset.
+     */
+    public BinaryCompoundArray newArray() {
+        if (this.usedArrays < this.arrays.size())
+            return this.arrays.get(this.usedArrays++);
+
+        BinaryCompoundArray array = new BinaryCompoundArray();
+        array.arena = this;
+
+        this.arrays.add(array);
+        this.usedArrays++;
+        return array;
+    }
+
+    /**
+     * Release every container allocated since the last reset, making them available again.
+     */
+    public void reset() {
+        for (int i = 0; i < this.usedObjects; i++) {
+            this.objects.get(i).recycle();
+        }
+
+        for (int i = 0; i < this.usedArrays; i++) {
+            this.arrays.get(i).recycle();
+        }
+
+        this.usedObjects = 0;
+        this.usedArrays = 0;
+
+        // Drop the containers allocated by an unusually large message.
+        if (this.objects.size() > this.maxRetained)
+            this.objects.subList(this.maxRetained, this.objects.size()).clear();
+
+        if (this.arrays.size() > this.maxRetained)
+            this.arrays.subList(this.maxRetained, this.arrays.size()).clear();
+    }
+
+    /**
+     * Retrieve the number of containers allocated since the last reset.
+     *
+     * @return number of containers in use.
+     */
+    public int allocated() {
+        return this.usedObjects + this.usedArrays;
+    }
+
+    /**
+     * Retrieve the number of containers owned by this arena, in use or waiting to be reused.
+     *
+     * @return number of containers owned by this arena.
+     */
+    public int retained() {
+        return this.objects.size() + this.arrays.size();
+    }
+}
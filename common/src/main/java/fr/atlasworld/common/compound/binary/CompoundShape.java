@@ -0,0 +1,144 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.MapMaker;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared key layout of binary objects.
+ * <p>
+ * Shapes form a transition tree starting from {@link #ROOT}: adding a key to an object moves it to the child shape
+ * for that key, so objects built with the same keys in the same order end up sharing a single shape.
+ * A shape holds its interned keys and, past a few keys, the hash index mapping each key to its slot.
+ * Objects only keep their values, indexed by slot.
+ * <p>
+ * Children are weakly referenced and are collected once no object uses them anymore.
+ * Shapes are immutable and safe to share across threads.
+ */
+final class CompoundShape {
+    static final int INDEX_THRESHOLD = 8;
+    static final int MAX_KEYS = 64;
+    static final int MAX_TRANSITIONS = 64;
+
+    private static final Interner<String> KEYS = Interners.newWeakInterner();
+
+    static final CompoundShape ROOT = new CompoundShape(new String[0]);
+
+    final String[] keys;
+    final int[] table; // Slot + 1 for each index entry, 0 marks an empty entry. Null while the shape is small.
+
+    private volatile ConcurrentMap<String, CompoundShape> transitions;
+
+    private CompoundShape(String[] keys) {
+        this.keys = keys;
+        this.table = keys.length > INDEX_THRESHOLD ? buildTable(keys, keys.length) : null;
+    }
+
+    /**
+     * Retrieve the shape having the keys of this shape followed by the provided key.
+     *
+     * @param key key to append, must not be part of this shape.
+     * @return the child shape, or null if the shape tree is too large at this point and the object should own its keys.
+     */
+    CompoundShape with(String key) {
+        ConcurrentMap<String, CompoundShape> transitions = this.transitions();
+
+        CompoundShape child = transitions.get(key);
+        if (child != null)
+            return child;
+
+        if (this.keys.length >= MAX_KEYS || transitions.size() >= MAX_TRANSITIONS)
+            return null;
+
+        String[] keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+        keys[this.keys.length] = KEYS.intern(key);
+
+        CompoundShape created = new CompoundShape(keys);
+        CompoundShape existing = transitions.putIfAbsent(keys[this.keys.length], created);
+
+        return existing == null ? created : existing;
+    }
+
+    /**
+     * Retrieve the shape having the keys of this shape without the key at the provided slot.
+     *
+     * @param slot slot of the key to remove.
+     * @return the shape without the key, or null if the object should own its keys.
+     */
+    CompoundShape without(int slot) {
+        CompoundShape shape = ROOT;
+        for (int i = 0; i < this.keys.length && shape != null; i++) {
+            if (i != slot)
+                shape = shape.with(this.keys[i]);
+        }
+
+        return shape;
+    }
+
+    int size() {
+        return this.keys.length;
+    }
+
+    private ConcurrentMap<String, CompoundShape> transitions() {
+        ConcurrentMap<String, CompoundShape> transitions = this.transitions;
+        if (transitions != null)
+            return transitions;
+
+        synchronized (this) {
+            if (this.transitions == null)
+                this.transitions = new MapMaker().weakValues().concurrencyLevel(1).makeMap();
+
+            return this.transitions;
+        }
+    }
+
+    // Index helpers, also used by objects owning their keys.
+
+    static int indexOf(String[] keys, int size, int[] table, String key) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key))
+                    return i;
+            }
+
+            return -1;
+        }
+
+        int mask = table.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0)
+                return -1;
+
+            if (keys[entry - 1].equals(key))
+                return entry - 1;
+        }
+    }
+
+    static int[] buildTable(String[] keys, int size) {
+        int[] table = new int[Integer.highestOneBit(size * 4 - 1)]; // At most half full.
+        for (int i = 0; i < size; i++) {
+            insert(table, keys, i);
+        }
+
+        return table;
+    }
+
+    static void insert(int[] table, String[] keys, int index) {
+        int mask = table.length - 1;
+        int slot = spread(keys[index].hashCode()) & mask;
+
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = index + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,444 @@
+package fr.atlasworld.common.compound.binary;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MessagePack Compound Codec, encodes and decodes compounds using the standard
+ * <a href="https://github.com/msgpack/msgpack/blob/master/spec.md">MessagePack</a> format.
+ * <p>
+ * Unlike {@link BinaryCompoundCodec}, the format can be read and written by any MessagePack implementation:
+ * <ul>
+ *     <li>{@code null}, booleans, strings, arrays and objects use their MessagePack counterpart.</li>
+ *     <li>Integral numbers use the smallest integer family fitting the value, other numbers are {@code float 64}.</li>
+ *     <li>{@code char} values are strings of one character, byte arrays use the {@code bin} family.</li>
+ *     <li>Typed arrays are written as regular arrays of numbers.</li>
+ * </ul>
+ * Any {@link CompoundElement} can be encoded, decoding always produces a binary backed compound.
+ * Only maps keyed by strings can be decoded, extension types are not supported.
+ */
+public final class MessagePackCompoundCodec {
+    private static final int MAX_DEPTH = 512;
+
+    private MessagePackCompoundCodec() {
+    }
+
+    /**
+     * Encode a compound into a byte array.
+     *
+     * @param element element to encode.
+     * @return encoded bytes.
+     * @throws NullPointerException if {@code element} is null.
+     */
+    public static byte[] encode(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        BinaryOutput.Array output = new BinaryOutput.Array();
+        try {
+            write(output, element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory output.
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Encode a compound into a buffer, starting at the buffer's current position.
+     *
+     * @param element element to encode.
+     * @param buffer  buffer to write to.
+     * @throws NullPointerException    if {@code element} or {@code buffer} is null.
+     * @throws BufferOverflowException if there is not enough space remaining in the buffer.
+     */
+    public static void encode(@NotNull CompoundElement element, @NotNull ByteBuffer buffer) {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkNotNull(buffer);
+
+        try {
+            write(new BinaryOutput.Buffer(buffer), element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory output.
+        }
+    }
+
+    /**
+     * Encode a compound into a stream.
+     * <p>
+     * The stream is neither buffered nor closed by this method.
+     *
+     * @param element element to encode.
+     * @param stream  stream to write to.
+     * @throws IOException          if the stream could not be written to.
+     * @throws NullPointerException if {@code element} or {@code stream} is null.
+     */
+    public static void encode(@NotNull CompoundElement element, @NotNull OutputStream stream) throws IOException {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkNotNull(stream);
+
+        write(new BinaryOutput.Stream(stream), element);
+    }
+
+    /**
+     * Decode a compound from a byte array.
+     *
+     * @param bytes encoded bytes.
+     * @return the decoded compound.
+     * @throws NullPointerException     if {@code bytes} is null.
+     * @throws IllegalArgumentException if the data is not valid or not supported MessagePack.
+     * @throws BufferUnderflowException if the data is truncated.
+     */
+    public static BinaryCompoundElement decode(byte[] bytes) {
+        Preconditions.checkNotNull(bytes);
+
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decode a compound from a buffer, starting at the buffer's current position.
+     * <p>
+     * Once decoded the buffer is positioned right after the compound.
+     *
+     * @param buffer buffer to read from.
+     * @return the decoded compound.
+     * @throws NullPointerException     if {@code buffer} is null.
+     * @throws IllegalArgumentException if the data is not valid or not supported MessagePack.
+     * @throws BufferUnderflowException if the data is truncated.
+     */
+    public static BinaryCompoundElement decode(@NotNull ByteBuffer buffer) {
+        Preconditions.checkNotNull(buffer);
+
+        try {
+            return read(new BinaryInput.Buffer(buffer), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never thrown by an in-memory input.
+        }
+    }
+
+    /**
+     * Decode a compound from a stream.
+     * <p>
+     * Only the bytes of the compound are consumed, the stream is neither buffered nor closed by this method.
+     *
+     * @param stream stream to read from.
+     * @return the decoded compound.
+     * @throws IOException              if the stream could not be read, or ended before the compound was complete.
+     * @throws NullPointerException     if {@code stream} is null.
+     * @throws IllegalArgumentException if the data is not valid or not supported MessagePack.
+     */
+    public static BinaryCompoundElement decode(@NotNull InputStream stream) throws IOException {
+        Preconditions.checkNotNull(stream);
+
+        return read(new BinaryInput.Stream(stream), 0);
+    }
+
+    private static void write(BinaryOutput output, CompoundElement element) throws IOException {
+        if (element instanceof BinaryCompoundPrimitive primitive) {
+            writePrimitive(output, primitive);
+            return;
+        }
+
+        if (element.isNull()) {
+            output.writeByte(0xC0);
+            return;
+        }
+
+        if (element.isObject()) {
+            // Snapshot first, the size written must match the entries of concurrently modified objects.
+            List<Map.Entry<String, CompoundElement>> entries = List.copyOf(element.getAsObject().entrySet());
+            writeHeader(output, entries.size(), 0x80, 0xDE, 0xDF);
+
+            for (Map.Entry<String, CompoundElement> entry : entries) {
+                writeString(output, entry.getKey());
+                write(output, entry.getValue());
+            }
+            return;
+        }
+
+        if (element instanceof CompoundIntArray ints) {
+            int[] values = ints.toIntArray();
+            writeHeader(output, values.length, 0x90, 0xDC, 0xDD);
+
+            for (int value : values) {
+                writeInteger(output, value);
+            }
+            return;
+        }
+
+        if (element instanceof CompoundLongArray longs) {
+            long[] values = longs.toLongArray();
+            writeHeader(output, values.length, 0x90, 0xDC, 0xDD);
+
+            for (long value : values) {
+                writeInteger(output, value);
+            }
+            return;
+        }
+
+        if (element instanceof CompoundDoubleArray doubles) {
+            double[] values = doubles.toDoubleArray();
+            writeHeader(output, values.length, 0x90, 0xDC, 0xDD);
+
+            for (double value : values) {
+                writeDouble(output, value);
+            }
+            return;
+        }
+
+        if (element.isArray()) {
+            List<CompoundElement> children = List.copyOf(element.getAsArray().asList());
+            writeHeader(output, children.size(), 0x90, 0xDC, 0xDD);
+
+            for (CompoundElement child : children) {
+                write(output, child);
+            }
+            return;
+        }
+
+        writeForeignPrimitive(output, element.getAsPrimitive());
+    }
+
+    private static void writePrimitive(BinaryOutput output, BinaryCompoundPrimitive primitive) throws IOException {
+        byte tag = primitive.tag();
+
+        switch (tag) {
+            case BinaryCompoundCodec.TAG_BOOLEAN -> output.writeByte(primitive.bits() != 0 ? 0xC3 : 0xC2);
+            case BinaryCompoundCodec.TAG_BYTE, BinaryCompoundCodec.TAG_INT, BinaryCompoundCodec.TAG_LONG ->
+                    writeInteger(output, primitive.bits());
+            case BinaryCompoundCodec.TAG_CHAR -> writeString(output, String.valueOf((char) primitive.bits()));
+            case BinaryCompoundCodec.TAG_DOUBLE -> {
+                output.writeByte(0xCB);
+                output.writeLong(primitive.bits());
+            }
+            case BinaryCompoundCodec.TAG_STRING -> writeString(output, (String) primitive.reference());
+            case BinaryCompoundCodec.TAG_BYTE_ARRAY -> {
+                byte[] bytes = (byte[]) primitive.reference();
+                writeBinaryHeader(output, bytes.length);
+                output.writeBytes(bytes);
+            }
+            default -> throw new IllegalStateException("Unknown binary primitive tag: " + tag);
+        }
+    }
+
+    // Other backends do not expose the exact type of their primitives, integral numbers are stored as integers.
+    private static void writeForeignPrimitive(BinaryOutput output, CompoundPrimitive primitive) throws IOException {
+        if (primitive.isBoolean()) {
+            output.writeByte(primitive.getAsBoolean() ? 0xC3 : 0xC2);
+            return;
+        }
+
+        if (primitive.isString()) {
+            writeString(output, primitive.getAsString());
+            return;
+        }
+
+        if (primitive.isByteArray()) {
+            byte[] bytes = primitive.getAsByteArray();
+            writeBinaryHeader(output, bytes.length);
+            output.writeBytes(bytes);
+            return;
+        }
+
+        double doubleValue = primitive.getAsDouble();
+        long longValue = primitive.getAsLong();
+
+        if (doubleValue != longValue)
+            writeDouble(output, doubleValue);
+        else
+            writeInteger(output, longValue);
+    }
+
+    private static void writeInteger(BinaryOutput output, long value) throws IOException {
+        if (value >= 0) {
+            if (value < 0x80) {
+                output.writeByte((int) value); // positive fixint
+            } else if (value <= 0xFF) {
+                output.writeByte(0xCC);
+                output.writeByte((int) value);
+            } else if (value <= 0xFFFF) {
+                output.writeByte(0xCD);
+                output.writeShort((int) value);
+            } else if (value <= 0xFFFFFFFFL) {
+                output.writeByte(0xCE);
+                output.writeInt((int) value);
+            } else {
+                output.writeByte(0xCF);
+                output.writeLong(value);
+            }
+            return;
+        }
+
+        if (value >= -32) {
+            output.writeByte((int) value); // negative fixint
+        } else if (value >= Byte.MIN_VALUE) {
+            output.writeByte(0xD0);
+            output.writeByte((int) value);
+        } else if (value >= Short.MIN_VALUE) {
+            output.writeByte(0xD1);
+            output.writeShort((int) value);
+        } else if (value >= Integer.MIN_VALUE) {
+            output.writeByte(0xD2);
+            output.writeInt((int) value);
+        } else {
+            output.writeByte(0xD3);
+            output.writeLong(value);
+        }
+    }
+
+    private static void writeDouble(BinaryOutput output, double value) throws IOException {
+        output.writeByte(0xCB);
+        output.writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    private static void writeString(BinaryOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length < 32) {
+            output.writeByte(0xA0 | bytes.length);
+        } else if (bytes.length <= 0xFF) {
+            output.writeByte(0xD9);
+            output.writeByte(bytes.length);
+        } else if (bytes.length <= 0xFFFF) {
+            output.writeByte(0xDA);
+            output.writeShort(bytes.length);
+        } else {
+            output.writeByte(0xDB);
+            output.writeInt(bytes.length);
+        }
+
+        output.writeBytes(bytes);
+    }
+
+    private static void writeBinaryHeader(BinaryOutput output, int length) throws IOException {
+        if (length <= 0xFF) {
+            output.writeByte(0xC4);
+            output.writeByte(length);
+        } else if (length <= 0xFFFF) {
+            output.writeByte(0xC5);
+            output.writeShort(length);
+        } else {
+            output.writeByte(0xC6);
+            output.writeInt(length);
+        }
+    }
+
+    // Arrays and maps share the same header layout: a fix form holding up to 15 entries, then 16 and 32 bits sizes.
+    private static void writeHeader(BinaryOutput output, int size, int fix, int header16, int header32) throws IOException {
+        if (size < 16) {
+            output.writeByte(fix | size);
+        } else if (size <= 0xFFFF) {
+            output.writeByte(header16);
+            output.writeShort(size);
+        } else {
+            output.writeByte(header32);
+            output.writeInt(size);
+        }
+    }
+
+    private static BinaryCompoundElement read(BinaryInput input, int depth) throws IOException {
+        if (depth > MAX_DEPTH)
+            throw new IllegalArgumentException("MessagePack data is nested deeper than " + MAX_DEPTH + " levels.");
+
+        int format = input.readByte();
+
+        if (format <= 0x7F)
+            return BinaryCompoundPrimitive.of(format); // positive fixint
+
+        if (format >= 0xE0)
+            return BinaryCompoundPrimitive.of((int) (byte) format); // negative fixint
+
+        if ((format & 0xF0) == 0x80)
+            return readMap(input, format & 0x0F, depth);
+
+        if ((format & 0xF0) == 0x90)
+            return readArray(input, format & 0x0F, depth);
+
+        if ((format & 0xE0) == 0xA0)
+            return BinaryCompoundPrimitive.of(readString(input, format & 0x1F));
+
+        return switch (format) {
+            case 0xC0 -> BinaryCompoundNull.NULL;
+            case 0xC2 -> BinaryCompoundPrimitive.of(false);
+            case 0xC3 -> BinaryCompoundPrimitive.of(true);
+            case 0xC4 -> BinaryCompoundPrimitive.wrap(input.readBytes(input.readByte()));
+            case 0xC5 -> BinaryCompoundPrimitive.wrap(input.readBytes(input.readShort()));
+            case 0xC6 -> BinaryCompoundPrimitive.wrap(input.readBytes(length(input.readInt())));
+            case 0xCA -> BinaryCompoundPrimitive.of((double) Float.intBitsToFloat(input.readInt()));
+            case 0xCB -> BinaryCompoundPrimitive.of(Double.longBitsToDouble(input.readLong()));
+            case 0xCC -> BinaryCompoundPrimitive.of(input.readByte());
+            case 0xCD -> BinaryCompoundPrimitive.of(input.readShort());
+            case 0xCE -> integer(Integer.toUnsignedLong(input.readInt()));
+            case 0xCF -> {
+                long value = input.readLong();
+                yield value >= 0 ? integer(value) : BinaryCompoundPrimitive.of(unsignedToDouble(value));
+            }
+            case 0xD0 -> BinaryCompoundPrimitive.of((int) (byte) input.readByte());
+            case 0xD1 -> BinaryCompoundPrimitive.of((int) (short) input.readShort());
+            case 0xD2 -> BinaryCompoundPrimitive.of(input.readInt());
+            case 0xD3 -> integer(input.readLong());
+            case 0xD9 -> BinaryCompoundPrimitive.of(readString(input, input.readByte()));
+            case 0xDA -> BinaryCompoundPrimitive.of(readString(input, input.readShort()));
+            case 0xDB -> BinaryCompoundPrimitive.of(readString(input, length(input.readInt())));
+            case 0xDC -> readArray(input, input.readShort(), depth);
+            case 0xDD -> readArray(input, length(input.readInt()), depth);
+            case 0xDE -> readMap(input, input.readShort(), depth);
+            case 0xDF -> readMap(input, length(input.readInt()), depth);
+            case 0xC7, 0xC8, 0xC9, 0xD4, 0xD5, 0xD6, 0xD7, 0xD8 ->
+                    throw new IllegalArgumentException("MessagePack extension types are not supported.");
+            default -> throw new IllegalArgumentException("Invalid MessagePack format: 0x" + Integer.toHexString(format));
+        };
+    }
+
+    private static BinaryCompoundArray readArray(BinaryInput input, int size, int depth) throws IOException {
+        BinaryCompoundArray array = new BinaryCompoundArray(Math.min(size, 1024));
+
+        for (int i = 0; i < size; i++) {
+            array.append(read(input, depth + 1));
+        }
+
+        return array;
+    }
+
+    private static BinaryCompoundObject readMap(BinaryInput input, int size, int depth) throws IOException {
+        BinaryCompoundObject object = new BinaryCompoundObject(Math.min(size, 1024));
+
+        for (int i = 0; i < size; i++) {
+            BinaryCompoundElement key = read(input, depth + 1);
+            if (!(key instanceof BinaryCompoundPrimitive primitive) || primitive.tag() != BinaryCompoundCodec.TAG_STRING)
+                throw new IllegalArgumentException("Only MessagePack maps keyed by strings are supported, got: " + key);
+
+            object.put((String) primitive.reference(), read(input, depth + 1));
+        }
+
+        return object;
+    }
+
+    private static String readString(BinaryInput input, int length) throws IOException {
+        return new String(input.readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static BinaryCompoundPrimitive integer(long value) {
+        return value == (int) value ? BinaryCompoundPrimitive.of((int) value) : BinaryCompoundPrimitive.of(value);
+    }
+
+    // uint 64 values above Long.MAX_VALUE cannot be held by a long.
+    private static double unsignedToDouble(long value) {
+        return (double) (value >>> 1) * 2.0 + (value & 1);
+    }
+
+    private static int length(int length) {
+        if (length < 0)
+            throw new IllegalArgumentException("MessagePack value is larger than 2 GB.");
+
+        return length;
+    }
+}
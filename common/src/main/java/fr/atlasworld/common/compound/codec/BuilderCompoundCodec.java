@@ -0,0 +1,152 @@
+package fr.atlasworld.common.compound.codec;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.annotation.OptionalBuilderArgument;
+import fr.atlasworld.common.annotation.RequiredBuilderArgument;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec of a type built through a builder.
+ * <p>
+ * The type must declare a public static {@code builder()} method, whose builder declares a public {@code build()} method.
+ * Every builder method annotated with {@link RequiredBuilderArgument} or {@link OptionalBuilderArgument}
+ * is a property, named after the method without its {@code set} or {@code with} prefix.
+ * Properties are read back from the built type through a {@code name()}, {@code getName()} or {@code isName()} method.
+ *
+ * @param <T> type built by the builder.
+ */
+final class BuilderCompoundCodec<T> implements CompoundCodec<T> {
+    private final Class<T> type;
+    private final MethodHandle builder;
+    private final MethodHandle build;
+    private final Property[] properties;
+
+    BuilderCompoundCodec(Class<T> type, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        this.type = type;
+
+        Method builderMethod = type.getMethod("builder");
+        Method buildMethod = builderMethod.getReturnType().getMethod("build");
+
+        this.builder = lookup.unreflect(builderMethod).asType(MethodType.methodType(Object.class));
+        this.build = lookup.unreflect(buildMethod).asType(MethodType.methodType(Object.class, Object.class));
+
+        List<Property> properties = new ArrayList<>();
+        for (Method setter : builderMethod.getReturnType().getMethods()) {
+            boolean required = setter.isAnnotationPresent(RequiredBuilderArgument.class);
+            if ((!required && !setter.isAnnotationPresent(OptionalBuilderArgument.class)) || setter.getParameterCount() != 1)
+                continue;
+
+            String name = propertyName(setter.getName());
+            Method getter = findGetter(type, name);
+
+            properties.add(new Property(
+                    name,
+                    required,
+                    lookup.unreflect(setter).asType(MethodType.methodType(void.class, Object.class, Object.class)),
+                    lookup.unreflect(getter).asType(MethodType.methodType(Object.class, Object.class)),
+                    ValueCodecs.resolve(setter.getGenericParameterTypes()[0], lookup)
+            ));
+        }
+
+        this.properties = properties.toArray(Property[]::new);
+    }
+
+    /**
+     * Checks whether a type can be handled by this codec.
+     *
+     * @param type type to check.
+     * @return true if the type declares a static {@code builder()} method with a matching {@code build()} method.
+     */
+    static boolean isBuilderType(Class<?> type) {
+        try {
+            Method builderMethod = type.getMethod("builder");
+            if (!Modifier.isStatic(builderMethod.getModifiers()))
+                return false;
+
+            return type.isAssignableFrom(builderMethod.getReturnType().getMethod("build").getReturnType());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void encode(@NotNull T value, @NotNull CompoundObject target) {
+        Preconditions.checkNotNull(value);
+        Preconditions.checkNotNull(target);
+
+        for (Property property : this.properties) {
+            Object propertyValue;
+            try {
+                propertyValue = (Object) property.getter.invokeExact((Object) value);
+            } catch (Throwable e) {
+                throw CompoundCodecs.rethrow(e, "Could not read property '" + property.name + "' of " + this.type.getName());
+            }
+
+            if (propertyValue != null)
+                property.codec.put(target, property.name, propertyValue);
+        }
+    }
+
+    @Override
+    public T decode(@NotNull CompoundObject source) {
+        Preconditions.checkNotNull(source);
+
+        try {
+            Object builder = (Object) this.builder.invokeExact();
+
+            for (Property property : this.properties) {
+                CompoundElement element = source.has(property.name) ? source.get(property.name) : null;
+
+                if (element == null || element.isNull()) {
+                    Preconditions.checkArgument(!property.required, "Missing required entry '%s' for %s", property.name, this.type.getName());
+                    continue;
+                }
+
+                property.setter.invokeExact(builder, property.codec.read(element));
+            }
+
+            return this.type.cast((Object) this.build.invokeExact(builder));
+        } catch (Throwable e) {
+            throw CompoundCodecs.rethrow(e, "Could not build " + this.type.getName());
+        }
+    }
+
+    private static String propertyName(String methodName) {
+        for (String prefix : new String[]{"set", "with"}) {
+            if (methodName.length() > prefix.length() && methodName.startsWith(prefix)
+                    && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                return Character.toLowerCase(methodName.charAt(prefix.length())) + methodName.substring(prefix.length() + 1);
+            }
+        }
+
+        return methodName;
+    }
+
+    private static Method findGetter(Class<?> type, String name) throws NoSuchMethodException {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        for (String candidate : new String[]{name, "get" + capitalized, "is" + capitalized}) {
+            try {
+                Method getter = type.getMethod(candidate);
+                if (getter.getReturnType() != void.class && !Modifier.isStatic(getter.getModifiers()))
+                    return getter;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+
+        throw new NoSuchMethodException("No getter found for property '" + name + "' in " + type.getName());
+    }
+
+    private record Property(String name, boolean required, MethodHandle setter, MethodHandle getter, ValueCodec codec) {
+    }
+}
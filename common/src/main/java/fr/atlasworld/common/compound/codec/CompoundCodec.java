@@ -0,0 +1,47 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.codec;
+
+import fr.atlasworld.common.compound.CompoundObject;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Compound Codec, maps objects of a given type to and from compounds.
+ * <p>
+ * Codecs work directly against the compound interfaces, they are therefore compatible with every backend.
+ *
+ * @param <T> type of the objects handled by this codec.
+ * @see CompoundCodecs
+ */
+public interface CompoundCodec<T> {
+
+    /**
+     * Encode an object into a compound.
+     * <p>
+     * Every property of the object is added as an entry of {@code target},
+     * nested objects are created through {@code target} and therefore use the same backend.
+     *
+     * @param value  object to encode.
+     * @param target compound to encode the object into.
+     * @throws NullPointerException if {@code value} or {@code target} is null.
+     */
+    void encode(@NotNull T value, @NotNull CompoundObject target);
+
+    /**
+     * Decode an object from a compound.
+     *
+     * @param source compound to decode the object from.
+     * @return the decoded object.
+     * @throws NullPointerException     if {@code source} is null.
+     * @throws IllegalArgumentException if a required entry is missing from {@code source}.
+     * @throws IllegalStateException    if an entry of {@code source} does not have the expected type.
+     */
+    T decode(@NotNull CompoundObject source);
+}
@@ -0,0 +1,99 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.codec;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Compound Codecs, generates the {@link CompoundCodec} of records and builder types.
+ * <p>
+ * Types are only inspected once when their codec is generated, encoding and decoding then go through
+ * pre-bound {@link java.lang.invoke.MethodHandle}s without any reflective call or intermediate tree.
+ * <p>
+ * Supported property types are primitives and their wrappers, strings, byte arrays, {@link java.util.Date}s,
+ * {@link java.util.UUID}s, enums, compound elements, nested records and builder types,
+ * as well as lists, sets and string keyed maps of any of those.
+ */
+public final class CompoundCodecs {
+    private static final ClassValue<CompoundCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected CompoundCodec<?> computeValue(@NotNull Class<?> type) {
+            return create(type, MethodHandles.publicLookup());
+        }
+    };
+
+    private CompoundCodecs() {
+    }
+
+    /**
+     * Retrieve the codec of a public type, codecs are generated once and cached.
+     *
+     * @param type record or builder type.
+     * @param <T>  type handled by the codec.
+     * @return the codec of the type.
+     * @throws NullPointerException     if {@code type} is null.
+     * @throws IllegalArgumentException if the type is neither a record nor a builder type, or has an unsupported property.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompoundCodec<T> of(@NotNull Class<T> type) {
+        Preconditions.checkNotNull(type);
+
+        return (CompoundCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Generate the codec of a type using the provided lookup, allows generating codecs of non-public types.
+     * <p>
+     * Codecs generated with a custom lookup are not cached, the caller should keep the returned codec.
+     *
+     * @param type   record or builder type.
+     * @param lookup lookup having access to the type and its members, usually {@code MethodHandles.lookup()}.
+     * @param <T>    type handled by the codec.
+     * @return the codec of the type.
+     * @throws NullPointerException     if {@code type} or {@code lookup} is null.
+     * @throws IllegalArgumentException if the type is neither a record nor a builder type, or has an unsupported property.
+     */
+    public static <T> CompoundCodec<T> of(@NotNull Class<T> type, @NotNull MethodHandles.Lookup lookup) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(lookup);
+
+        if (lookup == MethodHandles.publicLookup())
+            return of(type);
+
+        return create(type, lookup);
+    }
+
+    private static <T> CompoundCodec<T> create(Class<T> type, MethodHandles.Lookup lookup) {
+        try {
+            if (type.isRecord())
+                return new RecordCompoundCodec<>(type, lookup);
+
+            if (BuilderCompoundCodec.isBuilderType(type))
+                return new BuilderCompoundCodec<>(type, lookup);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Could not generate codec for " + type.getName(), e);
+        }
+
+        throw new IllegalArgumentException("Type is neither a record nor a builder type: " + type.getName());
+    }
+
+    static RuntimeException rethrow(Throwable throwable, String message) {
+        if (throwable instanceof RuntimeException exception)
+            return exception;
+
+        if (throwable instanceof Error error)
+            throw error;
+
+        return new IllegalStateException(message, throwable);
+    }
+}
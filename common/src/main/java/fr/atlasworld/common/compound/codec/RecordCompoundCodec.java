@@ -0,0 +1,96 @@
+package fr.atlasworld.common.compound.codec;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Codec of a record, every component is mapped to an entry of the same name.
+ * <p>
+ * Missing entries decode to null for reference components, and are rejected for primitive components.
+ *
+ * @param <T> type of the record.
+ */
+final class RecordCompoundCodec<T> implements CompoundCodec<T> {
+    private final Class<T> type;
+    private final String[] names;
+    private final boolean[] primitives;
+    private final MethodHandle[] accessors;
+    private final ValueCodec[] codecs;
+    private final MethodHandle constructor;
+
+    RecordCompoundCodec(Class<T> type, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        this.type = type;
+
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+
+        this.names = new String[components.length];
+        this.primitives = new boolean[components.length];
+        this.accessors = new MethodHandle[components.length];
+        this.codecs = new ValueCodec[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+
+            this.names[i] = component.getName();
+            this.primitives[i] = component.getType().isPrimitive();
+            this.accessors[i] = lookup.unreflect(component.getAccessor())
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            this.codecs[i] = ValueCodecs.resolve(component.getGenericType(), lookup);
+
+            parameterTypes[i] = component.getType();
+        }
+
+        this.constructor = lookup.unreflectConstructor(type.getDeclaredConstructor(parameterTypes))
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    @Override
+    public void encode(@NotNull T value, @NotNull CompoundObject target) {
+        Preconditions.checkNotNull(value);
+        Preconditions.checkNotNull(target);
+
+        for (int i = 0; i < this.names.length; i++) {
+            Object property;
+            try {
+                property = (Object) this.accessors[i].invokeExact((Object) value);
+            } catch (Throwable e) {
+                throw CompoundCodecs.rethrow(e, "Could not read record component '" + this.names[i] + "' of " + this.type.getName());
+            }
+
+            if (property != null)
+                this.codecs[i].put(target, this.names[i], property);
+        }
+    }
+
+    @Override
+    public T decode(@NotNull CompoundObject source) {
+        Preconditions.checkNotNull(source);
+
+        Object[] arguments = new Object[this.names.length];
+        for (int i = 0; i < this.names.length; i++) {
+            CompoundElement element = source.has(this.names[i]) ? source.get(this.names[i]) : null;
+
+            if (element == null || element.isNull()) {
+                Preconditions.checkArgument(!this.primitives[i], "Missing required entry '%s' for %s", this.names[i], this.type.getName());
+                continue;
+            }
+
+            arguments[i] = this.codecs[i].read(element);
+        }
+
+        try {
+            return this.type.cast((Object) this.constructor.invokeExact(arguments));
+        } catch (Throwable e) {
+            throw CompoundCodecs.rethrow(e, "Could not create record " + this.type.getName());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package fr.atlasworld.common.compound.codec;
+
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+
+/**
+ * Maps a single property value to and from a compound element.
+ */
+interface ValueCodec {
+
+    /**
+     * Add a value as an entry of an object.
+     */
+    void put(CompoundObject object, String key, Object value);
+
+    /**
+     * Append a value to an array.
+     */
+    void add(CompoundArray array, Object value);
+
+    /**
+     * Read a value from a non-null element.
+     */
+    Object read(CompoundElement element);
+}
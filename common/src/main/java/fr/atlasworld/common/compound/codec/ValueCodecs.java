@@ -0,0 +1,231 @@
+package fr.atlasworld.common.compound.codec;
+
+import fr.atlasworld.common.compound.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Resolves the {@link ValueCodec} of property types.
+ */
+final class ValueCodecs {
+    private static final Map<Class<?>, ValueCodec> SCALARS = new HashMap<>();
+
+    static {
+        ValueCodec booleans = scalar((o, k, v) -> o.add(k, (boolean) v), (a, v) -> a.add((boolean) v), CompoundElement::getAsBoolean);
+        ValueCodec bytes = scalar((o, k, v) -> o.add(k, (byte) v), (a, v) -> a.add((byte) v), CompoundElement::getAsByte);
+        ValueCodec shorts = scalar((o, k, v) -> o.add(k, (int) (short) v), (a, v) -> a.add((int) (short) v), e -> (short) e.getAsInt());
+        ValueCodec ints = scalar((o, k, v) -> o.add(k, (int) v), (a, v) -> a.add((int) v), CompoundElement::getAsInt);
+        ValueCodec longs = scalar((o, k, v) -> o.add(k, (long) v), (a, v) -> a.add((long) v), CompoundElement::getAsLong);
+        ValueCodec floats = scalar((o, k, v) -> o.add(k, (double) (float) v), (a, v) -> a.add((double) (float) v), e -> (float) e.getAsDouble());
+        ValueCodec doubles = scalar((o, k, v) -> o.add(k, (double) v), (a, v) -> a.add((double) v), CompoundElement::getAsDouble);
+        ValueCodec chars = scalar((o, k, v) -> o.add(k, (char) v), (a, v) -> a.add((char) v), CompoundElement::getAsChar);
+
+        register(booleans, boolean.class, Boolean.class);
+        register(bytes, byte.class, Byte.class);
+        register(shorts, short.class, Short.class);
+        register(ints, int.class, Integer.class);
+        register(longs, long.class, Long.class);
+        register(floats, float.class, Float.class);
+        register(doubles, double.class, Double.class);
+        register(chars, char.class, Character.class);
+
+        register(scalar((o, k, v) -> o.add(k, (String) v), (a, v) -> a.add((String) v), CompoundElement::getAsString), String.class);
+        register(scalar((o, k, v) -> o.add(k, (byte[]) v), (a, v) -> a.add((byte[]) v), CompoundElement::getAsByteArray), byte[].class);
+        register(scalar((o, k, v) -> o.add(k, ((Date) v).getTime()), (a, v) -> a.add(((Date) v).getTime()), CompoundElement::getAsDate), Date.class);
+        register(scalar((o, k, v) -> o.add(k, v.toString()), (a, v) -> a.add(v.toString()), e -> UUID.fromString(e.getAsString())), UUID.class);
+
+        register(element(e -> e), CompoundElement.class);
+        register(element(CompoundElement::getAsObject), CompoundObject.class);
+        register(element(CompoundElement::getAsArray), CompoundArray.class);
+        register(element(CompoundElement::getAsPrimitive), CompoundPrimitive.class);
+    }
+
+    private ValueCodecs() {
+    }
+
+    /**
+     * Resolve the codec of a property type.
+     *
+     * @param type   generic type of the property.
+     * @param lookup lookup used to generate the codecs of nested types.
+     * @return codec of the type.
+     * @throws IllegalArgumentException if the type is not supported.
+     */
+    static ValueCodec resolve(Type type, MethodHandles.Lookup lookup) {
+        if (type instanceof Class<?> clazz) {
+            ValueCodec scalar = SCALARS.get(clazz);
+            if (scalar != null)
+                return scalar;
+
+            if (clazz.isEnum())
+                return enumeration(clazz);
+
+            if (clazz.isRecord() || BuilderCompoundCodec.isBuilderType(clazz))
+                return nested(clazz, lookup);
+        }
+
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+
+            if (raw == List.class || raw == Collection.class || raw == Iterable.class)
+                return list(resolve(upperBound(arguments[0]), lookup), ArrayList::new);
+
+            if (raw == Set.class)
+                return list(resolve(upperBound(arguments[0]), lookup), LinkedHashSet::new);
+
+            if (raw == Map.class && arguments[0] == String.class)
+                return map(resolve(upperBound(arguments[1]), lookup));
+        }
+
+        throw new IllegalArgumentException("Unsupported property type: " + type.getTypeName());
+    }
+
+    private static void register(ValueCodec codec, Class<?>... types) {
+        for (Class<?> type : types) {
+            SCALARS.put(type, codec);
+        }
+    }
+
+    private static Type upperBound(Type type) {
+        return type instanceof WildcardType wildcard ? wildcard.getUpperBounds()[0] : type;
+    }
+
+    private static ValueCodec scalar(ObjectWriter put, BiConsumer<CompoundArray, Object> add, Function<CompoundElement, Object> read) {
+        return new ValueCodec() {
+            @Override
+            public void put(CompoundObject object, String key, Object value) {
+                put.write(object, key, value);
+            }
+
+            @Override
+            public void add(CompoundArray array, Object value) {
+                add.accept(array, value);
+            }
+
+            @Override
+            public Object read(CompoundElement element) {
+                return read.apply(element);
+            }
+        };
+    }
+
+    private static ValueCodec element(Function<CompoundElement, Object> read) {
+        return scalar((o, k, v) -> o.add(k, (CompoundElement) v), (a, v) -> a.add((CompoundElement) v), read);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueCodec enumeration(Class<?> type) {
+        Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+        return scalar((o, k, v) -> o.add(k, ((Enum<?>) v).name()), (a, v) -> a.add(((Enum<?>) v).name()),
+                e -> Enum.valueOf(enumType, e.getAsString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueCodec nested(Class<?> type, MethodHandles.Lookup lookup) {
+        // Resolved on first use, allows recursive types.
+        return new ValueCodec() {
+            private CompoundCodec<Object> codec;
+
+            @Override
+            public void put(CompoundObject object, String key, Object value) {
+                object.addObject(key, child -> this.codec().encode(value, child));
+            }
+
+            @Override
+            public void add(CompoundArray array, Object value) {
+                array.addObject(child -> this.codec().encode(value, child));
+            }
+
+            @Override
+            public Object read(CompoundElement element) {
+                return this.codec().decode(element.getAsObject());
+            }
+
+            private CompoundCodec<Object> codec() {
+                if (this.codec == null)
+                    this.codec = (CompoundCodec<Object>) CompoundCodecs.of(type, lookup);
+
+                return this.codec;
+            }
+        };
+    }
+
+    private static ValueCodec list(ValueCodec elementCodec, Function<Integer, Collection<Object>> factory) {
+        return new ValueCodec() {
+            @Override
+            public void put(CompoundObject object, String key, Object value) {
+                object.addArray(key, array -> this.write(array, (Iterable<?>) value));
+            }
+
+            @Override
+            public void add(CompoundArray array, Object value) {
+                array.addArray(nested -> this.write(nested, (Iterable<?>) value));
+            }
+
+            @Override
+            public Object read(CompoundElement element) {
+                CompoundArray array = element.getAsArray();
+                Collection<Object> collection = factory.apply(array.size());
+
+                for (CompoundElement child : array) {
+                    collection.add(child.isNull() ? null : elementCodec.read(child));
+                }
+
+                return collection;
+            }
+
+            private void write(CompoundArray array, Iterable<?> values) {
+                for (Object value : values) {
+                    if (value == null)
+                        throw new IllegalArgumentException("Null elements cannot be encoded in a compound array.");
+
+                    elementCodec.add(array, value);
+                }
+            }
+        };
+    }
+
+    private static ValueCodec map(ValueCodec valueCodec) {
+        return new ValueCodec() {
+            @Override
+            public void put(CompoundObject object, String key, Object value) {
+                object.addObject(key, nested -> this.write(nested, (Map<?, ?>) value));
+            }
+
+            @Override
+            public void add(CompoundArray array, Object value) {
+                array.addObject(nested -> this.write(nested, (Map<?, ?>) value));
+            }
+
+            @Override
+            public Object read(CompoundElement element) {
+                CompoundObject object = element.getAsObject();
+                Map<String, Object> map = new LinkedHashMap<>();
+
+                for (Map.Entry<String, CompoundElement> entry : object.entrySet()) {
+                    map.put(entry.getKey(), entry.getValue().isNull() ? null : valueCodec.read(entry.getValue()));
+                }
+
+                return map;
+            }
+
+            private void write(CompoundObject object, Map<?, ?> values) {
+                values.forEach((key, value) -> {
+                    if (value != null)
+                        valueCodec.put(object, (String) key, value);
+                });
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface ObjectWriter {
+        void write(CompoundObject object, String key, Object value);
+    }
+}
@@ -0,0 +1,428 @@
+package fr.atlasworld.common.compound.concurrent;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent Compound Array, a thread-safe array that can be shared and modified by multiple threads.
+ * <p>
+ * Reads never lock, they go through an immutable snapshot of the array published on every structural change.
+ * Writes are serialized through a lock: appends fill the spare capacity of the current storage and publish a new
+ * snapshot, so a single append or {@link #addAll(CompoundArray)} is atomic, while removals copy the storage.
+ * Iteration is weakly consistent, it walks the snapshot taken when the iteration started and never throws
+ * a {@link java.util.ConcurrentModificationException}.
+ * <p>
+ * Nested objects and arrays created through this array are concurrent as well,
+ * other containers added to it are copied into concurrent containers.
+ */
+public final class ConcurrentCompoundArray extends AbstractCompoundElement implements CompoundArray {
+    private static final Snapshot EMPTY = new Snapshot(new AtomicReferenceArray<>(0), 0);
+
+    private final ReentrantLock lock;
+    private volatile Snapshot snapshot;
+
+    public ConcurrentCompoundArray() {
+        this.lock = new ReentrantLock();
+        this.snapshot = EMPTY;
+    }
+
+    /**
+     * Create a concurrent copy of an array, nested objects and arrays are copied as well.
+     *
+     * @param array array to copy.
+     * @return the concurrent copy.
+     * @throws NullPointerException if {@code array} is null.
+     */
+    public static ConcurrentCompoundArray copyOf(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        Snapshot source = array instanceof ConcurrentCompoundArray concurrent ? concurrent.snapshot : null;
+        int size = source != null ? source.size : array.size();
+
+        AtomicReferenceArray<CompoundElement> elements = new AtomicReferenceArray<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.set(i, ConcurrentCompounds.copy(source != null ? source.elements.get(i) : array.get(i)));
+        }
+
+        ConcurrentCompoundArray copy = new ConcurrentCompoundArray();
+        copy.snapshot = new Snapshot(elements, size);
+        return copy;
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(builder);
+
+        ConcurrentCompoundObject object = new ConcurrentCompoundObject();
+        builder.accept(object);
+
+        return this.append(object);
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        Preconditions.checkNotNull(builder);
+
+        ConcurrentCompoundArray array = new ConcurrentCompoundArray();
+        builder.accept(array);
+
+        return this.append(array);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        Preconditions.checkNotNull(value);
+
+        return this.append(ConcurrentCompounds.adopt(value));
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        return this.append(BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        CompoundElement[] added = new CompoundElement[array.size()];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = ConcurrentCompounds.adopt(array.get(i));
+        }
+
+        this.lock.lock();
+        try {
+            Snapshot current = this.snapshot;
+            AtomicReferenceArray<CompoundElement> elements = ensureCapacity(current, current.size + added.length);
+
+            for (int i = 0; i < added.length; i++) {
+                elements.set(current.size + i, added[i]);
+            }
+
+            this.snapshot = new Snapshot(elements, current.size + added.length);
+        } finally {
+            this.lock.unlock();
+        }
+
+        return this;
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(builder);
+
+        ConcurrentCompoundObject object = new ConcurrentCompoundObject();
+        builder.accept(object);
+
+        return this.replace(index, object);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        Preconditions.checkNotNull(builder);
+
+        ConcurrentCompoundArray array = new ConcurrentCompoundArray();
+        builder.accept(array);
+
+        return this.replace(index, array);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        return this.replace(index, ConcurrentCompounds.adopt(element));
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        return this.replace(index, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        this.lock.lock();
+        try {
+            int index = indexOf(this.snapshot, element);
+            if (index < 0)
+                return false;
+
+            this.removeAt(index);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        this.lock.lock();
+        try {
+            return this.removeAt(index);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        return indexOf(this.snapshot, element) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.snapshot.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.snapshot.size == 0;
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        Snapshot current = this.snapshot;
+        Preconditions.checkElementIndex(index, current.size);
+
+        return current.elements.get(index);
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new ListView();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.snapshot.iterator();
+    }
+
+    @Override
+    public String toJson() {
+        return ConcurrentCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        // The array, its lock and sync, the current snapshot and its storage.
+        Snapshot current = this.snapshot;
+        return CompoundSizes.instanceSize(2, 0) + CompoundSizes.instanceSize(1, 0) + CompoundSizes.instanceSize(3, 4)
+                + CompoundSizes.instanceSize(1, 4) + CompoundSizes.instanceSize(1, 0)
+                + CompoundSizes.arraySize(current.elements.length(), CompoundSizes.REFERENCE);
+    }
+
+    @Override
+    public ConcurrentCompoundArray clone() {
+        return copyOf(this);
+    }
+
+    private ConcurrentCompoundArray append(CompoundElement element) {
+        this.lock.lock();
+        try {
+            Snapshot current = this.snapshot;
+            AtomicReferenceArray<CompoundElement> elements = ensureCapacity(current, current.size + 1);
+
+            elements.set(current.size, element);
+            this.snapshot = new Snapshot(elements, current.size + 1);
+        } finally {
+            this.lock.unlock();
+        }
+
+        return this;
+    }
+
+    private CompoundElement replace(int index, CompoundElement element) {
+        this.lock.lock();
+        try {
+            Snapshot current = this.snapshot;
+            Preconditions.checkElementIndex(index, current.size);
+
+            return current.elements.getAndSet(index, element);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock.
+    private CompoundElement removeAt(int index) {
+        Snapshot current = this.snapshot;
+        Preconditions.checkElementIndex(index, current.size);
+
+        // Copy, readers may still be walking the current storage.
+        AtomicReferenceArray<CompoundElement> elements = new AtomicReferenceArray<>(current.elements.length());
+        for (int i = 0, j = 0; i < current.size; i++) {
+            if (i != index)
+                elements.set(j++, current.elements.get(i));
+        }
+
+        this.snapshot = new Snapshot(elements, current.size - 1);
+        return current.elements.get(index);
+    }
+
+    private static AtomicReferenceArray<CompoundElement> ensureCapacity(Snapshot snapshot, int capacity) {
+        if (capacity <= snapshot.elements.length())
+            return snapshot.elements;
+
+        AtomicReferenceArray<CompoundElement> elements = new AtomicReferenceArray<>(
+                Math.max(capacity, Math.max(8, snapshot.elements.length() + (snapshot.elements.length() >> 1))));
+
+        for (int i = 0; i < snapshot.size; i++) {
+            elements.set(i, snapshot.elements.get(i));
+        }
+
+        return elements;
+    }
+
+    private static int indexOf(Snapshot snapshot, CompoundElement element) {
+        for (int i = 0; i < snapshot.size; i++) {
+            if (snapshot.elements.get(i).equals(element))
+                return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Published state of the array, the storage may hold more elements than the snapshot's size,
+     * those were appended after the snapshot was taken.
+     */
+    private record Snapshot(AtomicReferenceArray<CompoundElement> elements, int size) {
+
+        Iterator<CompoundElement> iterator() {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < Snapshot.this.size;
+                }
+
+                @Override
+                public CompoundElement next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+
+                    return Snapshot.this.elements.get(this.index++);
+                }
+            };
+        }
+    }
+
+    /**
+     * Live, unmodifiable list view of this array.
+     */
+    private final class ListView extends AbstractList<CompoundElement> implements RandomAccess {
+
+        @Override
+        public CompoundElement get(int index) {
+            return ConcurrentCompoundArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentCompoundArray.this.size();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<CompoundElement> iterator() {
+            return ConcurrentCompoundArray.this.iterator();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package fr.atlasworld.common.compound.concurrent;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.binary.BinaryCompoundNull;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent Compound Object, a thread-safe object that can be shared and modified by multiple threads without locking.
+ * <p>
+ * Entries are stored in a {@link ConcurrentHashMap}: reads never lock and writes only contend on the same bin,
+ * iteration is weakly consistent and never throws a {@link java.util.ConcurrentModificationException}.
+ * Entries are not kept in insertion order.
+ * <p>
+ * Nested objects and arrays created through this object are concurrent as well,
+ * other containers added to it are copied into concurrent containers.
+ */
+public final class ConcurrentCompoundObject extends AbstractCompoundElement implements CompoundObject {
+    private final ConcurrentHashMap<String, CompoundElement> entries;
+
+    public ConcurrentCompoundObject() {
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    private ConcurrentCompoundObject(int expectedSize) {
+        this.entries = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    /**
+     * Create a concurrent copy of an object, nested objects and arrays are copied as well.
+     *
+     * @param object object to copy.
+     * @return the concurrent copy.
+     * @throws NullPointerException if {@code object} is null.
+     */
+    public static ConcurrentCompoundObject copyOf(@NotNull CompoundObject object) {
+        Preconditions.checkNotNull(object);
+
+        ConcurrentCompoundObject copy = new ConcurrentCompoundObject(object.size());
+        for (Map.Entry<String, CompoundElement> entry : object.entrySet()) {
+            copy.entries.put(entry.getKey(), ConcurrentCompounds.copy(entry.getValue()));
+        }
+
+        return copy;
+    }
+
+    /**
+     * Atomically add an entry if the key is not already present.
+     *
+     * @param key   key of the entry.
+     * @param value value of the entry, non-concurrent containers are copied.
+     * @return the value already associated with the key, or null if the entry was added.
+     * @throws NullPointerException if {@code key} or {@code value} is null.
+     */
+    public CompoundElement addIfAbsent(@NotNull String key, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+
+        return this.entries.putIfAbsent(key, ConcurrentCompounds.adopt(value));
+    }
+
+    /**
+     * Atomically replace the value of an entry, only if it still is the expected instance.
+     *
+     * @param key      key of the entry.
+     * @param expected value instance expected to be currently associated with the key.
+     * @param value    new value of the entry, non-concurrent containers are copied.
+     * @return true if the value was replaced.
+     * @throws NullPointerException if {@code key}, {@code expected} or {@code value} is null.
+     */
+    public boolean replace(@NotNull String key, @NotNull CompoundElement expected, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(expected);
+        Preconditions.checkNotNull(value);
+
+        CompoundElement adopted = ConcurrentCompounds.adopt(value);
+        boolean[] replaced = new boolean[1];
+
+        // Compare by identity, ConcurrentHashMap#replace compares with the structural equals.
+        this.entries.computeIfPresent(key, (entryKey, current) -> {
+            if (current != expected)
+                return current;
+
+            replaced[0] = true;
+            return adopted;
+        });
+
+        return replaced[0];
+    }
+
+    @Override
+    public boolean isObject() {
+        return true;
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        return this;
+    }
+
+    @Override
+    public CompoundElement remove(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        CompoundElement removed = this.entries.remove(key);
+        return removed == null ? BinaryCompoundNull.NULL : removed;
+    }
+
+    @Override
+    public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(builder);
+
+        ConcurrentCompoundObject object = new ConcurrentCompoundObject();
+        builder.accept(object);
+
+        return this.put(key, object);
+    }
+
+    @Override
+    public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(builder);
+
+        ConcurrentCompoundArray array = new ConcurrentCompoundArray();
+        builder.accept(array);
+
+        return this.put(key, array);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(value);
+
+        return this.put(key, ConcurrentCompounds.adopt(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, boolean value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, double value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, long value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, int value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte[] value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, char value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull String value) {
+        return this.put(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    @Override
+    public Set<Map.Entry<String, CompoundElement>> entrySet() {
+        return this.asMap().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        return this.entries.containsKey(key);
+    }
+
+    @Override
+    public CompoundElement get(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        CompoundElement element = this.entries.get(key);
+        return element == null ? BinaryCompoundNull.NULL : element;
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+        return this.get(key).getAsPrimitive();
+    }
+
+    @Override
+    public CompoundArray getAsArray(@NotNull String key) {
+        return this.get(key).getAsArray();
+    }
+
+    @Override
+    public CompoundObject getAsObject(@NotNull String key) {
+        return this.get(key).getAsObject();
+    }
+
+    @Override
+    public Map<String, CompoundElement> asMap() {
+        return Collections.unmodifiableMap(this.entries);
+    }
+
+    @Override
+    public String toJson() {
+        return ConcurrentCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        // The map, its table sized for the default load factor and one node per entry.
+        long size = CompoundSizes.instanceSize(1, 0) + CompoundSizes.instanceSize(6, 16)
+                + CompoundSizes.arraySize(Integer.highestOneBit(Math.max(1, this.entries.size() * 4 / 3)) * 2, CompoundSizes.REFERENCE);
+
+        for (String key : this.entries.keySet()) {
+            size += CompoundSizes.instanceSize(3, 4) + CompoundSizes.stringSize(key);
+        }
+
+        return size;
+    }
+
+    @Override
+    public ConcurrentCompoundObject clone() {
+        return copyOf(this);
+    }
+
+    private ConcurrentCompoundObject put(String key, CompoundElement value) {
+        Preconditions.checkNotNull(key);
+
+        this.entries.put(key, value);
+        return this;
+    }
+}
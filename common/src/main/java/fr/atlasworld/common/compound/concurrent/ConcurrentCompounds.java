@@ -0,0 +1,69 @@
+package fr.atlasworld.common.compound.concurrent;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Internal helpers shared by the concurrent compounds.
+ */
+final class ConcurrentCompounds {
+    private ConcurrentCompounds() {
+    }
+
+    /**
+     * Convert an element into an element that can be stored in a concurrent compound.
+     * <p>
+     * Primitives, nulls and concurrent containers are stored as is, other containers are copied into concurrent containers.
+     *
+     * @param element element to convert.
+     * @return the element to store.
+     */
+    static CompoundElement adopt(CompoundElement element) {
+        if (element instanceof ConcurrentCompoundObject || element instanceof ConcurrentCompoundArray)
+            return element;
+
+        if (element.isObject())
+            return ConcurrentCompoundObject.copyOf(element.getAsObject());
+
+        if (element.isArray())
+            return ConcurrentCompoundArray.copyOf(element.getAsArray());
+
+        return element;
+    }
+
+    /**
+     * Deep copy an element into an element that can be stored in a concurrent compound.
+     *
+     * @param element element to copy.
+     * @return the copied element, primitives and nulls are immutable and returned as is.
+     */
+    static CompoundElement copy(CompoundElement element) {
+        if (element.isObject())
+            return ConcurrentCompoundObject.copyOf(element.getAsObject());
+
+        if (element.isArray())
+            return ConcurrentCompoundArray.copyOf(element.getAsArray());
+
+        return element;
+    }
+
+    static String toJson(CompoundElement element) {
+        StringWriter writer = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try {
+            new JsonCompoundWriter(jsonWriter).element(element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws.
+        }
+
+        return writer.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Gson tree node holding a raw byte array, the Base64 text is only created when the tree is written.
+ * <p>
+ * The node reports itself as a primitive so Gson serializes it as a string,
+ * trees holding byte arrays must not be read back through Gson's tree reader ({@code Gson.fromJson(JsonElement, ...)}).
+ */
+public final class JsonByteArray extends JsonElement {
+    private final byte[] bytes;
+
+    @SuppressWarnings("deprecation")
+    JsonByteArray(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Retrieve the length of the byte array.
+     *
+     * @return length of the array.
+     */
+    public int length() {
+        return this.bytes.length;
+    }
+
+    /**
+     * Copy the byte array.
+     *
+     * @return copy of the array.
+     */
+    public byte[] toByteArray() {
+        return this.bytes.clone();
+    }
+
+    @Override
+    public JsonByteArray deepCopy() {
+        return this; // Immutable.
+    }
+
+    @Override
+    public boolean isJsonPrimitive() {
+        return true;
+    }
+
+    /**
+     * Encode the byte array as a Base64 Gson primitive, a new primitive is created on every call.
+     */
+    @Override
+    public JsonPrimitive getAsJsonPrimitive() {
+        return new JsonPrimitive(this.getAsString());
+    }
+
+    @Override
+    public String getAsString() {
+        return Base64.getEncoder().encodeToString(this.bytes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof JsonByteArray other && Arrays.equals(this.bytes, other.bytes));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.bytes);
+    }
+}
@@ -1,6 +1,8 @@
 package fr.atlasworld.common.compound.json;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
@@ -9,11 +11,10 @@ import fr.atlasworld.common.compound.CompoundElement;
 import fr.atlasworld.common.compound.CompoundObject;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Base64;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 public class JsonCompoundArray extends JsonCompoundElement implements CompoundArray {
     private final JsonArray array;
@@ -53,9 +54,8 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     @Override
     public CompoundArray add(@NotNull CompoundElement value) {
         Preconditions.checkNotNull(value);
-        Preconditions.checkArgument(value instanceof JsonCompoundElement, "Only Json Backed compound are supported.");
 
-        this.array.add(fromCompound((JsonCompoundElement) value));
+        this.array.add(JsonCompoundConverter.convert(value));
         return this;
     }
 
@@ -93,7 +93,7 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     public CompoundArray add(byte[] value) {
         Preconditions.checkNotNull(value);
 
-        this.array.add(Base64.getEncoder().encodeToString(value));
+        this.array.add(new JsonByteArray(value.clone()));
 
         return this;
     }
@@ -116,9 +116,15 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     @Override
     public CompoundArray addAll(@NotNull CompoundArray array) {
         Preconditions.checkNotNull(array);
-        Preconditions.checkArgument(array instanceof JsonCompoundArray, "Only Json Backed compound are supported.");
 
-        this.array.addAll(((JsonCompoundArray) array).getArray());
+        if (array instanceof JsonCompoundArray jsonArray) {
+            this.array.addAll(jsonArray.getArray());
+            return this;
+        }
+
+        for (CompoundElement element : List.copyOf(array.asList())) {
+            this.array.add(JsonCompoundConverter.convert(element));
+        }
 
         return this;
     }
@@ -148,9 +154,8 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     @Override
     public CompoundElement set(int index, @NotNull CompoundElement element) {
         Preconditions.checkNotNull(element);
-        Preconditions.checkArgument(element instanceof JsonCompoundElement, "Only Json Backed compound are supported.");
 
-        JsonElement oldElement = this.array.set(index, fromCompound((JsonCompoundElement) element));
+        JsonElement oldElement = this.array.set(index, JsonCompoundConverter.convert(element));
         return toCompound(oldElement);
     }
 
@@ -188,7 +193,7 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     public CompoundElement set(int index, byte[] value) {
         Preconditions.checkNotNull(value);
 
-        JsonElement oldElement = this.array.set(index, new JsonPrimitive(Base64.getEncoder().encodeToString(value)));
+        JsonElement oldElement = this.array.set(index, new JsonByteArray(value.clone()));
         return toCompound(oldElement);
     }
 
@@ -209,9 +214,8 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     @Override
     public boolean remove(@NotNull CompoundElement element) {
         Preconditions.checkNotNull(element);
-        Preconditions.checkArgument(element instanceof JsonCompoundElement, "Only Json Backed compound are supported.");
 
-        return this.array.remove(fromCompound((JsonCompoundElement) element));
+        return this.array.remove(JsonCompoundConverter.convert(element));
     }
 
     @Override
@@ -222,9 +226,8 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
     @Override
     public boolean contains(@NotNull CompoundElement element) {
         Preconditions.checkNotNull(element);
-        Preconditions.checkArgument(element instanceof JsonCompoundElement, "Only Json Backed compound are supported.");
 
-        return this.array.contains(fromCompound((JsonCompoundElement) element));
+        return this.array.contains(JsonCompoundConverter.convert(element));
     }
 
     @Override
@@ -244,21 +247,19 @@ public class JsonCompoundArray extends JsonCompoundElement implements CompoundAr
 
     @Override
     public List<CompoundElement> asList() {
-        return this.array.asList()
-                .stream()
-                .map(element -> (CompoundElement) toCompound(element))
-                .toList();
+        // Live view, elements are only wrapped once they are accessed.
+        return Collections.unmodifiableList(Lists.transform(this.array.asList(), JsonCompoundElement::toCompound));
     }
 
     @NotNull
     @Override
     public Iterator<CompoundElement> iterator() {
-        return this.asList().iterator();
+        return Iterators.unmodifiableIterator(Iterators.transform(this.array.iterator(), JsonCompoundElement::toCompound));
     }
 
     @Override
     public JsonCompoundArray clone() {
-        return (JsonCompoundArray) super.clone();
+        return new JsonCompoundArray(this.array.deepCopy());
     }
 
     public JsonArray getArray() {
@@ -0,0 +1,84 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.gson.*;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Converts elements of any backend into Gson elements, copying them element by element.
+ */
+final class JsonCompoundConverter implements CompoundVisitor<JsonElement> {
+    static final JsonCompoundConverter INSTANCE = new JsonCompoundConverter();
+
+    private JsonCompoundConverter() {
+    }
+
+    /**
+     * Convert an element into a Gson element.
+     *
+     * @param element element to convert.
+     * @return the backing Gson element of Json backed elements, a copy of the element otherwise.
+     */
+    static JsonElement convert(CompoundElement element) {
+        if (element instanceof JsonCompoundElement json)
+            return JsonCompoundElement.fromCompound(json);
+
+        return element.accept(INSTANCE);
+    }
+
+    @Override
+    public JsonElement visitObject(@NotNull CompoundObject object) {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, CompoundElement> entry : object.entrySet()) {
+            json.add(entry.getKey(), this.child(entry.getValue()));
+        }
+
+        return json;
+    }
+
+    @Override
+    public JsonElement visitArray(@NotNull CompoundArray array) {
+        JsonArray json = new JsonArray(array.size());
+        for (CompoundElement element : array) {
+            json.add(this.child(element));
+        }
+
+        return json;
+    }
+
+    @Override
+    public JsonElement visitPrimitive(@NotNull CompoundPrimitive primitive) {
+        if (primitive instanceof JsonCompoundPrimitive json)
+            return JsonCompoundElement.fromCompound(json); // Immutable
+
+        if (primitive.isBoolean())
+            return new JsonPrimitive(primitive.getAsBoolean());
+
+        if (primitive.isString())
+            return new JsonPrimitive(primitive.getAsString());
+
+        if (primitive.isByteArray())
+            return new JsonByteArray(primitive.getAsByteArray());
+
+        double doubleValue = primitive.getAsDouble();
+        long longValue = primitive.getAsLong();
+
+        // Integral doubles stay doubles, only primitives holding an integer by type are written without a fraction.
+        return primitive.isLong() && doubleValue == longValue ? new JsonPrimitive(longValue) : new JsonPrimitive(doubleValue);
+    }
+
+    @Override
+    public JsonElement visitNull(@NotNull CompoundNull element) {
+        return JsonNull.INSTANCE;
+    }
+
+    // Nested Json backed containers are copied as well, they must not be shared with a foreign tree.
+    private JsonElement child(CompoundElement element) {
+        if (element instanceof JsonCompoundElement json)
+            return JsonCompoundElement.fromCompound(json).deepCopy();
+
+        return element.accept(this);
+    }
+}
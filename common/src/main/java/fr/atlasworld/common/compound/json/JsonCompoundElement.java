@@ -9,9 +9,7 @@ import java.util.Base64;
 import java.util.Date;
 
 public class JsonCompoundElement implements CompoundElement {
-    private static final Gson GSON = new Gson();
-
-    private final JsonElement element;
+    final JsonElement element;
 
     public JsonCompoundElement(@NotNull JsonElement element) {
         Preconditions.checkNotNull(element);
@@ -98,6 +96,9 @@ public class JsonCompoundElement implements CompoundElement {
 
     @Override
     public byte[] getAsByteArray() {
+        if (this.element instanceof JsonByteArray bytes)
+            return bytes.toByteArray();
+
         return Base64.getDecoder().decode(this.element.getAsString());
     }
 
@@ -123,7 +124,17 @@ public class JsonCompoundElement implements CompoundElement {
 
     @Override
     public CompoundElement clone() {
-        return new JsonCompoundElement(GSON.fromJson(GSON.toJson(this.element, JsonElement.class), JsonElement.class));
+        return toCompound(this.element.deepCopy());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CompoundElement other && CompoundHashing.equals(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+        return CompoundHashing.hashCode(this);
     }
 
     public static JsonCompoundElement toCompound(JsonElement element) {
@@ -133,6 +144,9 @@ public class JsonCompoundElement implements CompoundElement {
         if (element instanceof JsonPrimitive primitive)
             return new JsonCompoundPrimitive(primitive);
 
+        if (element instanceof JsonByteArray bytes)
+            return new JsonCompoundPrimitive(bytes);
+
         if (element instanceof JsonNull)
             return JsonCompoundNull.NULL;
 
@@ -150,7 +164,7 @@ public class JsonCompoundElement implements CompoundElement {
             return JsonNull.INSTANCE;
 
         if (element instanceof JsonCompoundPrimitive primitive)
-            return primitive.getPrimitive();
+            return primitive.element;
 
         if (element instanceof JsonCompoundNull)
             return JsonNull.INSTANCE;
@@ -1,6 +1,7 @@
 package fr.atlasworld.common.compound.json;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import fr.atlasworld.common.compound.CompoundArray;
@@ -9,11 +10,10 @@ import fr.atlasworld.common.compound.CompoundObject;
 import fr.atlasworld.common.compound.CompoundPrimitive;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Base64;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 public class JsonCompoundObject extends JsonCompoundElement implements CompoundObject {
     private final JsonObject object;
@@ -63,9 +63,8 @@ public class JsonCompoundObject extends JsonCompoundElement implements CompoundO
     public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
         Preconditions.checkNotNull(key);
         Preconditions.checkNotNull(value);
-        Preconditions.checkArgument(value instanceof JsonCompoundElement, "Only Json Backed compound are supported.");
 
-        this.object.add(key, fromCompound((JsonCompoundElement) value));
+        this.object.add(key, JsonCompoundConverter.convert(value));
 
         return this;
     }
@@ -120,7 +119,7 @@ public class JsonCompoundObject extends JsonCompoundElement implements CompoundO
         Preconditions.checkNotNull(key);
         Preconditions.checkNotNull(value);
 
-        this.object.addProperty(key, Base64.getEncoder().encodeToString(value));
+        this.object.add(key, new JsonByteArray(value.clone()));
 
         return this;
     }
@@ -146,10 +145,7 @@ public class JsonCompoundObject extends JsonCompoundElement implements CompoundO
 
     @Override
     public Set<Map.Entry<String, CompoundElement>> entrySet() {
-        return this.object.entrySet()
-                .stream()
-                .map(entry -> Map.entry(entry.getKey(), (CompoundElement) toCompound(entry.getValue())))
-                .collect(Collectors.toUnmodifiableSet());
+        return this.asMap().entrySet();
     }
 
     @Override
@@ -199,16 +195,13 @@ public class JsonCompoundObject extends JsonCompoundElement implements CompoundO
 
     @Override
     public Map<String, CompoundElement> asMap() {
-        return this.object.asMap()
-                .entrySet()
-                .stream()
-                .map(entry -> Map.entry(entry.getKey(), (CompoundElement) toCompound(entry.getValue())))
-                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        // Live view, values are only wrapped once they are accessed.
+        return Collections.unmodifiableMap(Maps.transformValues(this.object.asMap(), JsonCompoundElement::toCompound));
     }
 
     @Override
     public JsonCompoundObject clone() {
-        return (JsonCompoundObject) super.clone();
+        return new JsonCompoundObject(this.object.deepCopy());
     }
 
     public JsonObject getObject() {
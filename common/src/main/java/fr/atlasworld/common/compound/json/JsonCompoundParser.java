@@ -0,0 +1,205 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Json Compound Parser, parses large top-level {@code JSON} arrays in parallel.
+ * <p>
+ * The text is first scanned once to split the array at element boundaries, without parsing the elements.
+ * Each chunk of elements is then parsed by Gson as its own array on a {@link ForkJoinPool},
+ * and the chunks are assembled back in order. Small inputs are parsed on the calling thread.
+ */
+public final class JsonCompoundParser {
+    private static final int PARALLEL_THRESHOLD = 1 << 20; // Characters
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private JsonCompoundParser() {
+    }
+
+    /**
+     * Parse a top-level {@code JSON} array using the common pool.
+     *
+     * @param json text of the array.
+     * @return the parsed array.
+     * @throws NullPointerException if {@code json} is null.
+     * @throws JsonSyntaxException  if the text is not a valid {@code JSON} array.
+     * @see #parseArray(CharSequence, ForkJoinPool)
+     */
+    public static JsonCompoundArray parseArray(@NotNull CharSequence json) {
+        return parseArray(json, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse a top-level {@code JSON} array, splitting the work across the threads of the provided pool.
+     *
+     * @param json text of the array.
+     * @param pool pool parsing the chunks of the array.
+     * @return the parsed array.
+     * @throws NullPointerException if {@code json} or {@code pool} is null.
+     * @throws JsonSyntaxException  if the text is not a valid {@code JSON} array.
+     */
+    public static JsonCompoundArray parseArray(@NotNull CharSequence json, @NotNull ForkJoinPool pool) {
+        Preconditions.checkNotNull(json);
+        Preconditions.checkNotNull(pool);
+
+        if (json.length() < PARALLEL_THRESHOLD || pool.getParallelism() < 2)
+            return new JsonCompoundArray(parseSequential(json));
+
+        String text = json.toString();
+        List<int[]> chunks = split(text, text.length() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+
+        List<ForkJoinTask<JsonArray>> tasks = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            tasks.add(pool.submit(() -> parseChunk(text, chunk[0], chunk[1])));
+        }
+
+        JsonArray array = new JsonArray();
+        for (ForkJoinTask<JsonArray> task : tasks) {
+            array.addAll(task.join());
+        }
+
+        return new JsonCompoundArray(array);
+    }
+
+    private static JsonArray parseSequential(CharSequence json) {
+        JsonElement element = JsonParser.parseString(json.toString());
+        if (!element.isJsonArray())
+            throw new JsonSyntaxException("Expected a top-level JSON array.");
+
+        return element.getAsJsonArray();
+    }
+
+    private static JsonArray parseChunk(String json, int start, int end) {
+        JsonElement element = JsonParser.parseReader(new ArrayChunkReader(json, start, end));
+        if (!element.isJsonArray())
+            throw new JsonSyntaxException("Malformed JSON array chunk.");
+
+        return element.getAsJsonArray();
+    }
+
+    /**
+     * Split the content of a top-level array into chunks of whole elements.
+     *
+     * @param json        text of the array.
+     * @param targetChunk approximate length of a chunk, in characters.
+     * @return the start (inclusive) and end (exclusive) of every chunk, excluding the separating commas.
+     */
+    private static List<int[]> split(String json, int targetChunk) {
+        int length = json.length();
+        int position = skipWhitespace(json, 0);
+
+        if (position >= length || json.charAt(position) != '[')
+            throw new JsonSyntaxException("Expected a top-level JSON array.");
+
+        List<int[]> chunks = new ArrayList<>();
+        int chunkStart = position + 1;
+        int depth = 1;
+        boolean inString = false;
+
+        for (position++; position < length; position++) {
+            char c = json.charAt(position);
+
+            if (inString) {
+                if (c == '\\')
+                    position++;
+                else if (c == '"')
+                    inString = false;
+
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '[', '{' -> depth++;
+                case ']', '}' -> depth--;
+                case ',' -> {
+                    if (depth == 1 && position - chunkStart >= targetChunk) {
+                        chunks.add(new int[]{chunkStart, position});
+                        chunkStart = position + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (depth == 0)
+                break;
+        }
+
+        if (depth != 0)
+            throw new JsonSyntaxException("Unterminated top-level JSON array.");
+
+        if (skipWhitespace(json, position + 1) != length)
+            throw new JsonSyntaxException("Unexpected content after the top-level JSON array.");
+
+        if (!chunks.isEmpty() || skipWhitespace(json, chunkStart) != position)
+            chunks.add(new int[]{chunkStart, position});
+
+        return chunks;
+    }
+
+    private static int skipWhitespace(String json, int position) {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * Reads a range of elements as an array, surrounding the range with brackets without copying it.
+     */
+    private static final class ArrayChunkReader extends Reader {
+        private final String json;
+        private final int end;
+        private int position;
+        private boolean opened;
+        private boolean finished;
+
+        private ArrayChunkReader(String json, int start, int end) {
+            this.json = json;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(char @NotNull [] buffer, int offset, int length) {
+            if (this.finished)
+                return -1;
+
+            int read = 0;
+            if (!this.opened && read < length) {
+                buffer[offset + read++] = '[';
+                this.opened = true;
+            }
+
+            int copied = Math.min(length - read, this.end - this.position);
+            this.json.getChars(this.position, this.position + copied, buffer, offset + read);
+            this.position += copied;
+            read += copied;
+
+            if (read < length && this.position == this.end) {
+                buffer[offset + read++] = ']';
+                this.finished = true;
+            }
+
+            return read;
+        }
+
+        @Override
+        public void close() {
+            this.finished = true;
+        }
+    }
+}
@@ -1,67 +1,91 @@
 package fr.atlasworld.common.compound.json;
 
+import com.google.common.base.Preconditions;
 import com.google.gson.JsonPrimitive;
 import fr.atlasworld.common.compound.CompoundPrimitive;
 
 public class JsonCompoundPrimitive extends JsonCompoundElement implements CompoundPrimitive {
-    private final JsonPrimitive primitive;
+    private final JsonPrimitive primitive; // Null for byte arrays.
 
     public JsonCompoundPrimitive(JsonPrimitive element) {
         super(element);
         this.primitive = element;
     }
 
+    /**
+     * Create a byte-array primitive, its Base64 text is only created once written as {@code JSON}.
+     *
+     * @param bytes byte array, copied.
+     * @throws NullPointerException if {@code bytes} is null.
+     */
+    public JsonCompoundPrimitive(byte[] bytes) {
+        this(new JsonByteArray(Preconditions.checkNotNull(bytes).clone()));
+    }
+
+    JsonCompoundPrimitive(JsonByteArray element) {
+        super(element);
+        this.primitive = null;
+    }
+
     @Override
     public boolean isBoolean() {
-        return this.primitive.isBoolean();
+        return this.primitive != null && this.primitive.isBoolean();
     }
 
     @Override
     public boolean isDouble() {
-        return this.primitive.isNumber();
+        return this.primitive != null && this.primitive.isNumber();
     }
 
     @Override
     public boolean isLong() {
-        return this.primitive.isNumber();
+        return this.primitive != null && this.primitive.isNumber();
     }
 
     @Override
     public boolean isInt() {
-        return this.primitive.isNumber();
+        return this.primitive != null && this.primitive.isNumber();
     }
 
     @Override
     public boolean isByte() {
-        return this.primitive.isNumber();
+        return this.primitive != null && this.primitive.isNumber();
     }
 
+    /**
+     * Only primitives created from a byte array are byte-arrays, Base64 strings parsed from {@code JSON} text are strings.
+     */
     @Override
     public boolean isByteArray() {
-        return this.primitive.isString();
+        return this.primitive == null;
     }
 
     @Override
     public boolean isDate() {
-        return this.primitive.isNumber();
+        return this.primitive != null && this.primitive.isNumber();
     }
 
     @Override
     public boolean isChar() {
-        return this.primitive.isString();
+        return this.primitive != null && this.primitive.isString();
     }
 
     @Override
     public boolean isString() {
-        return this.primitive.isString();
+        return this.primitive != null && this.primitive.isString();
     }
 
     @Override
     public JsonCompoundPrimitive clone() {
-        return (JsonCompoundPrimitive) super.clone();
+        return this; // Immutable.
     }
 
+    /**
+     * Retrieve the Gson primitive, byte arrays are encoded as a new Base64 primitive on every call.
+     *
+     * @return the Gson primitive.
+     */
     public JsonPrimitive getPrimitive() {
-        return primitive;
+        return this.primitive != null ? this.primitive : this.element.getAsJsonPrimitive();
     }
 }
@@ -0,0 +1,136 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundReader;
+import fr.atlasworld.common.compound.CompoundToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Json Compound Reader, streams {@code JSON} text token by token.
+ */
+public class JsonCompoundReader implements CompoundReader {
+    private final JsonReader reader;
+
+    public JsonCompoundReader(@NotNull JsonReader reader) {
+        Preconditions.checkNotNull(reader);
+
+        this.reader = reader;
+    }
+
+    public JsonCompoundReader(@NotNull Reader reader) {
+        this(new JsonReader(Preconditions.checkNotNull(reader)));
+    }
+
+    public JsonCompoundReader(@NotNull InputStream stream, @NotNull Charset charset) {
+        this(new InputStreamReader(Preconditions.checkNotNull(stream), Preconditions.checkNotNull(charset)));
+    }
+
+    public JsonCompoundReader(@NotNull InputStream stream) {
+        this(stream, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public CompoundToken peek() throws IOException {
+        return switch (this.reader.peek()) {
+            case BEGIN_ARRAY -> CompoundToken.BEGIN_ARRAY;
+            case END_ARRAY -> CompoundToken.END_ARRAY;
+            case BEGIN_OBJECT -> CompoundToken.BEGIN_OBJECT;
+            case END_OBJECT -> CompoundToken.END_OBJECT;
+            case NAME -> CompoundToken.NAME;
+            case STRING -> CompoundToken.STRING;
+            case NUMBER -> CompoundToken.NUMBER;
+            case BOOLEAN -> CompoundToken.BOOLEAN;
+            case NULL -> CompoundToken.NULL;
+            case END_DOCUMENT -> CompoundToken.END_DOCUMENT;
+        };
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return this.reader.hasNext();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        this.reader.beginObject();
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        this.reader.endObject();
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        this.reader.beginArray();
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        this.reader.endArray();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        return this.reader.nextName();
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        return this.reader.nextString();
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        return this.reader.nextBoolean();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        return this.reader.nextDouble();
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        return this.reader.nextLong();
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        return this.reader.nextInt();
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        this.reader.nextNull();
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        this.reader.skipValue();
+    }
+
+    @Override
+    public CompoundElement nextElement() throws IOException {
+        return JsonCompoundElement.toCompound(JsonParser.parseReader(this.reader));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    public JsonReader getReader() {
+        return reader;
+    }
+}
@@ -0,0 +1,239 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Json Compound Writer, streams compounds as {@code JSON} text.
+ */
+public class JsonCompoundWriter implements CompoundWriter {
+    private static final Gson GSON = new GsonBuilder().serializeNulls().disableHtmlEscaping().create();
+
+    private final JsonWriter writer;
+
+    public JsonCompoundWriter(@NotNull JsonWriter writer) {
+        Preconditions.checkNotNull(writer);
+
+        this.writer = writer;
+    }
+
+    public JsonCompoundWriter(@NotNull Writer writer, boolean prettyPrinting) {
+        this(new JsonWriter(Preconditions.checkNotNull(writer)));
+
+        if (prettyPrinting)
+            this.writer.setIndent("  ");
+    }
+
+    public JsonCompoundWriter(@NotNull Writer writer) {
+        this(writer, false);
+    }
+
+    public JsonCompoundWriter(@NotNull OutputStream stream, @NotNull Charset charset) {
+        this(new OutputStreamWriter(Preconditions.checkNotNull(stream), Preconditions.checkNotNull(charset)));
+    }
+
+    public JsonCompoundWriter(@NotNull OutputStream stream) {
+        this(stream, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public CompoundWriter beginObject() throws IOException {
+        this.writer.beginObject();
+        return this;
+    }
+
+    @Override
+    public CompoundWriter endObject() throws IOException {
+        this.writer.endObject();
+        return this;
+    }
+
+    @Override
+    public CompoundWriter beginArray() throws IOException {
+        this.writer.beginArray();
+        return this;
+    }
+
+    @Override
+    public CompoundWriter endArray() throws IOException {
+        this.writer.endArray();
+        return this;
+    }
+
+    @Override
+    public CompoundWriter name(@NotNull String name) throws IOException {
+        Preconditions.checkNotNull(name);
+
+        this.writer.name(name);
+        return this;
+    }
+
+    @Override
+    public CompoundWriter value(boolean value) throws IOException {
+        this.writer.value(value);
+        return this;
+    }
+
+    @Override
+    public CompoundWriter value(double value) throws IOException {
+        this.writer.value(value);
+        return this;
+    }
+
+    @Override
+    public CompoundWriter value(long value) throws IOException {
+        this.writer.value(value);
+        return this;
+    }
+
+    @Override
+    public CompoundWriter value(byte[] value) throws IOException {
+        Preconditions.checkNotNull(value);
+
+        this.writer.value(Base64.getEncoder().encodeToString(value));
+        return this;
+    }
+
+    @Override
+    public CompoundWriter value(@NotNull String value) throws IOException {
+        Preconditions.checkNotNull(value);
+
+        this.writer.value(value);
+        return this;
+    }
+
+    @Override
+    public CompoundWriter nullValue() throws IOException {
+        this.writer.nullValue();
+        return this;
+    }
+
+    @Override
+    public CompoundWriter element(@NotNull CompoundElement element) throws IOException {
+        Preconditions.checkNotNull(element);
+
+        if (element instanceof JsonCompoundElement jsonElement) {
+            try {
+                GSON.toJson(JsonCompoundElement.fromCompound(jsonElement), this.writer);
+            } catch (JsonIOException e) {
+                if (e.getCause() instanceof IOException cause)
+                    throw cause;
+
+                throw e;
+            }
+
+            return this;
+        }
+
+        this.writeElement(element);
+        return this;
+    }
+
+    private void writeElement(CompoundElement element) throws IOException {
+        if (element.isNull()) {
+            this.writer.nullValue();
+            return;
+        }
+
+        if (element.isObject()) {
+            this.writer.beginObject();
+            for (Map.Entry<String, CompoundElement> entry : element.getAsObject().entrySet()) {
+                this.writer.name(entry.getKey());
+                this.writeElement(entry.getValue());
+            }
+            this.writer.endObject();
+            return;
+        }
+
+        if (element instanceof CompoundIntArray || element instanceof CompoundLongArray || element instanceof CompoundDoubleArray) {
+            this.writeTypedArray(element);
+            return;
+        }
+
+        if (element.isArray()) {
+            this.writer.beginArray();
+            for (CompoundElement child : element.getAsArray()) {
+                this.writeElement(child);
+            }
+            this.writer.endArray();
+            return;
+        }
+
+        this.writePrimitive(element.getAsPrimitive());
+    }
+
+    // Typed arrays are written from their unboxed values.
+    private void writeTypedArray(CompoundElement element) throws IOException {
+        this.writer.beginArray();
+
+        if (element instanceof CompoundIntArray ints) {
+            for (int i = 0; i < ints.size(); i++) {
+                this.writer.value(ints.getInt(i));
+            }
+        } else if (element instanceof CompoundLongArray longs) {
+            for (int i = 0; i < longs.size(); i++) {
+                this.writer.value(longs.getLong(i));
+            }
+        } else {
+            CompoundDoubleArray doubles = (CompoundDoubleArray) element;
+            for (int i = 0; i < doubles.size(); i++) {
+                this.writer.value(doubles.getDouble(i));
+            }
+        }
+
+        this.writer.endArray();
+    }
+
+    private void writePrimitive(CompoundPrimitive primitive) throws IOException {
+        if (primitive instanceof JsonCompoundPrimitive jsonPrimitive && !jsonPrimitive.isByteArray()) {
+            JsonPrimitive value = jsonPrimitive.getPrimitive();
+
+            if (value.isBoolean())
+                this.writer.value(value.getAsBoolean());
+            else if (value.isNumber())
+                this.writer.value(value.getAsNumber());
+            else
+                this.writer.value(value.getAsString());
+
+            return;
+        }
+
+        if (primitive.isBoolean())
+            this.writer.value(primitive.getAsBoolean());
+        else if (primitive.isString() || primitive.isByteArray())
+            this.writer.value(primitive.getAsString());
+        else if (primitive.isLong())
+            this.writer.value(primitive.getAsLong());
+        else
+            this.writer.value(primitive.getAsDouble());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+
+    public JsonWriter getWriter() {
+        return writer;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.lazy;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Lazy Compound Array, a read-only array decoded on demand from a {@code JSON} document.
+ * <p>
+ * Elements are indexed incrementally, only as far as needed to reach the requested index: the offset of every element
+ * is recorded and nested containers are skipped without being decoded. Elements are decoded once actually requested,
+ * and cached.
+ * <p>
+ * Lazy compounds can be read by multiple threads.
+ * <p>
+ * All the mutating methods of {@link CompoundArray} throw an {@link UnsupportedOperationException},
+ * use {@link #clone()} to obtain a mutable copy.
+ *
+ * @see LazyCompounds
+ */
+public final class LazyCompoundArray extends AbstractCompoundElement implements CompoundArray {
+    private final LazyJsonSource source;
+    private final int offset;
+
+    private final Index index = new Index();
+
+    LazyCompoundArray(LazyJsonSource source, int offset) {
+        this.source = source;
+        this.offset = offset;
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        for (CompoundElement child : this) {
+            if (child.equals(element))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !this.index.reach(0);
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        if (index < 0 || !this.index.reach(index))
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size());
+
+        return this.index.value(index);
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new AbstractList<>() {
+            @Override
+            public CompoundElement get(int index) {
+                return LazyCompoundArray.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return LazyCompoundArray.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterating the array decodes and caches every element.
+     */
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.asList().iterator();
+    }
+
+    @Override
+    public String toJson() {
+        return LazyCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(3, 4) + this.index.shallowSize();
+    }
+
+    /**
+     * Only the values already decoded are retained, measuring this array does not decode it.
+     */
+    @Override
+    protected Iterable<CompoundElement> retainedChildren() {
+        return this.index.decoded();
+    }
+
+    /**
+     * Decode this array entirely into a new binary array.
+     *
+     * @return a mutable copy of this array.
+     */
+    @Override
+    public CompoundArray clone() {
+        return LazyCompounds.copy(this).getAsArray();
+    }
+
+    // Elements are indexed incrementally, only as far as needed to reach the requested index.
+    private final class Index {
+        private int[] offsets = new int[16];
+        private CompoundElement[] values = new CompoundElement[16];
+        private int size;
+
+        private int position = -1; // Offset of the next element to index, -1 before the first one.
+        private boolean complete;
+
+        private synchronized boolean reach(int index) {
+            while (this.size <= index && !this.complete) {
+                this.advance();
+            }
+
+            return index < this.size;
+        }
+
+        private synchronized int size() {
+            while (!this.complete) {
+                this.advance();
+            }
+
+            return this.size;
+        }
+
+        private synchronized CompoundElement value(int index) {
+            CompoundElement value = this.values[index];
+            if (value == null) {
+                value = LazyCompoundArray.this.source.decode(this.offsets[index]);
+                this.values[index] = value;
+            }
+
+            return value;
+        }
+
+        private synchronized List<CompoundElement> decoded() {
+            List<CompoundElement> decoded = new ArrayList<>();
+            for (int i = 0; i < this.size; i++) {
+                if (this.values[i] != null)
+                    decoded.add(this.values[i]);
+            }
+
+            return decoded;
+        }
+
+        private synchronized long shallowSize() {
+            return CompoundSizes.instanceSize(2, 9)
+                    + CompoundSizes.arraySize(this.offsets.length, Integer.BYTES)
+                    + CompoundSizes.arraySize(this.values.length, CompoundSizes.REFERENCE);
+        }
+
+        private void advance() {
+            LazyJsonSource source = LazyCompoundArray.this.source;
+
+            if (this.position < 0) {
+                this.position = source.skipWhitespace(LazyCompoundArray.this.offset + 1);
+
+                if (source.at(this.position) == ']') {
+                    this.complete = true;
+                    return;
+                }
+            }
+
+            if (this.size == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+
+            this.offsets[this.size++] = this.position;
+            int position = source.skipWhitespace(source.skipValue(this.position));
+
+            byte next = source.at(position);
+            if (next == ']')
+                this.complete = true;
+            else if (next == ',')
+                this.position = source.skipWhitespace(position + 1);
+            else
+                throw source.error("Expected ',' or ']'", position);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.lazy;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.binary.BinaryCompoundNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Lazy Compound Object, a read-only object decoded on demand from a {@code JSON} document.
+ * <p>
+ * Entries are indexed incrementally, only as far as needed to find the requested key: the offset of every value
+ * is recorded and nested containers are skipped without being decoded. Values are decoded once actually requested,
+ * and cached. Malformed content, including duplicated keys, is only reported once it is reached.
+ * <p>
+ * Lazy compounds can be read by multiple threads.
+ * <p>
+ * All the mutating methods of {@link CompoundObject} throw an {@link UnsupportedOperationException},
+ * use {@link #clone()} to obtain a mutable copy.
+ *
+ * @see LazyCompounds
+ */
+public final class LazyCompoundObject extends AbstractCompoundElement implements CompoundObject {
+    private static final int LOOKUP_THRESHOLD = 8;
+
+    private final LazyJsonSource source;
+    private final int offset;
+
+    private final Index index = new Index();
+
+    LazyCompoundObject(LazyJsonSource source, int offset) {
+        this.source = source;
+        this.offset = offset;
+    }
+
+    @Override
+    public boolean isObject() {
+        return true;
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        return this;
+    }
+
+    @Override
+    public CompoundElement remove(@NotNull String key) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, boolean value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, double value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, long value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, int value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte[] value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, char value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull String value) {
+        throw new UnsupportedOperationException(LazyJsonSource.READ_ONLY_MESSAGE);
+    }
+
+    /**
+     * Iterating the entries indexes the whole object and decodes and caches every value.
+     */
+    @Override
+    public Set<Map.Entry<String, CompoundElement>> entrySet() {
+        return this.asMap().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return this.index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.index.isEmpty();
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        return this.index.find(key) >= 0;
+    }
+
+    @Override
+    public CompoundElement get(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        int slot = this.index.find(key);
+        return slot < 0 ? BinaryCompoundNull.NULL : this.index.value(slot);
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+        return this.get(key).getAsPrimitive();
+    }
+
+    @Override
+    public CompoundArray getAsArray(@NotNull String key) {
+        return this.get(key).getAsArray();
+    }
+
+    @Override
+    public CompoundObject getAsObject(@NotNull String key) {
+        return this.get(key).getAsObject();
+    }
+
+    /**
+     * Lookups through the map are as lazy as {@link #get(String)},
+     * iterating it indexes the whole object and decodes and caches every value.
+     */
+    @Override
+    public Map<String, CompoundElement> asMap() {
+        Index index = this.index;
+
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, CompoundElement>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, CompoundElement>> iterator() {
+                        int size = index.size();
+
+                        return new Iterator<>() {
+                            private int slot;
+
+                            @Override
+                            public boolean hasNext() {
+                                return this.slot < size;
+                            }
+
+                            @Override
+                            public Entry<String, CompoundElement> next() {
+                                if (!this.hasNext())
+                                    throw new NoSuchElementException();
+
+                                int current = this.slot++;
+                                return new SimpleImmutableEntry<>(index.key(current), index.value(current));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return index.size();
+                    }
+                };
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof String string && index.find(string) >= 0;
+            }
+
+            @Override
+            public CompoundElement get(Object key) {
+                int slot = key instanceof String string ? index.find(string) : -1;
+                return slot < 0 ? null : index.value(slot);
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    @Override
+    public String toJson() {
+        return LazyCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(3, 4) + this.index.shallowSize();
+    }
+
+    /**
+     * Only the values already decoded are retained, measuring this object does not decode it.
+     */
+    @Override
+    protected Iterable<CompoundElement> retainedChildren() {
+        return this.index.decoded();
+    }
+
+    /**
+     * Decode this object entirely into a new binary object.
+     *
+     * @return a mutable copy of this object.
+     */
+    @Override
+    public CompoundObject clone() {
+        return LazyCompounds.copy(this).getAsObject();
+    }
+
+    // Entries are indexed incrementally, only as far as needed to find the requested key.
+    private final class Index {
+        private String[] keys = new String[8];
+        private int[] offsets = new int[8];
+        private CompoundElement[] values = new CompoundElement[8];
+        private Map<String, Integer> lookup; // Null for small objects, scanned linearly.
+        private int size;
+
+        private int position = -1; // Offset of the next entry to index, -1 before the first one.
+        private boolean complete;
+
+        private synchronized int find(String key) {
+            int slot = this.indexed(key);
+
+            while (slot < 0 && !this.complete) {
+                int added = this.advance();
+                if (added >= 0 && this.keys[added].equals(key))
+                    slot = added;
+            }
+
+            return slot;
+        }
+
+        private synchronized int size() {
+            while (!this.complete) {
+                this.advance();
+            }
+
+            return this.size;
+        }
+
+        private synchronized boolean isEmpty() {
+            while (this.size == 0 && !this.complete) {
+                this.advance();
+            }
+
+            return this.size == 0;
+        }
+
+        private synchronized String key(int slot) {
+            return this.keys[slot];
+        }
+
+        private synchronized CompoundElement value(int slot) {
+            CompoundElement value = this.values[slot];
+            if (value == null) {
+                value = LazyCompoundObject.this.source.decode(this.offsets[slot]);
+                this.values[slot] = value;
+            }
+
+            return value;
+        }
+
+        private synchronized List<CompoundElement> decoded() {
+            List<CompoundElement> decoded = new ArrayList<>();
+            for (int i = 0; i < this.size; i++) {
+                if (this.values[i] != null)
+                    decoded.add(this.values[i]);
+            }
+
+            return decoded;
+        }
+
+        private synchronized long shallowSize() {
+            long size = CompoundSizes.instanceSize(4, 9)
+                    + CompoundSizes.arraySize(this.keys.length, CompoundSizes.REFERENCE) * 2
+                    + CompoundSizes.arraySize(this.offsets.length, Integer.BYTES);
+
+            for (int i = 0; i < this.size; i++) {
+                size += CompoundSizes.stringSize(this.keys[i]);
+            }
+
+            return size;
+        }
+
+        private int indexed(String key) {
+            if (this.lookup != null) {
+                Integer slot = this.lookup.get(key);
+                return slot == null ? -1 : slot;
+            }
+
+            for (int i = 0; i < this.size; i++) {
+                if (this.keys[i].equals(key))
+                    return i;
+            }
+
+            return -1;
+        }
+
+        // Index the next entry, returns its slot or -1 if the object is empty.
+        private int advance() {
+            LazyJsonSource source = LazyCompoundObject.this.source;
+
+            if (this.position < 0) {
+                this.position = source.skipWhitespace(LazyCompoundObject.this.offset + 1);
+
+                if (source.at(this.position) == '}') {
+                    this.complete = true;
+                    return -1;
+                }
+            }
+
+            int position = this.position;
+            if (source.at(position) != '"')
+                throw source.error("Expected an object key", position);
+
+            int keyEnd = source.skipString(position);
+            String key = source.decodeString(position, keyEnd);
+            if (this.indexed(key) >= 0)
+                throw source.error("Duplicate key \"" + key + "\"", position);
+
+            position = source.skipWhitespace(keyEnd);
+            if (source.at(position) != ':')
+                throw source.error("Expected ':'", position);
+
+            int valueOffset = source.skipWhitespace(position + 1);
+            position = source.skipWhitespace(source.skipValue(valueOffset));
+
+            byte next = source.at(position);
+            if (next == '}')
+                this.complete = true;
+            else if (next == ',')
+                this.position = source.skipWhitespace(position + 1);
+            else
+                throw source.error("Expected ',' or '}'", position);
+
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, this.size * 2);
+                this.offsets = Arrays.copyOf(this.offsets, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+
+            int slot = this.size++;
+            this.keys[slot] = key;
+            this.offsets[slot] = valueOffset;
+
+            if (this.lookup != null) {
+                this.lookup.put(key, slot);
+            } else if (this.size > LOOKUP_THRESHOLD) {
+                this.lookup = new HashMap<>();
+                for (int i = 0; i < this.size; i++) {
+                    this.lookup.put(this.keys[i], i);
+                }
+            }
+
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.lazy;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.binary.BinaryCompoundArray;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Lazy Compounds, read {@code JSON} documents on demand instead of materializing them.
+ * <p>
+ * Opening a document only locates its root, objects and arrays index their direct children on first access
+ * and values are decoded once actually reached. Reading a few entries of a large document
+ * therefore only touches the bytes leading to them, and keeps little on the heap.
+ * <p>
+ * Documents must be encoded in {@code UTF-8} and be smaller than 2 GB.
+ * Malformed content is only reported once it is reached, as a {@link com.google.gson.JsonSyntaxException},
+ * content following the root value is rejected when the document is opened.
+ * <p>
+ * Operations walking the whole tree decode and cache the entire document: iterating {@code asMap()},
+ * {@code entrySet()} or an array, {@code equals}, {@code hashCode}, {@code digest()}, {@code clone()},
+ * {@link fr.atlasworld.common.compound.CompoundCanonical} and {@code toJson()}.
+ * {@link fr.atlasworld.common.compound.CompoundSizes} only measures the values already decoded.
+ */
+public final class LazyCompounds {
+    private static final int BOM_LENGTH = 3;
+
+    private LazyCompounds() {
+    }
+
+    /**
+     * Read a document from a buffer, the remaining bytes of the buffer hold the document.
+     * <p>
+     * The buffer is neither copied nor modified, and must not be modified while the compound is in use.
+     *
+     * @param buffer buffer holding the document.
+     * @return the root of the document, objects and arrays are lazy compounds.
+     * @throws NullPointerException                if {@code buffer} is null.
+     * @throws com.google.gson.JsonSyntaxException if the document is empty, its root is malformed or followed by other content.
+     */
+    public static CompoundElement parse(@NotNull ByteBuffer buffer) {
+        Preconditions.checkNotNull(buffer);
+
+        LazyJsonSource source = new LazyJsonSource(buffer.slice());
+        int offset = source.skipWhitespace(hasBom(buffer) ? BOM_LENGTH : 0);
+
+        // Containers are only skipped, their content is still decoded on demand.
+        int end = source.skipWhitespace(source.skipValue(offset));
+        if (end < buffer.remaining())
+            throw source.error("Unexpected content after the root value", end);
+
+        return source.decode(offset);
+    }
+
+    /**
+     * Read a document from a file, the file is memory-mapped rather than read.
+     *
+     * @param path path of the file.
+     * @return the root of the document, objects and arrays are lazy compounds.
+     * @throws IOException                         if the file could not be mapped.
+     * @throws NullPointerException                if {@code path} is null.
+     * @throws IllegalArgumentException            if the file is larger than 2 GB.
+     * @throws com.google.gson.JsonSyntaxException if the document is empty, its root is malformed or followed by other content.
+     */
+    public static CompoundElement open(@NotNull Path path) throws IOException {
+        Preconditions.checkNotNull(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Preconditions.checkArgument(size <= Integer.MAX_VALUE, "Lazy compounds are limited to 2 GB documents: %s", path);
+
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)); // The mapping outlives the channel.
+        }
+    }
+
+    /**
+     * Decode a lazy compound entirely into binary compounds.
+     *
+     * @param element element to decode.
+     * @return the decoded copy, primitives and nulls are immutable and returned as is.
+     */
+    static CompoundElement copy(CompoundElement element) {
+        if (element.isObject()) {
+            BinaryCompoundObject object = new BinaryCompoundObject();
+            for (Map.Entry<String, CompoundElement> entry : element.getAsObject().entrySet()) {
+                object.add(entry.getKey(), copy(entry.getValue()));
+            }
+
+            return object;
+        }
+
+        if (element.isArray()) {
+            BinaryCompoundArray array = new BinaryCompoundArray();
+            for (CompoundElement child : element.getAsArray()) {
+                array.add(copy(child));
+            }
+
+            return array;
+        }
+
+        return element;
+    }
+
+    static String toJson(CompoundElement element) {
+        StringWriter writer = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try {
+            new JsonCompoundWriter(jsonWriter).element(element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws.
+        }
+
+        return writer.toString();
+    }
+
+    private static boolean hasBom(ByteBuffer buffer) {
+        int position = buffer.position();
+
+        return buffer.remaining() >= BOM_LENGTH && buffer.get(position) == (byte) 0xEF
+                && buffer.get(position + 1) == (byte) 0xBB && buffer.get(position + 2) == (byte) 0xBF;
+    }
+}
@@ -0,0 +1,243 @@
+package fr.atlasworld.common.compound.lazy;
+
+import com.google.gson.JsonSyntaxException;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.binary.BinaryCompoundNull;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code UTF-8} encoded {@code JSON} document shared by every lazy compound of the same document.
+ * <p>
+ * Only absolute reads are used, the buffer is never modified and can be read by multiple threads.
+ */
+final class LazyJsonSource {
+    static final String READ_ONLY_MESSAGE = "Lazy compounds are read-only, clone them to obtain a mutable copy.";
+
+    private final ByteBuffer buffer;
+    private final int limit;
+
+    LazyJsonSource(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Decode the value starting at an offset, containers are returned as lazy compounds.
+     *
+     * @param offset offset of the first byte of the value.
+     * @return the decoded value.
+     */
+    CompoundElement decode(int offset) {
+        byte b = this.at(offset);
+
+        return switch (b) {
+            case '{' -> new LazyCompoundObject(this, offset);
+            case '[' -> new LazyCompoundArray(this, offset);
+            case '"' -> BinaryCompoundPrimitive.of(this.decodeString(offset, this.skipString(offset)));
+            case 't' -> this.literal(offset, "true", BinaryCompoundPrimitive.of(true));
+            case 'f' -> this.literal(offset, "false", BinaryCompoundPrimitive.of(false));
+            case 'n' -> this.literal(offset, "null", BinaryCompoundNull.NULL);
+            default -> this.decodeNumber(offset);
+        };
+    }
+
+    /**
+     * Skip the value starting at an offset, nested containers are skipped without being decoded.
+     *
+     * @param offset offset of the first byte of the value.
+     * @return the offset right after the value.
+     */
+    int skipValue(int offset) {
+        byte b = this.at(offset);
+
+        if (b == '"')
+            return this.skipString(offset);
+
+        if (b != '{' && b != '[')
+            return this.skipLiteral(offset);
+
+        int depth = 0;
+        for (int i = offset; i < this.limit; i++) {
+            byte c = this.buffer.get(i);
+
+            if (c == '"') {
+                i = this.skipString(i) - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0)
+                    return i + 1;
+            }
+        }
+
+        throw this.error("Unterminated container", offset);
+    }
+
+    /**
+     * Skip a string.
+     *
+     * @param offset offset of the opening quote.
+     * @return the offset right after the closing quote.
+     */
+    int skipString(int offset) {
+        for (int i = offset + 1; i < this.limit; i++) {
+            byte c = this.buffer.get(i);
+
+            if (c == '"')
+                return i + 1;
+
+            if (c == '\\')
+                i++;
+        }
+
+        throw this.error("Unterminated string", offset);
+    }
+
+    int skipWhitespace(int offset) {
+        int i = offset;
+        while (i < this.limit) {
+            byte c = this.buffer.get(i);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                break;
+
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Retrieve the byte at an offset.
+     *
+     * @param offset offset of the byte.
+     * @return the byte.
+     * @throws JsonSyntaxException if the offset is past the end of the document.
+     */
+    byte at(int offset) {
+        if (offset >= this.limit)
+            throw this.error("Unexpected end of document", offset);
+
+        return this.buffer.get(offset);
+    }
+
+    /**
+     * Decode a string.
+     *
+     * @param offset offset of the opening quote.
+     * @param end    offset right after the closing quote.
+     * @return the decoded string.
+     */
+    String decodeString(int offset, int end) {
+        int from = offset + 1;
+        int to = end - 1;
+
+        int escape = from;
+        while (escape < to && this.buffer.get(escape) != '\\') {
+            escape++;
+        }
+
+        if (escape == to)
+            return this.text(from, to);
+
+        StringBuilder builder = new StringBuilder(to - from);
+        int run = from;
+        int i = escape;
+
+        while (i < to) {
+            if (this.buffer.get(i) != '\\') {
+                i++;
+                continue;
+            }
+
+            builder.append(this.text(run, i));
+            byte escaped = this.at(i + 1);
+
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append((char) escaped);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (i + 6 > to)
+                        throw this.error("Malformed unicode escape", i);
+
+                    int value = 0;
+                    for (int digit = i + 2; digit < i + 6; digit++) {
+                        int hex = Character.digit(this.buffer.get(digit), 16);
+                        if (hex < 0)
+                            throw this.error("Malformed unicode escape", i);
+
+                        value = value << 4 | hex;
+                    }
+
+                    builder.append((char) value);
+                    i += 4;
+                }
+                default -> throw this.error("Invalid escape sequence", i);
+            }
+
+            i += 2;
+            run = i;
+        }
+
+        return builder.append(this.text(run, to)).toString();
+    }
+
+    JsonSyntaxException error(String message, int offset) {
+        return new JsonSyntaxException(message + " at offset " + offset + ".");
+    }
+
+    private CompoundElement decodeNumber(int offset) {
+        String text = this.text(offset, this.skipLiteral(offset));
+
+        try {
+            if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                try {
+                    return BinaryCompoundPrimitive.of(Long.parseLong(text));
+                } catch (NumberFormatException ignored) {
+                    // Integer too large for a long, decoded as a double below.
+                }
+            }
+
+            return BinaryCompoundPrimitive.of(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            throw this.error("Malformed value '" + text + "'", offset);
+        }
+    }
+
+    private CompoundElement literal(int offset, String expected, CompoundElement value) {
+        int end = this.skipLiteral(offset);
+        if (!this.text(offset, end).equals(expected))
+            throw this.error("Malformed value '" + this.text(offset, end) + "'", offset);
+
+        return value;
+    }
+
+    private int skipLiteral(int offset) {
+        int i = offset;
+        while (i < this.limit) {
+            byte c = this.buffer.get(i);
+            if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t')
+                break;
+
+            i++;
+        }
+
+        if (i == offset)
+            throw this.error("Expected a value", offset);
+
+        return i;
+    }
+
+    private String text(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        this.buffer.get(from, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
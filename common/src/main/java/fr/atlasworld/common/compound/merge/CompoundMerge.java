@@ -0,0 +1,137 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.merge;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compound Merge, deep merges compounds into each other.
+ * <p>
+ * Merged values are copied through the builder methods of the target, the source and the target may use
+ * different backends. Later changes to the source do not affect the target.
+ *
+ * @see OverlayCompoundObject
+ */
+public final class CompoundMerge {
+    private CompoundMerge() {
+    }
+
+    /**
+     * Deep merge the entries of a source object into a target object.
+     *
+     * @param target object to merge into, modified in place.
+     * @param source object to merge from, left unchanged.
+     * @param policy policy resolving entries defined by both objects, the source is considered the later layer.
+     * @param <T>    type of the target.
+     * @return the target object.
+     * @throws NullPointerException          if {@code target}, {@code source} or {@code policy} is null.
+     * @throws UnsupportedOperationException if the target, or one of its nested objects to merge into, is immutable.
+     */
+    public static <T extends CompoundObject> T merge(@NotNull T target, @NotNull CompoundObject source, @NotNull MergePolicy policy) {
+        Preconditions.checkNotNull(target);
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(policy);
+
+        for (Map.Entry<String, CompoundElement> entry : List.copyOf(source.entrySet())) {
+            String key = entry.getKey();
+            CompoundElement value = entry.getValue();
+
+            if (!target.has(key)) {
+                copyInto(target, key, value);
+                continue;
+            }
+
+            CompoundElement current = target.get(key);
+
+            if (current.isObject() && value.isObject())
+                merge(current.getAsObject(), value.getAsObject(), policy);
+            else if (policy == MergePolicy.APPEND_ARRAYS && current.isArray() && value.isArray())
+                appendAll(current.getAsArray(), value.getAsArray());
+            else if (policy != MergePolicy.KEEP_FIRST)
+                copyInto(target, key, value);
+        }
+
+        return target;
+    }
+
+    /**
+     * Deep merge layers into a target object, as if each layer was merged in order.
+     *
+     * @param target object to merge into, modified in place.
+     * @param policy policy resolving entries defined by multiple layers.
+     * @param layers layers to merge, from the first to the last one.
+     * @param <T>    type of the target.
+     * @return the target object.
+     * @throws NullPointerException if {@code target}, {@code policy}, {@code layers} or one of the layers is null.
+     */
+    public static <T extends CompoundObject> T mergeAll(@NotNull T target, @NotNull MergePolicy policy, @NotNull CompoundObject... layers) {
+        Preconditions.checkNotNull(layers);
+
+        for (CompoundObject layer : layers) {
+            merge(target, layer, policy);
+        }
+
+        return target;
+    }
+
+    /**
+     * Copy a value into an object, using the object's own builder methods.
+     *
+     * @param target object to copy into.
+     * @param key    key of the entry.
+     * @param value  value to copy.
+     */
+    static void copyInto(CompoundObject target, String key, CompoundElement value) {
+        if (value.isObject()) {
+            target.addObject(key, object -> copyEntries(object, value.getAsObject()));
+            return;
+        }
+
+        if (value.isArray()) {
+            target.addArray(key, array -> appendAll(array, value.getAsArray()));
+            return;
+        }
+
+        target.add(key, value); // Primitives and nulls are converted as is, keeping their exact type.
+    }
+
+    /**
+     * Append copies of all the elements of an array to another array, using the target's own builder methods.
+     *
+     * @param target array to append to.
+     * @param source array to copy the elements of.
+     */
+    static void appendAll(CompoundArray target, CompoundArray source) {
+        for (CompoundElement element : List.copyOf(source.asList())) {
+            if (element.isObject()) {
+                target.addObject(object -> copyEntries(object, element.getAsObject()));
+                continue;
+            }
+
+            if (element.isArray()) {
+                target.addArray(array -> appendAll(array, element.getAsArray()));
+                continue;
+            }
+
+            target.add(element);
+        }
+    }
+
+    private static void copyEntries(CompoundObject target, CompoundObject source) {
+        for (Map.Entry<String, CompoundElement> entry : source.entrySet()) {
+            copyInto(target, entry.getKey(), entry.getValue());
+        }
+    }
+}
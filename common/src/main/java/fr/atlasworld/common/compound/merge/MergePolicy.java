@@ -0,0 +1,33 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.merge;
+
+/**
+ * Policy resolving conflicts when merging compounds, or when resolving an entry defined by multiple overlay layers.
+ * <p>
+ * Layers are considered from the first one to the last one, objects found under the same key are always merged
+ * recursively using the same policy.
+ */
+public enum MergePolicy {
+    /**
+     * Later values replace earlier ones.
+     */
+    REPLACE,
+
+    /**
+     * Later values replace earlier ones, except arrays which are concatenated in layer order.
+     */
+    APPEND_ARRAYS,
+
+    /**
+     * Earlier values are kept, later values only fill in missing entries.
+     */
+    KEEP_FIRST
+}
@@ -0,0 +1,293 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.merge;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.binary.BinaryCompoundArray;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Overlay Compound Array, a read-only view concatenating the arrays of multiple layers.
+ * <p>
+ * Nothing is copied: indices are resolved against the current size of every part,
+ * so the view always reflects the current state of its parts.
+ * Nested containers are returned as read-only views.
+ * <p>
+ * All the mutating methods of {@link CompoundArray} throw an {@link UnsupportedOperationException}.
+ *
+ * @see OverlayCompoundObject
+ */
+public final class OverlayCompoundArray extends AbstractCompoundElement implements CompoundArray {
+    private final MergePolicy policy;
+    private final ImmutableList<CompoundArray> parts;
+
+    OverlayCompoundArray(MergePolicy policy, List<CompoundArray> parts) {
+        this.policy = policy;
+        this.parts = ImmutableList.copyOf(parts);
+    }
+
+    /**
+     * Create a view concatenating the provided arrays.
+     *
+     * @param parts arrays to concatenate, in order.
+     * @return the concatenated view.
+     * @throws NullPointerException if {@code parts} or one of the arrays is null.
+     */
+    public static OverlayCompoundArray concat(@NotNull CompoundArray... parts) {
+        Preconditions.checkNotNull(parts);
+
+        return new OverlayCompoundArray(MergePolicy.REPLACE, ImmutableList.copyOf(parts));
+    }
+
+    /**
+     * Retrieve the arrays concatenated by this view.
+     *
+     * @return <strong>immutable</strong> list of the arrays, in order.
+     */
+    public List<CompoundArray> parts() {
+        return this.parts;
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        for (CompoundArray part : this.parts) {
+            if (part.contains(element))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (CompoundArray part : this.parts) {
+            size += part.size();
+        }
+
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (CompoundArray part : this.parts) {
+            if (!part.isEmpty())
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        Objects.checkIndex(index, this.size());
+
+        int offset = index;
+        for (CompoundArray part : this.parts) {
+            int size = part.size();
+            if (offset < size)
+                return OverlayCompounds.view(part.get(offset), this.policy);
+
+            offset -= size;
+        }
+
+        throw new IndexOutOfBoundsException(index); // Unreachable, the index was checked against the total size.
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new AbstractList<>() {
+            @Override
+            public CompoundElement get(int index) {
+                return OverlayCompoundArray.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return OverlayCompoundArray.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.asList().iterator();
+    }
+
+    @Override
+    public String toJson() {
+        return OverlayCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(2, 0) + CompoundSizes.arraySize(this.parts.size(), CompoundSizes.REFERENCE);
+    }
+
+    /**
+     * Materialize the elements of this view into a new binary array.
+     *
+     * @return an independent copy of the elements of this view.
+     */
+    @Override
+    public CompoundArray clone() {
+        BinaryCompoundArray copy = new BinaryCompoundArray();
+        for (CompoundArray part : this.parts) {
+            CompoundMerge.appendAll(copy, part);
+        }
+
+        return copy;
+    }
+}
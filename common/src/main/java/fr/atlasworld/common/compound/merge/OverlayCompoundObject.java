@@ -0,0 +1,381 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.merge;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.binary.BinaryCompoundNull;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Overlay Compound Object, a read-only view resolving its entries through a stack of layers.
+ * <p>
+ * Nothing is copied: every lookup falls through the layers and resolves conflicts with the {@link MergePolicy}
+ * of the overlay, so the view always reflects the current state of its layers.
+ * Nested objects defined by multiple layers are overlaid as well, and arrays are concatenated
+ * when using {@link MergePolicy#APPEND_ARRAYS}.
+ * <p>
+ * The resolved entries are the same as the ones obtained by merging every layer in order with
+ * {@link CompoundMerge#mergeAll(CompoundObject, MergePolicy, CompoundObject...)}, use {@link #clone()}
+ * to materialize them when the same entries are read repeatedly.
+ * <p>
+ * All the mutating methods of {@link CompoundObject} throw an {@link UnsupportedOperationException},
+ * nested containers are returned as read-only views as well.
+ */
+public final class OverlayCompoundObject extends AbstractCompoundElement implements CompoundObject {
+    private final MergePolicy policy;
+    private final ImmutableList<CompoundObject> layers;
+
+    OverlayCompoundObject(MergePolicy policy, List<CompoundObject> layers) {
+        this.policy = policy;
+        this.layers = ImmutableList.copyOf(layers);
+    }
+
+    /**
+     * Create an overlay over the provided layers, later layers replace the entries of earlier ones.
+     *
+     * @param layers layers of the overlay, from the bottom to the top.
+     * @return the overlay.
+     * @throws NullPointerException if {@code layers} or one of the layers is null.
+     */
+    public static OverlayCompoundObject of(@NotNull CompoundObject... layers) {
+        return of(MergePolicy.REPLACE, Arrays.asList(Preconditions.checkNotNull(layers)));
+    }
+
+    /**
+     * Create an overlay over the provided layers.
+     *
+     * @param policy policy resolving entries defined by multiple layers.
+     * @param layers layers of the overlay, from the bottom to the top.
+     * @return the overlay.
+     * @throws NullPointerException if {@code policy}, {@code layers} or one of the layers is null.
+     */
+    public static OverlayCompoundObject of(@NotNull MergePolicy policy, @NotNull List<? extends CompoundObject> layers) {
+        Preconditions.checkNotNull(policy);
+        Preconditions.checkNotNull(layers);
+
+        return new OverlayCompoundObject(policy, ImmutableList.copyOf(layers));
+    }
+
+    /**
+     * Derive an overlay with an additional layer on top of the existing ones.
+     *
+     * @param layer layer to add.
+     * @return the new overlay, this overlay is left unchanged.
+     * @throws NullPointerException if {@code layer} is null.
+     */
+    public OverlayCompoundObject withLayer(@NotNull CompoundObject layer) {
+        Preconditions.checkNotNull(layer);
+
+        return new OverlayCompoundObject(this.policy, ImmutableList.<CompoundObject>builderWithExpectedSize(this.layers.size() + 1)
+                .addAll(this.layers).add(layer).build());
+    }
+
+    /**
+     * Retrieve the layers of this overlay.
+     *
+     * @return <strong>immutable</strong> list of the layers, from the bottom to the top.
+     */
+    public List<CompoundObject> layers() {
+        return this.layers;
+    }
+
+    /**
+     * Retrieve the policy resolving entries defined by multiple layers.
+     *
+     * @return the merge policy of this overlay.
+     */
+    public MergePolicy policy() {
+        return this.policy;
+    }
+
+    @Override
+    public boolean isObject() {
+        return true;
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        return this;
+    }
+
+    @Override
+    public CompoundElement remove(@NotNull String key) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, boolean value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, double value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, long value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, int value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte[] value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, char value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull String value) {
+        throw new UnsupportedOperationException(OverlayCompounds.READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public Set<Map.Entry<String, CompoundElement>> entrySet() {
+        return this.asMap().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return this.keys().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (CompoundObject layer : this.layers) {
+            if (!layer.isEmpty())
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        for (CompoundObject layer : this.layers) {
+            if (layer.has(key))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public CompoundElement get(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        CompoundElement element = this.resolve(key);
+        return element == null ? BinaryCompoundNull.NULL : element;
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+        return this.get(key).getAsPrimitive();
+    }
+
+    @Override
+    public CompoundArray getAsArray(@NotNull String key) {
+        return this.get(key).getAsArray();
+    }
+
+    @Override
+    public CompoundObject getAsObject(@NotNull String key) {
+        return this.get(key).getAsObject();
+    }
+
+    @Override
+    public Map<String, CompoundElement> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, CompoundElement>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, CompoundElement>> iterator() {
+                        Iterator<String> keys = OverlayCompoundObject.this.keys().iterator();
+
+                        return new Iterator<>() {
+                            @Override
+                            public boolean hasNext() {
+                                return keys.hasNext();
+                            }
+
+                            @Override
+                            public Entry<String, CompoundElement> next() {
+                                String key = keys.next();
+                                return new SimpleImmutableEntry<>(key, OverlayCompoundObject.this.get(key));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return OverlayCompoundObject.this.size();
+                    }
+                };
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof String string && OverlayCompoundObject.this.has(string);
+            }
+
+            @Override
+            public CompoundElement get(Object key) {
+                return key instanceof String string ? OverlayCompoundObject.this.resolve(string) : null;
+            }
+
+            @Override
+            public int size() {
+                return OverlayCompoundObject.this.size();
+            }
+        };
+    }
+
+    @Override
+    public String toJson() {
+        return OverlayCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(2, 0) + CompoundSizes.arraySize(this.layers.size(), CompoundSizes.REFERENCE);
+    }
+
+    /**
+     * Materialize the resolved entries of this overlay into a new binary object.
+     *
+     * @return an independent copy of the entries of this overlay.
+     */
+    @Override
+    public CompoundObject clone() {
+        return CompoundMerge.mergeAll(new BinaryCompoundObject(), this.policy, this.layers.toArray(CompoundObject[]::new));
+    }
+
+    // Keys of every layer, in the order they first appear from the bottom layer.
+    private Set<String> keys() {
+        if (this.layers.size() == 1)
+            return this.layers.get(0).asMap().keySet();
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (CompoundObject layer : this.layers) {
+            keys.addAll(layer.asMap().keySet());
+        }
+
+        return keys;
+    }
+
+    private CompoundElement resolve(String key) {
+        if (this.policy == MergePolicy.KEEP_FIRST)
+            return this.resolveFirst(key);
+
+        // The last value wins, unless it is a container merged with the containers of the same kind right below it.
+        int top = this.layers.size() - 1;
+        while (top >= 0 && !this.layers.get(top).has(key)) {
+            top--;
+        }
+
+        if (top < 0)
+            return null;
+
+        CompoundElement value = this.layers.get(top).get(key);
+        boolean objects = value.isObject();
+        boolean arrays = !objects && value.isArray() && this.policy == MergePolicy.APPEND_ARRAYS;
+
+        if (!objects && !arrays)
+            return OverlayCompounds.view(value, this.policy);
+
+        ArrayDeque<CompoundElement> run = new ArrayDeque<>();
+        run.addFirst(value);
+
+        for (int i = top - 1; i >= 0; i--) {
+            CompoundObject layer = this.layers.get(i);
+            if (!layer.has(key))
+                continue;
+
+            CompoundElement below = layer.get(key);
+            if (objects ? !below.isObject() : !below.isArray())
+                break;
+
+            run.addFirst(below);
+        }
+
+        if (objects) {
+            List<CompoundObject> objectLayers = new ArrayList<>(run.size());
+            run.forEach(element -> objectLayers.add(element.getAsObject()));
+            return new OverlayCompoundObject(this.policy, objectLayers);
+        }
+
+        List<CompoundArray> arrayParts = new ArrayList<>(run.size());
+        run.forEach(element -> arrayParts.add(element.getAsArray()));
+        return new OverlayCompoundArray(this.policy, arrayParts);
+    }
+
+    // The first value wins, objects are merged with every later object regardless of what sits in between.
+    private CompoundElement resolveFirst(String key) {
+        CompoundElement first = null;
+        List<CompoundObject> objectLayers = null;
+
+        for (CompoundObject layer : this.layers) {
+            if (!layer.has(key))
+                continue;
+
+            CompoundElement value = layer.get(key);
+            if (first == null) {
+                first = value;
+
+                if (!first.isObject())
+                    return OverlayCompounds.view(first, this.policy);
+
+                objectLayers = new ArrayList<>();
+            }
+
+            if (value.isObject())
+                objectLayers.add(value.getAsObject());
+        }
+
+        return first == null ? null : new OverlayCompoundObject(this.policy, objectLayers);
+    }
+}
@@ -0,0 +1,52 @@
+package fr.atlasworld.common.compound.merge;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Internal helpers shared by the overlay compounds.
+ */
+final class OverlayCompounds {
+    static final String READ_ONLY_MESSAGE = "Overlay compounds are read-only views, modify one of their layers instead.";
+
+    private OverlayCompounds() {
+    }
+
+    /**
+     * Wrap an element so it can be exposed by an overlay without giving write access to a layer.
+     *
+     * @param element element to wrap.
+     * @param policy  policy of the overlay.
+     * @return a read-only view of the element, primitives and nulls are immutable and returned as is.
+     */
+    static CompoundElement view(CompoundElement element, MergePolicy policy) {
+        if (element.isObject())
+            return new OverlayCompoundObject(policy, List.of(element.getAsObject()));
+
+        if (element.isArray())
+            return new OverlayCompoundArray(policy, List.of(element.getAsArray()));
+
+        return element;
+    }
+
+    static String toJson(CompoundElement element) {
+        StringWriter writer = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try {
+            new JsonCompoundWriter(jsonWriter).element(element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws.
+        }
+
+        return writer.toString();
+    }
+}
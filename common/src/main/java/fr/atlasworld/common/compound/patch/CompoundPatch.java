@@ -0,0 +1,357 @@
+package fr.atlasworld.common.compound.patch;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonParser;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.json.JsonCompoundElement;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compound Patch, an ordered list of operations turning a compound into another.
+ * <p>
+ * Patches are computed with {@link #diff(CompoundElement, CompoundElement)}, only the changed entries are recorded,
+ * and serialize to a {@code JSON} Patch (RFC 6902) document through {@link #toJson()}.
+ */
+public final class CompoundPatch {
+    public static final CompoundPatch EMPTY = new CompoundPatch(ImmutableList.of());
+
+    private final ImmutableList<PatchOperation> operations;
+
+    private CompoundPatch(ImmutableList<PatchOperation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Create a patch from a list of operations.
+     *
+     * @param operations operations of the patch, in the order they must be applied.
+     * @return the new patch.
+     * @throws NullPointerException if {@code operations} is null.
+     */
+    public static CompoundPatch of(@NotNull List<PatchOperation> operations) {
+        Preconditions.checkNotNull(operations);
+
+        return new CompoundPatch(ImmutableList.copyOf(operations));
+    }
+
+    /**
+     * Compute the patch turning {@code source} into {@code target}.
+     * <p>
+     * Values stored in the patch are copies, later changes to {@code target} do not affect the patch.
+     * Subtrees caching their {@link CompoundElement#digest() digest} are first compared through it,
+     * a matching digest only requires a structural comparison to skip the whole subtree.
+     *
+     * @param source original compound.
+     * @param target updated compound.
+     * @return the patch, empty if both compounds are equal.
+     * @throws NullPointerException if {@code source} or {@code target} is null.
+     */
+    public static CompoundPatch diff(@NotNull CompoundElement source, @NotNull CompoundElement target) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(target);
+
+        ImmutableList.Builder<PatchOperation> operations = ImmutableList.builder();
+        diff(new ArrayList<>(), source, target, operations);
+
+        return new CompoundPatch(operations.build());
+    }
+
+    /**
+     * Read a patch from its compound representation, a {@code JSON} Patch (RFC 6902) array.
+     * <p>
+     * Only the {@code add}, {@code replace} and {@code remove} operations are supported.
+     *
+     * @param patch compound representation of the patch.
+     * @return the patch.
+     * @throws NullPointerException     if {@code patch} is null.
+     * @throws IllegalArgumentException if {@code patch} is not a valid patch.
+     */
+    public static CompoundPatch fromCompound(@NotNull CompoundArray patch) {
+        Preconditions.checkNotNull(patch);
+
+        ImmutableList.Builder<PatchOperation> operations = ImmutableList.builderWithExpectedSize(patch.size());
+        for (CompoundElement element : patch) {
+            Preconditions.checkArgument(element.isObject(), "Patch operations must be objects: %s", element);
+            CompoundObject operation = element.getAsObject();
+
+            Preconditions.checkArgument(operation.has("op") && operation.has("path"), "Malformed patch operation: %s", operation);
+            PatchOperation.Type type = PatchOperation.Type.fromName(operation.get("op").getAsString());
+            List<String> path = PatchOperation.parsePointer(operation.get("path").getAsString());
+
+            if (type == PatchOperation.Type.REMOVE) {
+                operations.add(new PatchOperation(type, path, null));
+                continue;
+            }
+
+            Preconditions.checkArgument(operation.has("value"), "Missing value in patch operation: %s", operation);
+            operations.add(new PatchOperation(type, path, operation.get("value")));
+        }
+
+        return new CompoundPatch(operations.build());
+    }
+
+    /**
+     * Read a patch from a {@code JSON} Patch (RFC 6902) document.
+     *
+     * @param json {@code JSON} Patch document.
+     * @return the patch.
+     * @throws NullPointerException               if {@code json} is null.
+     * @throws IllegalArgumentException           if {@code json} is not a valid patch.
+     * @throws com.google.gson.JsonParseException if {@code json} is not valid {@code JSON}.
+     */
+    public static CompoundPatch fromJson(@NotNull String json) {
+        Preconditions.checkNotNull(json);
+
+        CompoundElement patch = JsonCompoundElement.toCompound(JsonParser.parseString(json));
+        Preconditions.checkArgument(patch.isArray(), "A patch must be an array: %s", json);
+
+        return fromCompound(patch.getAsArray());
+    }
+
+    /**
+     * Apply this patch to a compound.
+     * <p>
+     * Objects and arrays are modified in place, values are copied before being added to {@code root},
+     * so a patch can be applied to any number of compounds.
+     * Values of any backend are converted into the backend of {@code root} as they are added.
+     *
+     * @param root compound to patch.
+     * @return the patched compound, {@code root} itself unless an operation replaces the whole compound.
+     * @throws NullPointerException  if {@code root} is null.
+     * @throws IllegalStateException if an operation targets an element that does not exist.
+     */
+    public CompoundElement apply(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        CompoundElement result = root;
+        for (PatchOperation operation : this.operations) {
+            result = apply(result, operation);
+        }
+
+        return result;
+    }
+
+    /**
+     * Retrieve the operations of this patch.
+     *
+     * @return <strong>immutable</strong> list of the operations, in the order they are applied.
+     */
+    public List<PatchOperation> operations() {
+        return this.operations;
+    }
+
+    /**
+     * Checks whether this patch has no operation.
+     *
+     * @return true if this patch does not change anything, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.operations.isEmpty();
+    }
+
+    /**
+     * Convert this patch into a {@code JSON} Patch (RFC 6902) document.
+     *
+     * @return this patch as a {@code JSON} Patch document.
+     */
+    public String toJson() {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(stringWriter);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try {
+            CompoundWriter writer = new JsonCompoundWriter(jsonWriter);
+            writer.beginArray();
+
+            for (PatchOperation operation : this.operations) {
+                writer.beginObject()
+                        .name("op").value(operation.type().getName())
+                        .name("path").value(operation.pointer());
+
+                if (operation.value() != null)
+                    writer.name("value").element(operation.value());
+
+                writer.endObject();
+            }
+
+            writer.endArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws.
+        }
+
+        return stringWriter.toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.toJson();
+    }
+
+    private static void diff(List<String> path, CompoundElement source, CompoundElement target,
+                             ImmutableList.Builder<PatchOperation> operations) {
+
+        if (source == target)
+            return;
+
+        // Digests are only compared when both are cached, computing them at every level would walk the trees again
+        // and again. A match is still confirmed, two different trees may share a digest.
+        if (source.isDigestCached() && target.isDigestCached() && source.digest() == target.digest()
+                && CompoundHashing.equals(source, target))
+            return;
+
+        if (source.isObject() && target.isObject()) {
+            CompoundObject sourceObject = source.getAsObject();
+            CompoundObject targetObject = target.getAsObject();
+
+            for (Map.Entry<String, CompoundElement> entry : sourceObject.entrySet()) {
+                path.add(entry.getKey());
+
+                if (targetObject.has(entry.getKey()))
+                    diff(path, entry.getValue(), targetObject.get(entry.getKey()), operations);
+                else
+                    operations.add(new PatchOperation(PatchOperation.Type.REMOVE, path, null));
+
+                path.remove(path.size() - 1);
+            }
+
+            for (Map.Entry<String, CompoundElement> entry : targetObject.entrySet()) {
+                if (sourceObject.has(entry.getKey()))
+                    continue;
+
+                path.add(entry.getKey());
+                operations.add(new PatchOperation(PatchOperation.Type.ADD, path, entry.getValue().clone()));
+                path.remove(path.size() - 1);
+            }
+            return;
+        }
+
+        if (source.isArray() && target.isArray()) {
+            CompoundArray sourceArray = source.getAsArray();
+            CompoundArray targetArray = target.getAsArray();
+            int common = Math.min(sourceArray.size(), targetArray.size());
+
+            for (int i = 0; i < common; i++) {
+                path.add(Integer.toString(i));
+                diff(path, sourceArray.get(i), targetArray.get(i), operations);
+                path.remove(path.size() - 1);
+            }
+
+            for (int i = common; i < targetArray.size(); i++) {
+                path.add(Integer.toString(i));
+                operations.add(new PatchOperation(PatchOperation.Type.ADD, path, targetArray.get(i).clone()));
+                path.remove(path.size() - 1);
+            }
+
+            // Remove from the end so the indices of the remaining elements stay valid.
+            for (int i = sourceArray.size() - 1; i >= common; i--) {
+                path.add(Integer.toString(i));
+                operations.add(new PatchOperation(PatchOperation.Type.REMOVE, path, null));
+                path.remove(path.size() - 1);
+            }
+            return;
+        }
+
+        if (!CompoundHashing.equals(source, target))
+            operations.add(new PatchOperation(PatchOperation.Type.REPLACE, path, target.clone()));
+    }
+
+    private static CompoundElement apply(CompoundElement root, PatchOperation operation) {
+        List<String> path = operation.path();
+
+        if (path.isEmpty()) {
+            if (operation.type() == PatchOperation.Type.REMOVE)
+                throw new IllegalStateException("Cannot remove the root of a compound.");
+
+            return operation.value().clone();
+        }
+
+        CompoundElement parent = root;
+        for (int i = 0; i < path.size() - 1; i++) {
+            parent = child(parent, path.get(i), operation);
+        }
+
+        String token = path.get(path.size() - 1);
+
+        if (parent.isObject()) {
+            CompoundObject object = parent.getAsObject();
+
+            if (operation.type() != PatchOperation.Type.ADD && !object.has(token))
+                throw new IllegalStateException("No element at " + operation.pointer());
+
+            if (operation.type() == PatchOperation.Type.REMOVE)
+                object.remove(token);
+            else
+                object.add(token, operation.value().clone());
+
+            return root;
+        }
+
+        if (parent.isArray()) {
+            CompoundArray array = parent.getAsArray();
+
+            if (operation.type() == PatchOperation.Type.ADD) {
+                int index = token.equals("-") ? array.size() : index(token, array.size() + 1, operation);
+                insert(array, index, operation.value().clone());
+                return root;
+            }
+
+            int index = index(token, array.size(), operation);
+            if (operation.type() == PatchOperation.Type.REMOVE)
+                array.remove(index);
+            else
+                array.set(index, operation.value().clone());
+
+            return root;
+        }
+
+        throw new IllegalStateException("Not a container at " + operation.pointer());
+    }
+
+    private static CompoundElement child(CompoundElement parent, String token, PatchOperation operation) {
+        if (parent.isObject() && parent.getAsObject().has(token))
+            return parent.getAsObject().get(token);
+
+        if (parent.isArray())
+            return parent.getAsArray().get(index(token, parent.getAsArray().size(), operation));
+
+        throw new IllegalStateException("No element at " + operation.pointer());
+    }
+
+    private static int index(String token, int bound, PatchOperation operation) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0 && index < bound)
+                return index;
+        } catch (NumberFormatException ignored) {
+        }
+
+        throw new IllegalStateException("Invalid array index '" + token + "' at " + operation.pointer());
+    }
+
+    // Compound arrays can only append, inserting shifts the following elements by one.
+    private static void insert(CompoundArray array, int index, CompoundElement value) {
+        int size = array.size();
+        if (index == size) {
+            array.add(value);
+            return;
+        }
+
+        array.add(array.get(size - 1));
+        for (int i = size - 1; i > index; i--) {
+            array.set(i, array.get(i - 1));
+        }
+
+        array.set(index, value);
+    }
+}
@@ -0,0 +1,95 @@
+package fr.atlasworld.common.compound.patch;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import fr.atlasworld.common.compound.CompoundElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Single operation of a {@link CompoundPatch}.
+ *
+ * @param type  type of the operation.
+ * @param path  keys and array indices leading to the element targeted by the operation, empty for the root.
+ * @param value value of the operation, null for {@link Type#REMOVE} operations.
+ */
+public record PatchOperation(@NotNull Type type, @NotNull List<String> path, @Nullable CompoundElement value) {
+
+    public PatchOperation {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(path);
+        Preconditions.checkArgument((value == null) == (type == Type.REMOVE), "Only remove operations have no value.");
+
+        path = ImmutableList.copyOf(path);
+    }
+
+    /**
+     * Retrieve the path of this operation as a {@code JSON} Pointer (RFC 6901).
+     *
+     * @return the path of this operation as a {@code JSON} Pointer.
+     */
+    public String pointer() {
+        StringBuilder builder = new StringBuilder();
+        for (String token : this.path) {
+            builder.append('/').append(token.replace("~", "~0").replace("/", "~1"));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Parse a {@code JSON} Pointer (RFC 6901) into path tokens.
+     *
+     * @param pointer pointer to parse.
+     * @return the tokens of the pointer.
+     * @throws IllegalArgumentException if {@code pointer} is not a valid pointer.
+     */
+    static List<String> parsePointer(String pointer) {
+        if (pointer.isEmpty())
+            return ImmutableList.of();
+
+        Preconditions.checkArgument(pointer.charAt(0) == '/', "Invalid JSON Pointer: %s", pointer);
+
+        ImmutableList.Builder<String> tokens = ImmutableList.builder();
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+
+        return tokens.build();
+    }
+
+    /**
+     * Type of patch operation, matching the {@code JSON} Patch (RFC 6902) operations of the same name.
+     */
+    public enum Type {
+        ADD("add"),
+        REPLACE("replace"),
+        REMOVE("remove");
+
+        private final String name;
+
+        Type(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Retrieve the {@code JSON} Patch name of this operation.
+         *
+         * @return name of this operation.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        static Type fromName(String name) {
+            for (Type type : values()) {
+                if (type.name.equals(name))
+                    return type;
+            }
+
+            throw new IllegalArgumentException("Unsupported patch operation: " + name);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package fr.atlasworld.common.compound.path;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.json.JsonCompoundElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Compound Path, a compiled expression locating elements inside a compound.
+ * <p>
+ * Expressions are made of keys separated by dots, and of bracket selectors:
+ * <ul>
+ *     <li>{@code key}: the entry of an object, {@code ["key"]} or {@code ['key']} allow any character in the key.</li>
+ *     <li>{@code [3]}: the element of an array, negative indices count from the end of the array.</li>
+ *     <li>{@code *} or {@code [*]}: every value of an object or every element of an array.</li>
+ * </ul>
+ * For example {@code a.b[3].c} or {@code players[*].stats.kills}. An empty expression locates the root itself.
+ * <p>
+ * Paths are immutable and thread-safe, {@link #compile(String)} caches compiled expressions so they can be compiled on the fly.
+ * When evaluated on a Json backed compound the path navigates Gson's tree directly,
+ * only the returned elements are wrapped and the typed getters do not create any wrapper at all.
+ */
+public final class CompoundPath {
+    private static final Cache<String, CompoundPath> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .build();
+
+    private final String expression;
+    private final ImmutableList<PathSegment> segments;
+    private final boolean wildcard;
+
+    private CompoundPath(String expression, ImmutableList<PathSegment> segments) {
+        this.expression = expression;
+        this.segments = segments;
+        this.wildcard = segments.contains(PathSegment.Wildcard.INSTANCE);
+    }
+
+    /**
+     * Compile a path expression, compiled paths are cached.
+     *
+     * @param expression expression to compile.
+     * @return the compiled path.
+     * @throws NullPointerException     if {@code expression} is null.
+     * @throws IllegalArgumentException if {@code expression} is not a valid path expression.
+     */
+    public static CompoundPath compile(@NotNull String expression) {
+        Preconditions.checkNotNull(expression);
+
+        CompoundPath path = CACHE.getIfPresent(expression);
+        if (path == null) {
+            path = new CompoundPath(expression, PathParser.parse(expression));
+            CACHE.put(expression, path);
+        }
+
+        return path;
+    }
+
+    /**
+     * Checks whether this path contains a wildcard and may therefore select multiple elements.
+     *
+     * @return true if this path contains a wildcard, false otherwise.
+     */
+    public boolean isWildcard() {
+        return this.wildcard;
+    }
+
+    /**
+     * Checks whether at least one element is located by this path.
+     *
+     * @param root compound to evaluate this path on.
+     * @return true if at least one element matches, false otherwise.
+     * @throws NullPointerException if {@code root} is null.
+     */
+    public boolean has(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json)
+            return this.first(PathTree.JSON, JsonCompoundElement.fromCompound(json)) != null;
+
+        return this.first(PathTree.COMPOUND, root) != null;
+    }
+
+    /**
+     * Retrieve the first element located by this path.
+     *
+     * @param root compound to evaluate this path on.
+     * @return the first matching element, or null if no element matches.
+     * @throws NullPointerException if {@code root} is null.
+     */
+    @Nullable
+    public CompoundElement get(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json) {
+            JsonElement element = this.first(PathTree.JSON, JsonCompoundElement.fromCompound(json));
+            return element == null ? null : JsonCompoundElement.toCompound(element);
+        }
+
+        return this.first(PathTree.COMPOUND, root);
+    }
+
+    /**
+     * Retrieve every element located by this path, in document order.
+     *
+     * @param root compound to evaluate this path on.
+     * @return list of the matching elements.
+     * @throws NullPointerException if {@code root} is null.
+     */
+    public List<CompoundElement> select(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        List<CompoundElement> results = new ArrayList<>();
+        if (root instanceof JsonCompoundElement json)
+            this.evaluate(PathTree.JSON, JsonCompoundElement.fromCompound(json), 0, element -> {
+                results.add(JsonCompoundElement.toCompound(element));
+                return false;
+            });
+        else
+            this.evaluate(PathTree.COMPOUND, root, 0, element -> {
+                results.add(element);
+                return false;
+            });
+
+        return results;
+    }
+
+    /**
+     * Retrieve the first element located by this path as a {@code boolean}.
+     *
+     * @param root compound to evaluate this path on.
+     * @return the value of the first matching element.
+     * @throws NullPointerException          if {@code root} is null.
+     * @throws NoSuchElementException        if no element matches.
+     * @throws UnsupportedOperationException if the element is not a {@code boolean}.
+     */
+    public boolean getBoolean(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json)
+            return this.require(PathTree.JSON, JsonCompoundElement.fromCompound(json)).getAsBoolean();
+
+        return this.require(PathTree.COMPOUND, root).getAsBoolean();
+    }
+
+    /**
+     * Retrieve the first element located by this path as a {@code double}.
+     *
+     * @param root compound to evaluate this path on.
+     * @return the value of the first matching element.
+     * @throws NullPointerException          if {@code root} is null.
+     * @throws NoSuchElementException        if no element matches.
+     * @throws UnsupportedOperationException if the element is not a {@code double}.
+     */
+    public double getDouble(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json)
+            return this.require(PathTree.JSON, JsonCompoundElement.fromCompound(json)).getAsDouble();
+
+        return this.require(PathTree.COMPOUND, root).getAsDouble();
+    }
+
+    /**
+     * Retrieve the first element located by this path as a {@code long}.
+     *
+     * @param root compound to evaluate this path on.
+     * @return the value of the first matching element.
+     * @throws NullPointerException          if {@code root} is null.
+     * @throws NoSuchElementException        if no element matches.
+     * @throws UnsupportedOperationException if the element is not a {@code long}.
+     */
+    public long getLong(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json)
+            return this.require(PathTree.JSON, JsonCompoundElement.fromCompound(json)).getAsLong();
+
+        return this.require(PathTree.COMPOUND, root).getAsLong();
+    }
+
+    /**
+     * Retrieve the first element located by this path as an {@code int}.
+     *
+     * @param root compound to evaluate this path on.
+     * @return the value of the first matching element.
+     * @throws NullPointerException          if {@code root} is null.
+     * @throws NoSuchElementException        if no element matches.
+     * @throws UnsupportedOperationException if the element is not an {@code int}.
+     */
+    public int getInt(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json)
+            return this.require(PathTree.JSON, JsonCompoundElement.fromCompound(json)).getAsInt();
+
+        return this.require(PathTree.COMPOUND, root).getAsInt();
+    }
+
+    /**
+     * Retrieve the first element located by this path as a string.
+     *
+     * @param root compound to evaluate this path on.
+     * @return the value of the first matching element.
+     * @throws NullPointerException          if {@code root} is null.
+     * @throws NoSuchElementException        if no element matches.
+     * @throws UnsupportedOperationException if the element is not a string.
+     */
+    public String getString(@NotNull CompoundElement root) {
+        Preconditions.checkNotNull(root);
+
+        if (root instanceof JsonCompoundElement json)
+            return this.require(PathTree.JSON, JsonCompoundElement.fromCompound(json)).getAsString();
+
+        return this.require(PathTree.COMPOUND, root).getAsString();
+    }
+
+    private <N> N require(PathTree<N> tree, N root) {
+        N element = this.first(tree, root);
+        if (element == null)
+            throw new NoSuchElementException("No element at path: " + this.expression);
+
+        return element;
+    }
+
+    private <N> N first(PathTree<N> tree, N root) {
+        if (!this.wildcard) {
+            N node = root;
+            for (PathSegment segment : this.segments) {
+                node = step(tree, node, segment);
+                if (node == null)
+                    return null;
+            }
+
+            return node;
+        }
+
+        List<N> results = new ArrayList<>(1);
+        this.evaluate(tree, root, 0, results::add); // Stops at the first match.
+
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    // The consumer returns true to stop the evaluation, which then returns true as well.
+    private <N> boolean evaluate(PathTree<N> tree, N node, int depth, Predicate<N> consumer) {
+        if (depth == this.segments.size())
+            return consumer.test(node);
+
+        PathSegment segment = this.segments.get(depth);
+        if (segment instanceof PathSegment.Wildcard)
+            return tree.anyChild(node, child -> this.evaluate(tree, child, depth + 1, consumer));
+
+        N child = step(tree, node, segment);
+        return child != null && this.evaluate(tree, child, depth + 1, consumer);
+    }
+
+    private static <N> N step(PathTree<N> tree, N node, PathSegment segment) {
+        if (segment instanceof PathSegment.Key key)
+            return tree.member(node, key.key());
+
+        return tree.element(node, ((PathSegment.Index) segment).index());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
+        return obj instanceof CompoundPath other && this.segments.equals(other.segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.segments.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+}
@@ -0,0 +1,123 @@
+package fr.atlasworld.common.compound.path;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Parser of {@link CompoundPath} expressions.
+ */
+final class PathParser {
+    private final String expression;
+    private int position;
+
+    private PathParser(String expression) {
+        this.expression = expression;
+    }
+
+    static ImmutableList<PathSegment> parse(String expression) {
+        return new PathParser(expression).parse();
+    }
+
+    private ImmutableList<PathSegment> parse() {
+        ImmutableList.Builder<PathSegment> segments = ImmutableList.builder();
+        if (this.expression.isEmpty())
+            return segments.build();
+
+        if (this.peek() != '[')
+            segments.add(this.key());
+
+        while (this.position < this.expression.length()) {
+            char c = this.expression.charAt(this.position++);
+
+            if (c == '.')
+                segments.add(this.key());
+            else if (c == '[')
+                segments.add(this.bracket());
+            else
+                throw this.error("Expected '.' or '['");
+        }
+
+        return segments.build();
+    }
+
+    private PathSegment key() {
+        int start = this.position;
+        while (this.position < this.expression.length() && this.peek() != '.' && this.peek() != '[' && this.peek() != ']') {
+            this.position++;
+        }
+
+        if (start == this.position)
+            throw this.error("Expected a key");
+
+        String key = this.expression.substring(start, this.position);
+        return key.equals("*") ? PathSegment.Wildcard.INSTANCE : new PathSegment.Key(key);
+    }
+
+    private PathSegment bracket() {
+        if (this.position >= this.expression.length())
+            throw this.error("Unterminated '['");
+
+        char c = this.peek();
+        PathSegment segment;
+
+        if (c == '*') {
+            this.position++;
+            segment = PathSegment.Wildcard.INSTANCE;
+        } else if (c == '"' || c == '\'') {
+            segment = new PathSegment.Key(this.quoted(c));
+        } else {
+            segment = new PathSegment.Index(this.index());
+        }
+
+        if (this.position >= this.expression.length() || this.expression.charAt(this.position++) != ']')
+            throw this.error("Expected ']'");
+
+        return segment;
+    }
+
+    private String quoted(char quote) {
+        StringBuilder builder = new StringBuilder();
+        this.position++;
+
+        while (this.position < this.expression.length()) {
+            char c = this.expression.charAt(this.position++);
+
+            if (c == quote)
+                return builder.toString();
+
+            if (c == '\\') {
+                if (this.position >= this.expression.length())
+                    break;
+
+                c = this.expression.charAt(this.position++);
+            }
+
+            builder.append(c);
+        }
+
+        throw this.error("Unterminated quoted key");
+    }
+
+    private int index() {
+        int start = this.position;
+        if (this.position < this.expression.length() && this.peek() == '-')
+            this.position++;
+
+        while (this.position < this.expression.length() && Character.isDigit(this.peek())) {
+            this.position++;
+        }
+
+        try {
+            return Integer.parseInt(this.expression.substring(start, this.position));
+        } catch (NumberFormatException e) {
+            throw this.error("Expected an index, '*' or a quoted key");
+        }
+    }
+
+    private char peek() {
+        return this.expression.charAt(this.position);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + this.position + " in path: " + this.expression);
+    }
+}
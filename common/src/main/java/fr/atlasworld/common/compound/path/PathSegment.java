@@ -0,0 +1,39 @@
+package fr.atlasworld.common.compound.path;
+
+/**
+ * Single step of a compiled {@link CompoundPath}.
+ */
+sealed interface PathSegment {
+
+    /**
+     * Selects the entry of an object with the given key.
+     */
+    record Key(String key) implements PathSegment {
+        @Override
+        public String toString() {
+            return this.key;
+        }
+    }
+
+    /**
+     * Selects the element of an array at the given index, negative indices count from the end of the array.
+     */
+    record Index(int index) implements PathSegment {
+        @Override
+        public String toString() {
+            return "[" + this.index + "]";
+        }
+    }
+
+    /**
+     * Selects every value of an object or every element of an array.
+     */
+    record Wildcard() implements PathSegment {
+        static final Wildcard INSTANCE = new Wildcard();
+
+        @Override
+        public String toString() {
+            return "*";
+        }
+    }
+}
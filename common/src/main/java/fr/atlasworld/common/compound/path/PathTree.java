@@ -0,0 +1,117 @@
+package fr.atlasworld.common.compound.path;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Navigation strategy over a tree of nodes, allows paths to be evaluated on the raw nodes of a backend.
+ *
+ * @param <N> type of the nodes.
+ */
+interface PathTree<N> {
+
+    /**
+     * Navigates directly on Gson's nodes, no compound wrapper is created along the way.
+     */
+    PathTree<JsonElement> JSON = new PathTree<>() {
+        @Override
+        public JsonElement member(JsonElement node, String key) {
+            return node instanceof JsonObject object ? object.get(key) : null;
+        }
+
+        @Override
+        public JsonElement element(JsonElement node, int index) {
+            if (!(node instanceof JsonArray array))
+                return null;
+
+            int resolved = index < 0 ? array.size() + index : index;
+            return resolved >= 0 && resolved < array.size() ? array.get(resolved) : null;
+        }
+
+        @Override
+        public boolean anyChild(JsonElement node, Predicate<JsonElement> predicate) {
+            if (node instanceof JsonObject object) {
+                for (JsonElement value : object.asMap().values()) {
+                    if (predicate.test(value))
+                        return true;
+                }
+            } else if (node instanceof JsonArray array) {
+                for (JsonElement element : array) {
+                    if (predicate.test(element))
+                        return true;
+                }
+            }
+
+            return false;
+        }
+    };
+
+    /**
+     * Navigates through the compound interfaces, used for any backend.
+     */
+    PathTree<CompoundElement> COMPOUND = new PathTree<>() {
+        @Override
+        public CompoundElement member(CompoundElement node, String key) {
+            if (!node.isObject())
+                return null;
+
+            CompoundObject object = node.getAsObject();
+            return object.has(key) ? object.get(key) : null;
+        }
+
+        @Override
+        public CompoundElement element(CompoundElement node, int index) {
+            if (!node.isArray())
+                return null;
+
+            CompoundArray array = node.getAsArray();
+            int resolved = index < 0 ? array.size() + index : index;
+            return resolved >= 0 && resolved < array.size() ? array.get(resolved) : null;
+        }
+
+        @Override
+        public boolean anyChild(CompoundElement node, Predicate<CompoundElement> predicate) {
+            if (node.isObject()) {
+                for (Map.Entry<String, CompoundElement> entry : node.getAsObject().entrySet()) {
+                    if (predicate.test(entry.getValue()))
+                        return true;
+                }
+            } else if (node.isArray()) {
+                for (CompoundElement element : node.getAsArray()) {
+                    if (predicate.test(element))
+                        return true;
+                }
+            }
+
+            return false;
+        }
+    };
+
+    /**
+     * Retrieve the entry of an object.
+     *
+     * @return the entry, or null if the node is not an object or has no such entry.
+     */
+    N member(N node, String key);
+
+    /**
+     * Retrieve the element of an array.
+     *
+     * @return the element, or null if the node is not an array or the index is out of bounds.
+     */
+    N element(N node, int index);
+
+    /**
+     * Visit the values of an object or the elements of an array in order, until one of them matches the predicate.
+     *
+     * @return true if a child matched, false if every child was visited or the node is neither an object nor an array.
+     */
+    boolean anyChild(N node, Predicate<N> predicate);
+}
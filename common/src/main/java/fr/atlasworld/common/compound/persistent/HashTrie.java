@@ -0,0 +1,326 @@
+package fr.atlasworld.common.compound.persistent;
+
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundSizes;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent hash array mapped trie, the entries of a {@link PersistentCompoundObject}.
+ * <p>
+ * Each level consumes 5 bits of the key hash, nodes only hold the slots in use.
+ * An update copies the nodes on the path to the entry, {@code O(log32 n)}, every other node is shared.
+ * <p>
+ * Nodes store their slots as key-value pairs, a {@code null} key means the value is a nested {@link Node}.
+ */
+final class HashTrie {
+    static final HashTrie EMPTY = new HashTrie(new BitmapNode(0, new Object[0]), 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8; // 7 bitmap levels cover the 32 hash bits, then a collision node.
+
+    private final Node root;
+    private final int size;
+
+    private HashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    Node root() {
+        return this.root;
+    }
+
+    CompoundElement get(String key) {
+        return this.root.find(0, key.hashCode(), key);
+    }
+
+    /**
+     * Derive a trie with the provided entry added or replaced.
+     *
+     * @return the updated trie, or this trie if the key already maps to this exact value.
+     */
+    HashTrie put(String key, CompoundElement value) {
+        boolean[] added = new boolean[1];
+        Node root = this.root.put(0, key.hashCode(), key, value, added);
+        if (root == this.root)
+            return this;
+
+        return new HashTrie(root, added[0] ? this.size + 1 : this.size);
+    }
+
+    /**
+     * Derive a trie without the entry of the provided key.
+     *
+     * @return the updated trie, or this trie if there was no such entry.
+     */
+    HashTrie remove(String key) {
+        Node root = this.root.remove(0, key.hashCode(), key);
+        if (root == this.root)
+            return this;
+
+        return root == null ? EMPTY : new HashTrie(root, this.size - 1);
+    }
+
+    Iterator<Map.Entry<String, CompoundElement>> iterator() {
+        return new EntryIterator(this.root);
+    }
+
+    /**
+     * Estimate the memory retained by the trie nodes and keys, values are not included.
+     */
+    long shallowSize() {
+        return CompoundSizes.instanceSize(1, 4) + nodeSize(this.root);
+    }
+
+    private static long nodeSize(Node node) {
+        long size = CompoundSizes.instanceSize(1, 4) + CompoundSizes.arraySize(node.array.length, CompoundSizes.REFERENCE);
+        for (int i = 0; i < node.array.length; i += 2) {
+            size += node.array[i] instanceof String key
+                    ? CompoundSizes.stringSize(key)
+                    : nodeSize((Node) node.array[i + 1]);
+        }
+
+        return size;
+    }
+
+    private static int fragment(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static Node split(int shift, String firstKey, CompoundElement firstValue, int hash, String key, CompoundElement value) {
+        int firstHash = firstKey.hashCode();
+        if (firstHash == hash)
+            return new CollisionNode(hash, new Object[]{firstKey, firstValue, key, value});
+
+        boolean[] added = new boolean[1];
+        return new BitmapNode(0, new Object[0])
+                .put(shift, firstHash, firstKey, firstValue, added)
+                .put(shift, hash, key, value, added);
+    }
+
+    private static Object[] insertPair(Object[] array, int index, Object key, Object value) {
+        Object[] copy = new Object[array.length + 2];
+        System.arraycopy(array, 0, copy, 0, index);
+        copy[index] = key;
+        copy[index + 1] = value;
+        System.arraycopy(array, index, copy, index + 2, array.length - index);
+        return copy;
+    }
+
+    private static Object[] removePair(Object[] array, int index) {
+        Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 2, copy, index, array.length - index - 2);
+        return copy;
+    }
+
+    private static Object[] replace(Object[] array, int index, Object value) {
+        Object[] copy = array.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    abstract static class Node {
+        final Object[] array;
+
+        private Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract CompoundElement find(int shift, int hash, String key);
+
+        /**
+         * @return the updated node, or this node if nothing changed.
+         */
+        abstract Node put(int shift, int hash, String key, CompoundElement value, boolean[] added);
+
+        /**
+         * @return the updated node, this node if nothing changed, or {@code null} once empty.
+         */
+        abstract Node remove(int shift, int hash, String key);
+    }
+
+    static final class BitmapNode extends Node {
+        private final int bitmap;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        CompoundElement find(int shift, int hash, String key) {
+            int bit = 1 << fragment(hash, shift);
+            if ((this.bitmap & bit) == 0)
+                return null;
+
+            int index = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+            Object slotKey = this.array[index];
+            if (slotKey == null)
+                return ((Node) this.array[index + 1]).find(shift + BITS, hash, key);
+
+            return key.equals(slotKey) ? (CompoundElement) this.array[index + 1] : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, String key, CompoundElement value, boolean[] added) {
+            int bit = 1 << fragment(hash, shift);
+            int index = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+
+            if ((this.bitmap & bit) == 0) {
+                added[0] = true;
+                return new BitmapNode(this.bitmap | bit, insertPair(this.array, index, key, value));
+            }
+
+            Object slotKey = this.array[index];
+            Object slotValue = this.array[index + 1];
+
+            if (slotKey == null) {
+                Node child = ((Node) slotValue).put(shift + BITS, hash, key, value, added);
+                return child == slotValue ? this : new BitmapNode(this.bitmap, replace(this.array, index + 1, child));
+            }
+
+            if (key.equals(slotKey))
+                return slotValue == value ? this : new BitmapNode(this.bitmap, replace(this.array, index + 1, value));
+
+            added[0] = true;
+            Node child = split(shift + BITS, (String) slotKey, (CompoundElement) slotValue, hash, key, value);
+
+            Object[] copy = this.array.clone();
+            copy[index] = null;
+            copy[index + 1] = child;
+            return new BitmapNode(this.bitmap, copy);
+        }
+
+        @Override
+        Node remove(int shift, int hash, String key) {
+            int bit = 1 << fragment(hash, shift);
+            if ((this.bitmap & bit) == 0)
+                return this;
+
+            int index = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+            Object slotKey = this.array[index];
+            Object slotValue = this.array[index + 1];
+
+            if (slotKey == null) {
+                Node child = ((Node) slotValue).remove(shift + BITS, hash, key);
+                if (child == slotValue)
+                    return this;
+
+                if (child != null)
+                    return new BitmapNode(this.bitmap, replace(this.array, index + 1, child));
+            } else if (!key.equals(slotKey)) {
+                return this;
+            }
+
+            if (this.bitmap == bit)
+                return null;
+
+            return new BitmapNode(this.bitmap ^ bit, removePair(this.array, index));
+        }
+    }
+
+    static final class CollisionNode extends Node {
+        private final int hash;
+
+        private CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (key.equals(this.array[i]))
+                    return i;
+            }
+
+            return -1;
+        }
+
+        @Override
+        CompoundElement find(int shift, int hash, String key) {
+            int index = this.indexOf(key);
+            return index < 0 ? null : (CompoundElement) this.array[index + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, String key, CompoundElement value, boolean[] added) {
+            if (hash != this.hash) // Nest this node one level down, next to the new entry.
+                return new BitmapNode(1 << fragment(this.hash, shift), new Object[]{null, this})
+                        .put(shift, hash, key, value, added);
+
+            int index = this.indexOf(key);
+            if (index >= 0)
+                return this.array[index + 1] == value ? this : new CollisionNode(hash, replace(this.array, index + 1, value));
+
+            added[0] = true;
+            return new CollisionNode(hash, insertPair(this.array, this.array.length, key, value));
+        }
+
+        @Override
+        Node remove(int shift, int hash, String key) {
+            int index = this.indexOf(key);
+            if (index < 0)
+                return this;
+
+            return this.array.length == 2 ? null : new CollisionNode(this.hash, removePair(this.array, index));
+        }
+    }
+
+    private static final class EntryIterator implements Iterator<Map.Entry<String, CompoundElement>> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private Map.Entry<String, CompoundElement> next;
+
+        private EntryIterator(Node root) {
+            this.arrays[0] = root.array;
+            this.next = this.advance();
+        }
+
+        private Map.Entry<String, CompoundElement> advance() {
+            while (this.depth >= 0) {
+                Object[] array = this.arrays[this.depth];
+                int position = this.positions[this.depth];
+
+                if (position >= array.length) {
+                    this.depth--;
+                    continue;
+                }
+
+                this.positions[this.depth] = position + 2;
+                if (array[position] instanceof String key)
+                    return Map.entry(key, (CompoundElement) array[position + 1]);
+
+                this.depth++;
+                this.arrays[this.depth] = ((Node) array[position + 1]).array;
+                this.positions[this.depth] = 0;
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<String, CompoundElement> next() {
+            Map.Entry<String, CompoundElement> entry = this.next;
+            if (entry == null)
+                throw new NoSuchElementException();
+
+            this.next = this.advance();
+            return entry;
+        }
+    }
+}
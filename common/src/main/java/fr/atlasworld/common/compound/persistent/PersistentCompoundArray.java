@@ -0,0 +1,371 @@
+package fr.atlasworld.common.compound.persistent;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.AbstractCompoundElement;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundHashing;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Persistent Compound Array, an immutable array that shares its structure with the arrays derived from it.
+ * <p>
+ * Cloning is free since the array can never change, updates are made through the {@code with}, {@code plus}
+ * and {@code without} methods which return a new array, nested elements are shared between the old and the new array.
+ * <p>
+ * Elements are held in a persistent vector, replacing and appending an element only copy the nodes
+ * on the path to its leaf, {@code O(log32 n)} instead of the whole array.
+ * <p>
+ * All the mutating methods of {@link CompoundArray} throw an {@link UnsupportedOperationException}.
+ */
+public final class PersistentCompoundArray extends AbstractCompoundElement implements CompoundArray {
+    public static final PersistentCompoundArray EMPTY = new PersistentCompoundArray(VectorTrie.EMPTY);
+
+    private final VectorTrie elements;
+
+    private long digest;
+    private volatile boolean digested;
+
+    private PersistentCompoundArray(VectorTrie elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Create a persistent copy of an array, nested objects and arrays are copied as well.
+     *
+     * @param array array to copy.
+     * @return the persistent copy, or the same instance if the array already is persistent.
+     * @throws NullPointerException if {@code array} is null.
+     */
+    public static PersistentCompoundArray copyOf(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        if (array instanceof PersistentCompoundArray persistent)
+            return persistent;
+
+        VectorTrie elements = VectorTrie.EMPTY;
+        for (CompoundElement element : array) {
+            elements = elements.add(PersistentCompounds.freeze(element));
+        }
+
+        return new PersistentCompoundArray(elements);
+    }
+
+    /**
+     * Derive an array with the element at the specified position replaced.
+     *
+     * @param index index of the element to replace.
+     * @param value element to replace with, mutable compounds are copied.
+     * @return the updated array, this array is left unchanged.
+     * @throws IndexOutOfBoundsException if the specified index is outside the array bounds.
+     * @throws NullPointerException      if {@code value} is null.
+     */
+    public PersistentCompoundArray with(int index, @NotNull CompoundElement value) {
+        Preconditions.checkElementIndex(index, this.elements.size());
+        Preconditions.checkNotNull(value);
+
+        CompoundElement frozen = PersistentCompounds.freeze(value);
+        if (this.elements.get(index) == frozen)
+            return this;
+
+        return new PersistentCompoundArray(this.elements.set(index, frozen));
+    }
+
+    /**
+     * Derive an array with the provided element appended.
+     *
+     * @param value element to append, mutable compounds are copied.
+     * @return the updated array, this array is left unchanged.
+     * @throws NullPointerException if {@code value} is null.
+     */
+    public PersistentCompoundArray plus(@NotNull CompoundElement value) {
+        Preconditions.checkNotNull(value);
+
+        return new PersistentCompoundArray(this.elements.add(PersistentCompounds.freeze(value)));
+    }
+
+    public PersistentCompoundArray plus(boolean value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(double value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(long value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(int value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(byte value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(byte[] value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(char value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundArray plus(@NotNull String value) {
+        return this.plus(BinaryCompoundPrimitive.of(value));
+    }
+
+    /**
+     * Derive an array without the element at the specified position.
+     * <p>
+     * The elements before the index are shared, only the elements after it are appended again,
+     * removing the last element is {@code O(log32 n)}.
+     *
+     * @param index index of the element to remove.
+     * @return the updated array, this array is left unchanged.
+     * @throws IndexOutOfBoundsException if the specified index is outside the array bounds.
+     */
+    public PersistentCompoundArray without(int index) {
+        Preconditions.checkElementIndex(index, this.elements.size());
+
+        VectorTrie elements = this.elements.take(index);
+        for (int i = index + 1; i < this.elements.size(); i++) {
+            elements = elements.add(this.elements.get(i));
+        }
+
+        return new PersistentCompoundArray(elements);
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        for (CompoundElement value : this) {
+            if (value.equals(element))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.elements.size() == 0;
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        Preconditions.checkElementIndex(index, this.elements.size());
+
+        return this.elements.get(index);
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new ListView();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.elements.iterator();
+    }
+
+    @Override
+    public String toJson() {
+        return PersistentCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(1, 9) + this.elements.shallowSize();
+    }
+
+    @Override
+    public long digest() {
+        if (!this.digested) {
+            this.digest = CompoundHashing.digest(this);
+            this.digested = true;
+        }
+
+        return this.digest;
+    }
+
+    @Override
+    public boolean isDigestCached() {
+        return true;
+    }
+
+    @Override
+    public PersistentCompoundArray clone() {
+        return this; // Immutable
+    }
+
+    private final class ListView extends AbstractList<CompoundElement> implements RandomAccess {
+        @Override
+        public CompoundElement get(int index) {
+            return PersistentCompoundArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PersistentCompoundArray.this.elements.size();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<CompoundElement> iterator() {
+            return PersistentCompoundArray.this.elements.iterator();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package fr.atlasworld.common.compound.persistent;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import fr.atlasworld.common.compound.binary.BinaryCompoundNull;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Persistent Compound Object, an immutable object that shares its structure with the objects derived from it.
+ * <p>
+ * Cloning is free since the object can never change, updates are made through the {@code with} methods
+ * which return a new object and only copy the nodes on the path to the changed entry,
+ * every untouched nested element is shared between the old and the new object.
+ * <p>
+ * Entries are held in a hash array mapped trie, an update only copies the trie nodes on the path to the key,
+ * {@code O(log32 n)} per level instead of the whole object. Entries are not kept in insertion order.
+ * <p>
+ * All the mutating methods of {@link CompoundObject} throw an {@link UnsupportedOperationException}.
+ */
+public final class PersistentCompoundObject extends AbstractCompoundElement implements CompoundObject {
+    public static final PersistentCompoundObject EMPTY = new PersistentCompoundObject(HashTrie.EMPTY);
+
+    private final HashTrie entries;
+
+    private long digest;
+    private volatile boolean digested; // Published after the digest, the digest is then safe to read.
+
+    private PersistentCompoundObject(HashTrie entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Create a persistent copy of an object, nested objects and arrays are copied as well.
+     *
+     * @param object object to copy.
+     * @return the persistent copy, or the same instance if the object already is persistent.
+     * @throws NullPointerException if {@code object} is null.
+     */
+    public static PersistentCompoundObject copyOf(@NotNull CompoundObject object) {
+        Preconditions.checkNotNull(object);
+
+        if (object instanceof PersistentCompoundObject persistent)
+            return persistent;
+
+        HashTrie entries = HashTrie.EMPTY;
+        for (Map.Entry<String, CompoundElement> entry : object.entrySet()) {
+            entries = entries.put(entry.getKey(), PersistentCompounds.freeze(entry.getValue()));
+        }
+
+        return new PersistentCompoundObject(entries);
+    }
+
+    /**
+     * Derive an object with the provided entry added or replaced.
+     *
+     * @param key   key of the entry.
+     * @param value value of the entry, mutable compounds are copied.
+     * @return the updated object, this object is left unchanged.
+     * @throws NullPointerException if {@code key} or {@code value} is null.
+     */
+    public PersistentCompoundObject with(@NotNull String key, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+
+        HashTrie entries = this.entries.put(key, PersistentCompounds.freeze(value));
+        return entries == this.entries ? this : new PersistentCompoundObject(entries);
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, boolean value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, double value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, long value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, int value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, byte value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, byte[] value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, char value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    public PersistentCompoundObject with(@NotNull String key, @NotNull String value) {
+        return this.with(key, BinaryCompoundPrimitive.of(value));
+    }
+
+    /**
+     * Derive an object with the provided nested entry added or replaced.
+     * <p>
+     * Only the objects along the path are copied, missing objects along the path are created.
+     *
+     * @param path  keys leading to the entry, the last key is the key of the entry itself.
+     * @param value value of the entry, mutable compounds are copied.
+     * @return the updated object, this object is left unchanged.
+     * @throws NullPointerException     if {@code path} or {@code value} is null.
+     * @throws IllegalArgumentException if {@code path} is empty.
+     * @throws IllegalStateException    if an element along the path is not a {@link CompoundObject}.
+     */
+    public PersistentCompoundObject withIn(@NotNull List<String> path, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(path);
+        Preconditions.checkArgument(!path.isEmpty(), "Path must not be empty.");
+
+        String key = path.get(0);
+        if (path.size() == 1)
+            return this.with(key, value);
+
+        CompoundElement child = this.entries.get(key);
+        PersistentCompoundObject childObject = child == null ? EMPTY : (PersistentCompoundObject) child.getAsObject();
+
+        return this.with(key, childObject.withIn(path.subList(1, path.size()), value));
+    }
+
+    /**
+     * Derive an object without the entry of the provided key.
+     *
+     * @param key key of the entry to remove.
+     * @return the updated object, or this object if there was no such entry.
+     * @throws NullPointerException if {@code key} is null.
+     */
+    public PersistentCompoundObject without(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        HashTrie entries = this.entries.remove(key);
+        return entries == this.entries ? this : new PersistentCompoundObject(entries);
+    }
+
+    @Override
+    public boolean isObject() {
+        return true;
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        return this;
+    }
+
+    @Override
+    public CompoundElement remove(@NotNull String key) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, boolean value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, double value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, long value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, int value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte[] value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, char value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull String value) {
+        throw new UnsupportedOperationException(PersistentCompounds.IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public Set<Map.Entry<String, CompoundElement>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.entries.size() == 0;
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        return this.entries.get(key) != null;
+    }
+
+    @Override
+    public CompoundElement get(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        CompoundElement element = this.entries.get(key);
+        return element == null ? BinaryCompoundNull.NULL : element;
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+        return this.get(key).getAsPrimitive();
+    }
+
+    @Override
+    public CompoundArray getAsArray(@NotNull String key) {
+        return this.get(key).getAsArray();
+    }
+
+    @Override
+    public CompoundObject getAsObject(@NotNull String key) {
+        return this.get(key).getAsObject();
+    }
+
+    @Override
+    public Map<String, CompoundElement> asMap() {
+        return new MapView();
+    }
+
+    @Override
+    public String toJson() {
+        return PersistentCompounds.toJson(this);
+    }
+
+    @Override
+    protected long shallowSize() {
+        return CompoundSizes.instanceSize(1, 9) + this.entries.shallowSize();
+    }
+
+    @Override
+    public long digest() {
+        if (!this.digested) {
+            this.digest = CompoundHashing.digest(this);
+            this.digested = true;
+        }
+
+        return this.digest;
+    }
+
+    @Override
+    public boolean isDigestCached() {
+        return true;
+    }
+
+    @Override
+    public PersistentCompoundObject clone() {
+        return this; // Immutable
+    }
+
+    private final class MapView extends AbstractMap<String, CompoundElement> {
+        @Override
+        public CompoundElement get(Object key) {
+            return key instanceof String string ? PersistentCompoundObject.this.entries.get(string) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return PersistentCompoundObject.this.entries.size();
+        }
+
+        @Override
+        public Set<Map.Entry<String, CompoundElement>> entrySet() {
+            return new EntrySet();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, CompoundElement>> {
+        @Override
+        public Iterator<Map.Entry<String, CompoundElement>> iterator() {
+            return PersistentCompoundObject.this.entries.iterator();
+        }
+
+        @Override
+        public int size() {
+            return PersistentCompoundObject.this.entries.size();
+        }
+    }
+}
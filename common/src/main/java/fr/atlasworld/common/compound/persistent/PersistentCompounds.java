@@ -0,0 +1,55 @@
+package fr.atlasworld.common.compound.persistent;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Internal helpers shared by the persistent compounds.
+ */
+final class PersistentCompounds {
+    static final String IMMUTABLE_MESSAGE = "Persistent compounds are immutable, use the 'with' methods to derive an updated compound.";
+
+    private PersistentCompounds() {
+    }
+
+    /**
+     * Convert an element into an immutable element that can be shared safely.
+     * <p>
+     * Primitives and nulls are immutable and are shared as is, containers are copied into persistent containers.
+     *
+     * @param element element to freeze.
+     * @return the immutable element.
+     */
+    static CompoundElement freeze(CompoundElement element) {
+        if (element instanceof PersistentCompoundObject || element instanceof PersistentCompoundArray)
+            return element;
+
+        if (element.isObject())
+            return PersistentCompoundObject.copyOf(element.getAsObject());
+
+        if (element.isArray())
+            return PersistentCompoundArray.copyOf(element.getAsArray());
+
+        return element;
+    }
+
+    static String toJson(CompoundElement element) {
+        StringWriter writer = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try {
+            new JsonCompoundWriter(jsonWriter).element(element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws.
+        }
+
+        return writer.toString();
+    }
+}
@@ -0,0 +1,221 @@
+package fr.atlasworld.common.compound.persistent;
+
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundSizes;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent vector, the elements of a {@link PersistentCompoundArray}.
+ * <p>
+ * Elements are stored in leaves of 32 elements under a trie of 32-wide nodes, the last leaf is kept apart as the tail.
+ * Reading, replacing and appending copy at most one node per level, {@code O(log32 n)}, every other node is shared.
+ */
+final class VectorTrie {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final VectorTrie EMPTY = new VectorTrie(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private VectorTrie(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private int tailOffset() {
+        return this.size < WIDTH ? 0 : ((this.size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Retrieve the leaf holding the element at the specified index, the tail for the last elements.
+     */
+    Object[] leafFor(int index) {
+        if (index >= this.tailOffset())
+            return this.tail;
+
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+
+        return node;
+    }
+
+    CompoundElement get(int index) {
+        return (CompoundElement) this.leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Derive a vector with the element at the specified index replaced, the index must be within bounds.
+     */
+    VectorTrie set(int index, CompoundElement value) {
+        if (index >= this.tailOffset()) {
+            Object[] tail = this.tail.clone();
+            tail[index & MASK] = value;
+            return new VectorTrie(this.size, this.shift, this.root, tail);
+        }
+
+        return new VectorTrie(this.size, this.shift, set(this.shift, this.root, index, value), this.tail);
+    }
+
+    private static Object[] set(int level, Object[] node, int index, CompoundElement value) {
+        Object[] copy = node.clone();
+        if (level == 0)
+            copy[index & MASK] = value;
+        else
+            copy[(index >>> level) & MASK] = set(level - BITS, (Object[]) node[(index >>> level) & MASK], index, value);
+
+        return copy;
+    }
+
+    VectorTrie add(CompoundElement value) {
+        if (this.size - this.tailOffset() < WIDTH) {
+            Object[] tail = new Object[this.tail.length + 1];
+            System.arraycopy(this.tail, 0, tail, 0, this.tail.length);
+            tail[this.tail.length] = value;
+            return new VectorTrie(this.size + 1, this.shift, this.root, tail);
+        }
+
+        // The tail is full, it becomes a leaf of the trie.
+        Object[] root;
+        int shift = this.shift;
+        if ((this.size >>> BITS) > (1 << this.shift)) {
+            root = new Object[WIDTH];
+            root[0] = this.root;
+            root[1] = newPath(this.shift, this.tail);
+            shift += BITS;
+        } else {
+            root = this.pushTail(this.shift, this.root, this.tail);
+        }
+
+        return new VectorTrie(this.size + 1, shift, root, new Object[]{value});
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        int index = ((this.size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+
+        if (level == BITS) {
+            copy[index] = leaf;
+        } else {
+            Object[] child = (Object[]) parent[index];
+            copy[index] = child != null ? this.pushTail(level - BITS, child, leaf) : newPath(level - BITS, leaf);
+        }
+
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0)
+            return leaf;
+
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Derive a vector holding the first elements only, {@code count} must not exceed the size.
+     * <p>
+     * Only the nodes on the path to the new last element are copied.
+     */
+    VectorTrie take(int count) {
+        if (count == this.size)
+            return this;
+
+        if (count == 0)
+            return EMPTY;
+
+        int tailOffset = this.tailOffset();
+        if (count > tailOffset) {
+            Object[] tail = new Object[count - tailOffset];
+            System.arraycopy(this.tail, 0, tail, 0, tail.length);
+            return new VectorTrie(count, this.shift, this.root, tail);
+        }
+
+        // The leaf holding the new last element becomes the tail.
+        Object[] leaf = this.leafFor(count - 1);
+        Object[] tail = new Object[((count - 1) & MASK) + 1];
+        System.arraycopy(leaf, 0, tail, 0, tail.length);
+
+        int kept = ((count - 1) >>> BITS) << BITS;
+        if (kept == 0)
+            return new VectorTrie(count, BITS, EMPTY.root, tail);
+
+        Object[] root = trim(this.shift, this.root, kept);
+        int shift = this.shift;
+        while (shift > BITS && root[1] == null) {
+            root = (Object[]) root[0];
+            shift -= BITS;
+        }
+
+        return new VectorTrie(count, shift, root, tail);
+    }
+
+    private static Object[] trim(int level, Object[] node, int count) {
+        if (count == WIDTH << level)
+            return node; // Full subtree, shared.
+
+        int last = (count - 1) >>> level;
+        Object[] copy = new Object[WIDTH];
+        System.arraycopy(node, 0, copy, 0, last);
+        copy[last] = level == BITS ? node[last] : trim(level - BITS, (Object[]) node[last], count - (last << level));
+        return copy;
+    }
+
+    Iterator<CompoundElement> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < VectorTrie.this.size;
+            }
+
+            @Override
+            public CompoundElement next() {
+                if (this.index >= VectorTrie.this.size)
+                    throw new NoSuchElementException();
+
+                if ((this.index & MASK) == 0)
+                    this.leaf = VectorTrie.this.leafFor(this.index);
+
+                return (CompoundElement) this.leaf[this.index++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Estimate the memory retained by the trie nodes, elements are not included.
+     */
+    long shallowSize() {
+        return CompoundSizes.instanceSize(2, 8) + CompoundSizes.arraySize(this.tail.length, CompoundSizes.REFERENCE)
+                + nodeSize(this.shift, this.root);
+    }
+
+    private static long nodeSize(int level, Object[] node) {
+        long size = CompoundSizes.arraySize(node.length, CompoundSizes.REFERENCE);
+        if (level > 0) {
+            for (Object child : node) {
+                if (child != null)
+                    size += nodeSize(level - BITS, (Object[]) child);
+            }
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.tracking;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change Tracker, records the paths changed in a tracked compound since it was last marked clean.
+ * <p>
+ * Paths are made of the keys and array indices leading to the changed element, empty for the root.
+ * Changes are collapsed: once a path is dirty, changes made below it are not recorded separately.
+ * Operations shifting the elements of an array mark the whole array as dirty,
+ * changes later made through views retrieved from it before the shift are recorded against the whole array as well.
+ * <p>
+ * A tracker is shared by every view of the same tracked compound, it is not thread-safe.
+ *
+ * @see TrackedCompoundObject
+ */
+public final class ChangeTracker {
+    private final Map<List<String>, Long> shifts = new HashMap<>();
+    private Node root = new Node();
+    private long revision;
+
+    ChangeTracker() {
+    }
+
+    /**
+     * Checks whether anything changed since the last {@link #markClean()}.
+     *
+     * @return true if at least one change was recorded, false otherwise.
+     */
+    public boolean isDirty() {
+        return this.root.dirty || !this.root.children.isEmpty();
+    }
+
+    /**
+     * Checks whether the subtree at a path changed since the last {@link #markClean()}.
+     * <p>
+     * A subtree is dirty if an element within it changed, or if one of its parents was replaced as a whole.
+     *
+     * @param path keys and array indices leading to the subtree, empty for the root.
+     * @return true if the subtree changed, false if it can be skipped.
+     * @throws NullPointerException if {@code path} is null.
+     */
+    public boolean isDirty(@NotNull List<String> path) {
+        Preconditions.checkNotNull(path);
+
+        Node node = this.root;
+        for (String token : path) {
+            if (node.dirty)
+                return true;
+
+            node = node.children.get(token);
+            if (node == null)
+                return false;
+        }
+
+        return node.dirty || !node.children.isEmpty();
+    }
+
+    /**
+     * Retrieve the changed paths, none of them is nested in another one.
+     * <p>
+     * Writing the element at each of these paths is enough to persist every change.
+     * A path may point to an element that no longer exists, which means it was removed.
+     *
+     * @return <strong>immutable</strong> list of the changed paths.
+     */
+    public List<List<String>> dirtyPaths() {
+        ImmutableList.Builder<List<String>> paths = ImmutableList.builder();
+        collect(this.root, new ArrayList<>(), paths);
+
+        return paths.build();
+    }
+
+    /**
+     * Retrieve the number of times the tracked compound was changed since it started being tracked.
+     * <p>
+     * Unlike the dirty paths, the revision is not reset by {@link #markClean()}.
+     *
+     * @return the revision of the tracked compound.
+     */
+    public long revision() {
+        return this.revision;
+    }
+
+    /**
+     * Forget every recorded change, usually once the changes have been persisted.
+     */
+    public void markClean() {
+        this.root = new Node();
+    }
+
+    void record(List<String> parent, String token) {
+        this.revision++;
+
+        Node node = this.root;
+        for (String parentToken : parent) {
+            if (node.dirty)
+                return;
+
+            node = node.children.computeIfAbsent(parentToken, key -> new Node());
+        }
+
+        if (node.dirty)
+            return;
+
+        if (token == null) {
+            node.dirty = true;
+            node.children.clear();
+            return;
+        }
+
+        Node child = node.children.computeIfAbsent(token, key -> new Node());
+        child.dirty = true;
+        child.children.clear();
+    }
+
+    long shifts(List<String> array) {
+        return this.shifts.getOrDefault(array, 0L);
+    }
+
+    void shifted(List<String> array) {
+        this.shifts.merge(ImmutableList.copyOf(array), 1L, Long::sum);
+    }
+
+    private static void collect(Node node, List<String> path, ImmutableList.Builder<List<String>> paths) {
+        if (node.dirty) {
+            paths.add(ImmutableList.copyOf(path));
+            return;
+        }
+
+        for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+            path.add(entry.getKey());
+            collect(entry.getValue(), path, paths);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private boolean dirty;
+    }
+}
@@ -0,0 +1,370 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.tracking;
+
+import com.google.common.base.Preconditions;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Tracked Compound Array, records every change made to an array in a {@link ChangeTracker}.
+ * <p>
+ * Appending or replacing an element marks that element as dirty,
+ * removing an element shifts the following ones and marks the whole array as dirty.
+ * Views retrieved from the array before such a shift record their later changes against the whole array,
+ * their index may no longer point to them.
+ *
+ * @see TrackedCompoundObject
+ */
+public final class TrackedCompoundArray extends AbstractCompoundElement implements CompoundArray {
+    private final CompoundArray delegate;
+    private final TrackedPath path;
+
+    TrackedCompoundArray(CompoundArray delegate, TrackedPath path) {
+        this.delegate = delegate;
+        this.path = path;
+    }
+
+    /**
+     * Start tracking the changes made to an array.
+     *
+     * @param array array to track.
+     * @return the tracked view of the array, with a new clean tracker.
+     * @throws NullPointerException if {@code array} is null.
+     */
+    public static TrackedCompoundArray track(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        return new TrackedCompoundArray(array, TrackedPath.root(new ChangeTracker()));
+    }
+
+    /**
+     * Retrieve the tracker shared by every view of the tracked compound.
+     *
+     * @return the change tracker.
+     */
+    public ChangeTracker tracker() {
+        return this.path.tracker();
+    }
+
+    /**
+     * Retrieve the path of this view from the root of the tracked compound.
+     * <p>
+     * Indices in the path are the ones this view was retrieved at, they are not updated when an array shifts its elements.
+     *
+     * @return <strong>immutable</strong> path of this view, empty for the root.
+     */
+    public List<String> path() {
+        return this.path.tokens();
+    }
+
+    /**
+     * Checks whether this array, or anything within it, changed since the tracker was last marked clean.
+     *
+     * @return true if this array changed, false otherwise.
+     */
+    public boolean isDirty() {
+        return this.path.isDirty();
+    }
+
+    /**
+     * Retrieve the wrapped array, changes made directly to it are not tracked.
+     *
+     * @return the wrapped array.
+     */
+    public CompoundArray delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public CompoundArray getAsArray() {
+        return this;
+    }
+
+    @Override
+    public CompoundArray addObject(@NotNull Consumer<CompoundObject> builder) {
+        this.delegate.addObject(builder);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray addArray(@NotNull Consumer<CompoundArray> builder) {
+        this.delegate.addArray(builder);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(@NotNull CompoundElement value) {
+        Preconditions.checkNotNull(value);
+
+        this.delegate.add(TrackedCompounds.unwrap(value));
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(boolean value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(double value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(long value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(int value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(byte value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(byte[] value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(char value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray add(@NotNull String value) {
+        this.delegate.add(value);
+        this.appended(1);
+        return this;
+    }
+
+    @Override
+    public CompoundArray addAll(@NotNull CompoundArray array) {
+        Preconditions.checkNotNull(array);
+
+        int count = array.size();
+        this.delegate.addAll((CompoundArray) TrackedCompounds.unwrap(array));
+        this.appended(count);
+        return this;
+    }
+
+    @Override
+    public CompoundElement setObject(int index, @NotNull Consumer<CompoundObject> builder) {
+        CompoundElement previous = this.delegate.setObject(index, builder);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement setArray(int index, @NotNull Consumer<CompoundArray> builder) {
+        CompoundElement previous = this.delegate.setArray(index, builder);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        CompoundElement previous = this.delegate.set(index, TrackedCompounds.unwrap(element));
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, boolean value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, double value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, long value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, int value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, byte value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, byte[] value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, char value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public CompoundElement set(int index, @NotNull String value) {
+        CompoundElement previous = this.delegate.set(index, value);
+        this.path.record(Integer.toString(index));
+        return previous;
+    }
+
+    @Override
+    public boolean remove(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        boolean removed = this.delegate.remove(TrackedCompounds.unwrap(element));
+        if (removed) {
+            this.path.record(null);
+            this.path.shifted();
+        }
+
+        return removed;
+    }
+
+    @Override
+    public CompoundElement remove(int index) {
+        CompoundElement removed = this.delegate.remove(index);
+
+        // Removing the last element does not shift any other element.
+        if (index == this.delegate.size()) {
+            this.path.record(Integer.toString(index));
+        } else {
+            this.path.record(null);
+            this.path.shifted();
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean contains(@NotNull CompoundElement element) {
+        Preconditions.checkNotNull(element);
+
+        return this.delegate.contains(TrackedCompounds.unwrap(element));
+    }
+
+    @Override
+    public int size() {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.delegate.isEmpty();
+    }
+
+    @Override
+    public CompoundElement get(int index) {
+        return TrackedCompounds.wrap(this.delegate.get(index), this.path.child(Integer.toString(index), true));
+    }
+
+    @Override
+    public List<CompoundElement> asList() {
+        return new AbstractList<>() {
+            @Override
+            public CompoundElement get(int index) {
+                return TrackedCompoundArray.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return TrackedCompoundArray.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<CompoundElement> iterator() {
+        return this.asList().iterator();
+    }
+
+    @Override
+    public String toJson() {
+        return this.delegate.toJson();
+    }
+
+    @Override
+    public long digest() {
+        return this.delegate.digest();
+    }
+
+    @Override
+    public boolean isDigestCached() {
+        return this.delegate.isDigestCached();
+    }
+
+    /**
+     * Clones the wrapped array, the clone is not tracked.
+     *
+     * @return new clone of the wrapped array.
+     */
+    @Override
+    public CompoundArray clone() {
+        return this.delegate.clone();
+    }
+
+    private void appended(int count) {
+        int size = this.delegate.size();
+        for (int i = size - count; i < size; i++) {
+            this.path.record(Integer.toString(i));
+        }
+    }
+}
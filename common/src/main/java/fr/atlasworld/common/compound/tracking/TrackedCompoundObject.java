@@ -0,0 +1,261 @@
+/*
+  AtlasWorld's Proprietary License
+
+  Copyright (c) 2022 - 2024 AtlasWorld Studio. All Rights Reserved.
+
+  This software is proprietary to AtlasWorld Studio and may only be used internally
+  within the organization obtaining the software. Any commercial use, copying, modification,
+  distribution, or exploitation of the software requires express written permission from AtlasWorld Studio.
+*/
+package fr.atlasworld.common.compound.tracking;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import fr.atlasworld.common.compound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tracked Compound Object, records every change made to an object in a {@link ChangeTracker}.
+ * <p>
+ * Tracking is opt-in: wrap an object of any backend with {@link #track(CompoundObject)} and make changes through
+ * the returned view. Nested objects and arrays retrieved from the view are tracked views as well,
+ * changes made directly to the wrapped object are not recorded.
+ * <p>
+ * Persistence layers can then query {@link #tracker()} to write only the changed sections,
+ * or check {@link #isDirty()} on a nested view to skip an unchanged subtree entirely.
+ */
+public final class TrackedCompoundObject extends AbstractCompoundElement implements CompoundObject {
+    private final CompoundObject delegate;
+    private final TrackedPath path;
+
+    TrackedCompoundObject(CompoundObject delegate, TrackedPath path) {
+        this.delegate = delegate;
+        this.path = path;
+    }
+
+    /**
+     * Start tracking the changes made to an object.
+     *
+     * @param object object to track.
+     * @return the tracked view of the object, with a new clean tracker.
+     * @throws NullPointerException if {@code object} is null.
+     */
+    public static TrackedCompoundObject track(@NotNull CompoundObject object) {
+        Preconditions.checkNotNull(object);
+
+        return new TrackedCompoundObject(object, TrackedPath.root(new ChangeTracker()));
+    }
+
+    /**
+     * Retrieve the tracker shared by every view of the tracked compound.
+     *
+     * @return the change tracker.
+     */
+    public ChangeTracker tracker() {
+        return this.path.tracker();
+    }
+
+    /**
+     * Retrieve the path of this view from the root of the tracked compound.
+     * <p>
+     * Indices in the path are the ones this view was retrieved at, they are not updated when an array shifts its elements.
+     *
+     * @return <strong>immutable</strong> path of this view, empty for the root.
+     */
+    public List<String> path() {
+        return this.path.tokens();
+    }
+
+    /**
+     * Checks whether this object, or anything within it, changed since the tracker was last marked clean.
+     *
+     * @return true if this object changed, false otherwise.
+     */
+    public boolean isDirty() {
+        return this.path.isDirty();
+    }
+
+    /**
+     * Retrieve the wrapped object, changes made directly to it are not tracked.
+     *
+     * @return the wrapped object.
+     */
+    public CompoundObject delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public boolean isObject() {
+        return true;
+    }
+
+    @Override
+    public CompoundObject getAsObject() {
+        return this;
+    }
+
+    @Override
+    public CompoundElement remove(@NotNull String key) {
+        Preconditions.checkNotNull(key);
+
+        if (this.delegate.has(key))
+            this.path.record(key);
+
+        return this.delegate.remove(key);
+    }
+
+    @Override
+    public CompoundObject addObject(@NotNull String key, @NotNull Consumer<CompoundObject> builder) {
+        this.delegate.addObject(key, builder);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject addArray(@NotNull String key, @NotNull Consumer<CompoundArray> builder) {
+        this.delegate.addArray(key, builder);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull CompoundElement value) {
+        Preconditions.checkNotNull(value);
+
+        this.delegate.add(key, TrackedCompounds.unwrap(value));
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, boolean value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, double value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, long value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, int value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, byte[] value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, char value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public CompoundObject add(@NotNull String key, @NotNull String value) {
+        this.delegate.add(key, value);
+        this.path.record(key);
+        return this;
+    }
+
+    @Override
+    public Set<Map.Entry<String, CompoundElement>> entrySet() {
+        return this.asMap().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.delegate.isEmpty();
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        return this.delegate.has(key);
+    }
+
+    @Override
+    public CompoundElement get(@NotNull String key) {
+        return TrackedCompounds.wrap(this.delegate.get(key), this.path.child(key, false));
+    }
+
+    @Override
+    public CompoundPrimitive getAsPrimitive(@NotNull String key) {
+        return this.delegate.getAsPrimitive(key);
+    }
+
+    @Override
+    public CompoundArray getAsArray(@NotNull String key) {
+        return this.get(key).getAsArray();
+    }
+
+    @Override
+    public CompoundObject getAsObject(@NotNull String key) {
+        return this.get(key).getAsObject();
+    }
+
+    @Override
+    public Map<String, CompoundElement> asMap() {
+        return Maps.transformEntries(this.delegate.asMap(),
+                (key, value) -> TrackedCompounds.wrap(value, this.path.child(key, false)));
+    }
+
+    @Override
+    public String toJson() {
+        return this.delegate.toJson();
+    }
+
+    @Override
+    public long digest() {
+        return this.delegate.digest();
+    }
+
+    @Override
+    public boolean isDigestCached() {
+        return this.delegate.isDigestCached();
+    }
+
+    /**
+     * Clones the wrapped object, the clone is not tracked.
+     *
+     * @return new clone of the wrapped object.
+     */
+    @Override
+    public CompoundObject clone() {
+        return this.delegate.clone();
+    }
+}
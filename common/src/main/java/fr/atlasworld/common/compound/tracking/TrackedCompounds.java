@@ -0,0 +1,47 @@
+package fr.atlasworld.common.compound.tracking;
+
+import fr.atlasworld.common.compound.CompoundElement;
+
+/**
+ * Internal helpers shared by the tracked compounds.
+ */
+final class TrackedCompounds {
+    private TrackedCompounds() {
+    }
+
+    /**
+     * Wrap an element retrieved from a tracked container, so changes made through it are tracked as well.
+     *
+     * @param element element to wrap.
+     * @param path    location of the element.
+     * @return the tracked view, primitives and nulls are immutable and returned as is.
+     */
+    static CompoundElement wrap(CompoundElement element, TrackedPath path) {
+        if (element instanceof TrackedCompoundObject || element instanceof TrackedCompoundArray)
+            return element;
+
+        if (element.isObject())
+            return new TrackedCompoundObject(element.getAsObject(), path);
+
+        if (element.isArray())
+            return new TrackedCompoundArray(element.getAsArray(), path);
+
+        return element;
+    }
+
+    /**
+     * Retrieve the element actually stored by a tracked view, so it can be added to a backend container.
+     *
+     * @param element element to unwrap.
+     * @return the wrapped element, or the element itself if it is not a tracked view.
+     */
+    static CompoundElement unwrap(CompoundElement element) {
+        if (element instanceof TrackedCompoundObject object)
+            return object.delegate();
+
+        if (element instanceof TrackedCompoundArray array)
+            return array.delegate();
+
+        return element;
+    }
+}
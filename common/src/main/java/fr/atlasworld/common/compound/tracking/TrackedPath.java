@@ -0,0 +1,84 @@
+package fr.atlasworld.common.compound.tracking;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Location of a tracked view within its tracked compound.
+ * <p>
+ * Views retrieved from an array are located by index, which no longer points to them once the array shifts its elements.
+ * The tracker counts the shifts made within each outermost array, the first array met from the root. Once that array
+ * shifted since a view was retrieved from it, changes made through the view are recorded against the whole array.
+ */
+final class TrackedPath {
+    private final ChangeTracker tracker;
+    private final List<String> tokens;
+    private final int anchor; // Length of the path of the outermost array containing the view, or of the whole path.
+    private final long epoch;
+
+    private TrackedPath(ChangeTracker tracker, List<String> tokens, int anchor, long epoch) {
+        this.tracker = tracker;
+        this.tokens = tokens;
+        this.anchor = anchor;
+        this.epoch = epoch;
+    }
+
+    static TrackedPath root(ChangeTracker tracker) {
+        return new TrackedPath(tracker, ImmutableList.of(), 0, 0);
+    }
+
+    /**
+     * Retrieve the location of a child of this view.
+     *
+     * @param token   key or index of the child.
+     * @param indexed whether this view is an array.
+     * @return the location of the child.
+     */
+    TrackedPath child(String token, boolean indexed) {
+        List<String> tokens = ImmutableList.<String>builderWithExpectedSize(this.tokens.size() + 1).addAll(this.tokens).add(token).build();
+
+        if (this.anchor < this.tokens.size())
+            return new TrackedPath(this.tracker, tokens, this.anchor, this.epoch);
+
+        if (indexed)
+            return new TrackedPath(this.tracker, tokens, this.anchor, this.tracker.shifts(this.tokens));
+
+        return new TrackedPath(this.tracker, tokens, tokens.size(), 0);
+    }
+
+    ChangeTracker tracker() {
+        return this.tracker;
+    }
+
+    List<String> tokens() {
+        return this.tokens;
+    }
+
+    /**
+     * Record a change of this view, or of one of its children.
+     *
+     * @param token key or index of the changed child, or null if this view changed as a whole.
+     */
+    void record(String token) {
+        if (this.isStale())
+            this.tracker.record(this.tokens.subList(0, this.anchor), null);
+        else
+            this.tracker.record(this.tokens, token);
+    }
+
+    /**
+     * Record that this array shifted its elements, the views retrieved from it so far no longer know their index.
+     */
+    void shifted() {
+        this.tracker.shifted(this.tokens.subList(0, this.anchor));
+    }
+
+    boolean isDirty() {
+        return this.tracker.isDirty(this.isStale() ? this.tokens.subList(0, this.anchor) : this.tokens);
+    }
+
+    private boolean isStale() {
+        return this.anchor < this.tokens.size() && this.tracker.shifts(this.tokens.subList(0, this.anchor)) != this.epoch;
+    }
+}
@@ -0,0 +1,142 @@
+package fr.atlasworld.common.file.reader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+
+/**
+ * Writer replacing a file atomically, text is written to a temporary file next to the target
+ * which is only moved over the target once {@link #commit()} is called.
+ * <p>
+ * Closing the writer only closes the temporary file, {@link #discard()} deletes it if it was not committed.
+ * The target is therefore left untouched if anything fails before the commit.
+ * <p>
+ * Symbolic links are resolved so the file they point to is replaced rather than the link itself,
+ * and the permissions, owner and ACL of an existing target are copied to the temporary file before the move.
+ */
+final class AtomicFileWriter extends Writer {
+    private final Path target;
+    private final Path temporary;
+    private final Writer writer;
+    private boolean committed;
+
+    AtomicFileWriter(Path target, Charset charset) throws IOException {
+        this.target = resolve(target.toAbsolutePath());
+        this.temporary = Files.createTempFile(this.target.getParent(), this.target.getFileName().toString(), ".tmp");
+
+        try {
+            this.writer = Files.newBufferedWriter(this.temporary, charset);
+        } catch (IOException e) {
+            Files.deleteIfExists(this.temporary);
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        this.writer.write(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String string, int offset, int length) throws IOException {
+        this.writer.write(string, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+
+    /**
+     * Close the temporary file and move it over the target.
+     *
+     * @throws IOException if the file could not be written or moved.
+     */
+    void commit() throws IOException {
+        if (this.committed)
+            return;
+
+        this.writer.close();
+
+        if (Files.exists(this.target))
+            copyAttributes(this.target, this.temporary);
+
+        try {
+            Files.move(this.temporary, this.target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(this.temporary, this.target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        this.committed = true;
+    }
+
+    /**
+     * Close and delete the temporary file, does nothing once committed.
+     * <p>
+     * Failures are ignored, this is called while another exception is being thrown.
+     */
+    void discard() {
+        if (this.committed)
+            return;
+
+        try {
+            this.writer.close();
+        } catch (IOException ignored) {
+        }
+
+        try {
+            Files.deleteIfExists(this.temporary);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static Path resolve(Path path) throws IOException {
+        if (Files.exists(path))
+            return path.toRealPath();
+
+        // Dangling links are followed so the file is created where the link points.
+        for (int depth = 0; depth < 40 && Files.isSymbolicLink(path); depth++) {
+            path = path.resolveSibling(Files.readSymbolicLink(path)).toAbsolutePath().normalize();
+        }
+
+        return path;
+    }
+
+    private static void copyAttributes(Path source, Path target) throws IOException {
+        PosixFileAttributeView posix = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (posix != null) {
+            PosixFileAttributes attributes = Files.readAttributes(source, PosixFileAttributes.class);
+            posix.setPermissions(attributes.permissions());
+
+            try {
+                posix.setGroup(attributes.group());
+                posix.setOwner(attributes.owner());
+            } catch (IOException ignored) { // Only privileged processes may give files away.
+            }
+        }
+
+        AclFileAttributeView acl = Files.getFileAttributeView(target, AclFileAttributeView.class);
+        if (acl != null) {
+            AclFileAttributeView sourceAcl = Files.getFileAttributeView(source, AclFileAttributeView.class);
+            acl.setAcl(sourceAcl.getAcl());
+
+            try {
+                acl.setOwner(sourceAcl.getOwner());
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
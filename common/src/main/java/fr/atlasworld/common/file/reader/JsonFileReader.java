@@ -2,7 +2,16 @@ package fr.atlasworld.common.file.reader;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonParser;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundReader;
+import fr.atlasworld.common.compound.CompoundWriter;
+import fr.atlasworld.common.compound.json.JsonCompoundParser;
+import fr.atlasworld.common.compound.json.JsonCompoundReader;
+import fr.atlasworld.common.compound.json.JsonCompoundWriter;
+import fr.atlasworld.common.compound.lazy.LazyCompounds;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
@@ -10,6 +19,8 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Read a file as a JSON format, allows the parsing of the data directly into java objects using {@link Gson}.
@@ -18,6 +29,7 @@ import java.nio.charset.StandardCharsets;
  */
 public class JsonFileReader<T> extends FileReader<T> {
     private final StringFileReader reader;
+    private final Charset charset;
     private final Gson gson;
     private final Type type;
 
@@ -25,6 +37,7 @@ public class JsonFileReader<T> extends FileReader<T> {
         super(file);
 
         this.reader = new StringFileReader(this.file, charset);
+        this.charset = charset;
         this.gson = gson;
         this.type = type;
     }
@@ -56,6 +69,47 @@ public class JsonFileReader<T> extends FileReader<T> {
         return JsonParser.parseString(this.reader.read());
     }
 
+    /**
+     * Read the file as a large top-level array, parsing its elements in parallel on the common pool.
+     *
+     * @return the parsed array.
+     * @throws IOException                         if the file could not be read.
+     * @throws com.google.gson.JsonSyntaxException if the file is not a valid {@code JSON} array.
+     * @see JsonCompoundParser
+     */
+    public CompoundArray readCompoundArray() throws IOException {
+        return JsonCompoundParser.parseArray(this.reader.read());
+    }
+
+    /**
+     * Read the file as a large top-level array, parsing its elements in parallel on the provided pool.
+     *
+     * @param pool pool parsing the elements.
+     * @return the parsed array.
+     * @throws IOException                         if the file could not be read.
+     * @throws com.google.gson.JsonSyntaxException if the file is not a valid {@code JSON} array.
+     * @see JsonCompoundParser
+     */
+    public CompoundArray readCompoundArray(@NotNull ForkJoinPool pool) throws IOException {
+        return JsonCompoundParser.parseArray(this.reader.read(), pool);
+    }
+
+    /**
+     * Memory-map the file and read it lazily, values are only decoded once accessed.
+     *
+     * @return the root of the file, objects and arrays are read-only lazy compounds.
+     * @throws IOException                         if the file could not be mapped.
+     * @throws IllegalStateException               if the file is not encoded in {@code UTF-8}.
+     * @throws com.google.gson.JsonSyntaxException if the file is empty or its root is malformed.
+     * @see LazyCompounds
+     */
+    public CompoundElement readLazyCompound() throws IOException {
+        if (!this.charset.equals(StandardCharsets.UTF_8) && !this.charset.equals(StandardCharsets.US_ASCII))
+            throw new IllegalStateException("Lazy compounds require a UTF-8 file, got: " + this.charset);
+
+        return LazyCompounds.open(this.file.toPath());
+    }
+
     /**
      * Write to the file.
      *
@@ -75,7 +129,86 @@ public class JsonFileReader<T> extends FileReader<T> {
      * @throws IOException if the file could not be written.
      */
     public void writeRaw(JsonElement json) throws IOException {
-        String str = this.gson.toJson(json);
-        this.reader.write(str);
+        AtomicFileWriter writer = new AtomicFileWriter(this.file.toPath(), this.charset);
+
+        try {
+            this.gson.toJson(json, writer);
+            writer.commit();
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException cause)
+                throw cause;
+
+            throw e;
+        } finally {
+            writer.discard(); // The file is left untouched if the json could not be written.
+        }
+    }
+
+    /**
+     * Write a compound to the file, streaming it without building the whole text in memory.
+     * <p>
+     * The compound is written to a temporary file which then replaces the file,
+     * the file is left untouched if the compound could not be written.
+     *
+     * @param compound       compound to write.
+     * @param prettyPrinting whether the {@code JSON} should be indented.
+     * @throws IOException if the file could not be written.
+     */
+    public void writeCompound(@NotNull CompoundElement compound, boolean prettyPrinting) throws IOException {
+        AtomicFileWriter writer = new AtomicFileWriter(this.file.toPath(), this.charset);
+
+        try {
+            compound.writeJson(writer, prettyPrinting);
+            writer.commit();
+        } finally {
+            writer.discard(); // The file is left untouched if the compound could not be written.
+        }
+    }
+
+    /**
+     * Open a streaming reader on the file.
+     * <p>
+     * The file is read token by token without being loaded in memory, the reader must be closed once done.
+     *
+     * @return a new {@link CompoundReader} reading the file.
+     * @throws IOException if the file could not be opened.
+     */
+    public CompoundReader asCompoundReader() throws IOException {
+        return new JsonCompoundReader(Files.newBufferedReader(this.file.toPath(), this.charset));
+    }
+
+    /**
+     * Open a streaming writer on the file, replacing its content.
+     * <p>
+     * Data is written incrementally to a temporary file as it is provided, the writer must be closed once done.
+     * The file is only replaced once a complete document has been written and the writer closed.
+     *
+     * @return a new {@link CompoundWriter} writing to the file.
+     * @throws IOException if the file could not be opened.
+     */
+    public CompoundWriter asCompoundWriter() throws IOException {
+        return new AtomicCompoundWriter(new AtomicFileWriter(this.file.toPath(), this.charset));
+    }
+
+    /**
+     * Compound writer replacing the file only once the whole document has been written and the writer closed.
+     */
+    private static final class AtomicCompoundWriter extends JsonCompoundWriter {
+        private final AtomicFileWriter file;
+
+        private AtomicCompoundWriter(AtomicFileWriter file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close(); // Throws if the document is incomplete.
+                this.file.commit();
+            } finally {
+                this.file.discard();
+            }
+        }
     }
 }
@@ -11,7 +11,16 @@ module fr.atlasworld.common {
 
     exports fr.atlasworld.common.annotation;
     exports fr.atlasworld.common.compound;
+    exports fr.atlasworld.common.compound.binary;
+    exports fr.atlasworld.common.compound.codec;
+    exports fr.atlasworld.common.compound.concurrent;
     exports fr.atlasworld.common.compound.json;
+    exports fr.atlasworld.common.compound.lazy;
+    exports fr.atlasworld.common.compound.merge;
+    exports fr.atlasworld.common.compound.patch;
+    exports fr.atlasworld.common.compound.path;
+    exports fr.atlasworld.common.compound.persistent;
+    exports fr.atlasworld.common.compound.tracking;
     exports fr.atlasworld.common.exception;
     exports fr.atlasworld.common.file;
     exports fr.atlasworld.common.file.reader;
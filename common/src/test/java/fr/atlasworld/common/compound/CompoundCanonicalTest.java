@@ -0,0 +1,107 @@
+package fr.atlasworld.common.compound;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonParser;
+import fr.atlasworld.common.compound.binary.*;
+import fr.atlasworld.common.compound.json.JsonCompoundElement;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompoundCanonicalTest {
+
+    @Test
+    void keysAreSortedByCodeUnits() {
+        CompoundElement element = json("""
+                {"b":1,"é":2,"aa":{"z":true,"y":null},"B":3,"a":[{"d":1,"c":2}]}""");
+
+        assertEquals("{\"B\":3,\"a\":[{\"c\":2,\"d\":1}],\"aa\":{\"y\":null,\"z\":true},\"b\":1,\"é\":2}",
+                CompoundCanonical.toJson(element));
+    }
+
+    @Test
+    void backendsProduceTheSameTextAndHash() {
+        CompoundElement json = json("""
+                {"name":"canonical \\"text\\"\\n","ints":[1,-2,2147483647],"longs":[9007199254740993,-9223372036854775808],
+                 "doubles":[0.5,1.0,1e-7,-0.0],"nested":{"flag":false,"none":null}}""");
+
+        BinaryCompoundObject binary = new BinaryCompoundObject();
+        binary.add("nested", new BinaryCompoundObject().add("none", BinaryCompoundNull.NULL).add("flag", false));
+        binary.add("doubles", new BinaryCompoundDoubleArray(new double[]{0.5, 1.0, 1e-7, -0.0}));
+        binary.add("longs", new BinaryCompoundLongArray(new long[]{9007199254740993L, Long.MIN_VALUE}));
+        binary.add("ints", new BinaryCompoundIntArray(new int[]{1, -2, Integer.MAX_VALUE}));
+        binary.add("name", "canonical \"text\"\n");
+
+        String expected = "{\"doubles\":[0.5,1,1e-7,0],\"ints\":[1,-2,2147483647],"
+                + "\"longs\":[9007199254740993,-9223372036854775808],\"name\":\"canonical \\\"text\\\"\\n\","
+                + "\"nested\":{\"flag\":false,\"none\":null}}";
+
+        for (CompoundElement element : List.of(json, binary, BinaryCompoundCodec.decode(BinaryCompoundCodec.encode(json)),
+                BinaryCompoundCodec.decode(BinaryCompoundCodec.encode(binary)))) {
+            assertEquals(expected, CompoundCanonical.toJson(element));
+            assertEquals(CompoundCanonical.hash(json), CompoundCanonical.hash(element));
+        }
+    }
+
+    @Test
+    void hashMatchesTheUtf8Text() {
+        CompoundElement element = json("""
+                {"text":"é ü 漢字 😀 \\u0001","numbers":[1,0.1,1e300,-4.9e-324],"empty":{},"list":[]}""");
+        byte[] text = CompoundCanonical.toJson(element).getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(Hashing.murmur3_128().hashBytes(text), CompoundCanonical.hash(element));
+        assertEquals(Hashing.sha256().hashBytes(text), CompoundCanonical.hash(element, Hashing.sha256()));
+    }
+
+    @Test
+    void longRangeBoundaries() {
+        assertEquals("9223372036854775807", canonical(BinaryCompoundPrimitive.of(Long.MAX_VALUE)));
+        assertEquals("-9223372036854775808", canonical(BinaryCompoundPrimitive.of(Long.MIN_VALUE)));
+        assertEquals("-9223372036854775808", canonical(BinaryCompoundPrimitive.of(-0x1p63)));
+
+        // 2^63 is the first double above the long range, it must not be saturated to Long.MAX_VALUE.
+        assertEquals("9.223372036854776e18", canonical(BinaryCompoundPrimitive.of(0x1p63)));
+        assertEquals("9.223372036854776e18", canonical(BinaryCompoundPrimitive.of((double) Long.MAX_VALUE)));
+        assertEquals("-9.223372036854778e18", canonical(BinaryCompoundPrimitive.of(Math.nextDown(-0x1p63))));
+        assertEquals("9223372036854774784", canonical(BinaryCompoundPrimitive.of(Math.nextDown(0x1p63))));
+        assertEquals("[9.223372036854776e18,-9223372036854775808]",
+                canonical(new BinaryCompoundDoubleArray(new double[]{0x1p63, -0x1p63})));
+    }
+
+    @Test
+    void exponentsAreLowercaseWithoutTrailingFraction() {
+        assertEquals("1e-7", canonical(BinaryCompoundPrimitive.of(1e-7)));
+        assertEquals("-2.5e-10", canonical(BinaryCompoundPrimitive.of(-2.5e-10)));
+        assertEquals("1.25e20", canonical(BinaryCompoundPrimitive.of(1.25e20)));
+        assertEquals("1e300", canonical(BinaryCompoundPrimitive.of(1e300)));
+        assertEquals("4.9e-324", canonical(BinaryCompoundPrimitive.of(Double.MIN_VALUE)));
+        assertEquals("0.001", canonical(BinaryCompoundPrimitive.of(0.001)));
+        assertEquals("1e-4", canonical(BinaryCompoundPrimitive.of(0.0001)));
+        assertEquals("1000000", canonical(BinaryCompoundPrimitive.of(1e6)));
+        assertEquals("1e-7", canonical(json("1E-7")));
+    }
+
+    @Test
+    void nonFiniteNumbersAreRejected() {
+        for (double value : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            CompoundArray array = new BinaryCompoundArray().add(1).add(value);
+            BinaryCompoundDoubleArray doubles = new BinaryCompoundDoubleArray(new double[]{1, value});
+
+            assertThrows(IllegalArgumentException.class, () -> CompoundCanonical.toJson(array));
+            assertThrows(IllegalArgumentException.class, () -> CompoundCanonical.hash(array));
+            assertThrows(IllegalArgumentException.class, () -> CompoundCanonical.toJson(doubles));
+            assertThrows(IllegalArgumentException.class, () -> CompoundCanonical.hash(doubles));
+        }
+    }
+
+    private static CompoundElement json(String text) {
+        return JsonCompoundElement.toCompound(JsonParser.parseString(text));
+    }
+
+    private static String canonical(CompoundElement element) {
+        return CompoundCanonical.toJson(element);
+    }
+}
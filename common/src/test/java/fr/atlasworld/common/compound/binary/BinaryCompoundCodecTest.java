@@ -0,0 +1,190 @@
+package fr.atlasworld.common.compound.binary;
+
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundIntArray;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import fr.atlasworld.common.compound.json.JsonCompoundObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCompoundCodecTest {
+
+    @Test
+    void intBoundaries() throws IOException {
+        for (int value : new int[]{0, -1, 1, 63, -64, 64, -65, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            CompoundPrimitive decoded = roundTrip(BinaryCompoundPrimitive.of(value)).getAsPrimitive();
+
+            assertTrue(decoded.isInt());
+            assertEquals(value, decoded.getAsInt());
+        }
+    }
+
+    @Test
+    void longBoundaries() throws IOException {
+        for (long value : new long[]{0, -1, 1, Integer.MIN_VALUE - 1L, Integer.MAX_VALUE + 1L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            CompoundPrimitive decoded = roundTrip(BinaryCompoundPrimitive.of(value)).getAsPrimitive();
+
+            assertTrue(decoded.isLong());
+            assertFalse(decoded.isInt());
+            assertEquals(value, decoded.getAsLong());
+        }
+    }
+
+    @Test
+    void otherPrimitives() throws IOException {
+        assertTrue(roundTrip(BinaryCompoundPrimitive.of(true)).getAsBoolean());
+        assertEquals((byte) -128, roundTrip(BinaryCompoundPrimitive.of((byte) -128)).getAsByte());
+        assertEquals('￿', roundTrip(BinaryCompoundPrimitive.of('￿')).getAsChar());
+        assertEquals(-0.0, roundTrip(BinaryCompoundPrimitive.of(-0.0)).getAsDouble());
+        assertTrue(Double.isNaN(roundTrip(BinaryCompoundPrimitive.of(Double.NaN)).getAsDouble()));
+        assertEquals("café 😀", roundTrip(BinaryCompoundPrimitive.of("café 😀")).getAsString());
+        assertTrue(roundTrip(BinaryCompoundNull.NULL).isNull());
+    }
+
+    @Test
+    void byteArrays() throws IOException {
+        for (byte[] bytes : new byte[][]{{}, {0, -1, 127, -128}, new byte[300]}) {
+            CompoundPrimitive decoded = roundTrip(BinaryCompoundPrimitive.of(bytes)).getAsPrimitive();
+
+            assertTrue(decoded.isByteArray());
+            assertArrayEquals(bytes, decoded.getAsByteArray());
+        }
+    }
+
+    @Test
+    void emptyContainers() throws IOException {
+        assertEquals(0, roundTrip(new BinaryCompoundObject()).getAsObject().size());
+        assertEquals(0, roundTrip(new BinaryCompoundArray()).getAsArray().size());
+        assertEquals(0, roundTrip(new BinaryCompoundIntArray()).getAsArray().size());
+    }
+
+    @Test
+    void nestedContainers() throws IOException {
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        object.add("name", "root")
+                .addObject("empty", empty -> {})
+                .addArray("children", children -> children
+                        .addObject(child -> child.add("id", 1).addArray("tags", tags -> tags.add("a").add("b")))
+                        .addArray(inner -> inner.addArray(deepest -> deepest.add(Long.MIN_VALUE)))
+                        .add(BinaryCompoundNull.NULL));
+
+        CompoundElement decoded = roundTrip(object);
+        assertEquals(object, decoded);
+        assertEquals(Long.MIN_VALUE, decoded.getAsObject().getAsArray("children").get(1).getAsArray()
+                .get(0).getAsArray().get(0).getAsLong());
+    }
+
+    @Test
+    void typedArrays() throws IOException {
+        int[] ints = {0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        long[] longs = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        double[] doubles = {0.0, -0.0, Double.MIN_VALUE, Double.MAX_VALUE, Double.NEGATIVE_INFINITY};
+
+        assertArrayEquals(ints, ((BinaryCompoundIntArray) roundTrip(new BinaryCompoundIntArray(ints))).toIntArray());
+        assertArrayEquals(longs, ((BinaryCompoundLongArray) roundTrip(new BinaryCompoundLongArray(longs))).toLongArray());
+        assertArrayEquals(doubles, ((BinaryCompoundDoubleArray) roundTrip(new BinaryCompoundDoubleArray(doubles))).toDoubleArray());
+
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        object.add("ints", new BinaryCompoundIntArray(ints));
+        assertInstanceOf(CompoundIntArray.class, roundTrip(object).getAsObject().get("ints"));
+    }
+
+    @Test
+    void typedArrayTags() throws IOException {
+        // Zig-zag varints: small magnitudes of either sign take a single byte.
+        assertArrayEquals(new byte[]{BinaryCompoundCodec.TAG_INT_ARRAY, 4, 0x01, 0x02, 0x7F, 0x7E},
+                BinaryCompoundCodec.encode(new BinaryCompoundIntArray(new int[]{-1, 1, -64, 63})));
+        assertArrayEquals(new byte[]{BinaryCompoundCodec.TAG_LONG_ARRAY, 2, 0x00, (byte) 0x80, 0x01},
+                BinaryCompoundCodec.encode(new BinaryCompoundLongArray(new long[]{0, 64})));
+        assertEquals(2 + 10, BinaryCompoundCodec.encode(new BinaryCompoundLongArray(new long[]{Long.MIN_VALUE})).length);
+        assertEquals(2 + 5, BinaryCompoundCodec.encode(new BinaryCompoundIntArray(new int[]{Integer.MIN_VALUE})).length);
+
+        // Raw doubles: eight bytes each, the exact bits are kept.
+        double payloadNaN = Double.longBitsToDouble(0x7FF8_0000_0000_0001L);
+        double[] doubles = {payloadNaN, -0.0, Double.MIN_VALUE};
+        byte[] encoded = BinaryCompoundCodec.encode(new BinaryCompoundDoubleArray(doubles));
+
+        assertEquals(BinaryCompoundCodec.TAG_DOUBLE_ARRAY, encoded[0]);
+        assertEquals(2 + 8 * doubles.length, encoded.length);
+
+        double[] decoded = ((BinaryCompoundDoubleArray) roundTrip(new BinaryCompoundDoubleArray(doubles))).toDoubleArray();
+        for (int i = 0; i < doubles.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(doubles[i]), Double.doubleToRawLongBits(decoded[i]));
+        }
+    }
+
+    @Test
+    void typedArraysRoundTripEveryMagnitude() throws IOException {
+        int[] ints = new int[64];
+        long[] longs = new long[128];
+        for (int bit = 0; bit < 32; bit++) {
+            ints[2 * bit] = 1 << bit;
+            ints[2 * bit + 1] = -(1 << bit) - 1;
+        }
+
+        for (int bit = 0; bit < 64; bit++) {
+            longs[2 * bit] = 1L << bit;
+            longs[2 * bit + 1] = -(1L << bit) - 1;
+        }
+
+        assertArrayEquals(ints, ((CompoundIntArray) roundTrip(new BinaryCompoundIntArray(ints))).toIntArray());
+        assertArrayEquals(longs, ((BinaryCompoundLongArray) roundTrip(new BinaryCompoundLongArray(longs))).toLongArray());
+    }
+
+    @Test
+    void foreignBackend() throws IOException {
+        JsonCompoundObject object = new JsonCompoundObject();
+        object.add("count", 3).add("bytes", new byte[]{1, 2, 3}).addArray("list", list -> list.add("x").add(1.5));
+
+        assertEquals(object, roundTrip(object));
+    }
+
+    @Test
+    void truncatedInput() {
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        object.add("name", "value").add("big", Long.MAX_VALUE).add("bytes", new byte[16])
+                .add("doubles", new BinaryCompoundDoubleArray(new double[]{1.0, 2.0}));
+
+        byte[] encoded = BinaryCompoundCodec.encode(object);
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+
+            assertThrows(BufferUnderflowException.class, () -> BinaryCompoundCodec.decode(truncated), "length " + length);
+            assertThrows(EOFException.class, () -> BinaryCompoundCodec.decode(new ByteArrayInputStream(truncated)), "length " + length);
+        }
+    }
+
+    @Test
+    void unknownTag() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryCompoundCodec.decode(new byte[]{(byte) 0x7F}));
+    }
+
+    // Round trips through every encoding and decoding method, checking they all agree.
+    private static CompoundElement roundTrip(CompoundElement element) throws IOException {
+        byte[] encoded = BinaryCompoundCodec.encode(element);
+
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length);
+        BinaryCompoundCodec.encode(element, buffer);
+        assertArrayEquals(encoded, buffer.array());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        BinaryCompoundCodec.encode(element, stream);
+        assertArrayEquals(encoded, stream.toByteArray());
+
+        CompoundElement decoded = BinaryCompoundCodec.decode(encoded);
+        assertEquals(decoded, BinaryCompoundCodec.decode(ByteBuffer.wrap(encoded)));
+        assertEquals(decoded, BinaryCompoundCodec.decode(new ByteArrayInputStream(encoded)));
+        assertEquals(decoded, BinaryCompoundCodec.decode(ByteBuffer.wrap(encoded), new CompoundArena()));
+
+        return decoded;
+    }
+}
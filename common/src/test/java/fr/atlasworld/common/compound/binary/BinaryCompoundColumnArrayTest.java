@@ -0,0 +1,129 @@
+package fr.atlasworld.common.compound.binary;
+
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCompoundColumnArrayTest {
+
+    @Test
+    void intColumnsWidenToDoubles() {
+        BinaryCompoundColumnArray array = new BinaryCompoundColumnArray();
+        array.addObject(row -> row.add("value", 1));
+        array.addObject(row -> row.add("value", 0.5));
+        array.addObject(row -> row.add("value", 3));
+
+        assertArrayEquals(new double[]{1, 0.5, 3}, array.doubleColumn("value").toArray());
+        assertThrows(IllegalStateException.class, () -> array.longColumn("value"));
+        assertEquals("[{\"value\":1.0},{\"value\":0.5},{\"value\":3.0}]", array.toJson());
+    }
+
+    @Test
+    void longColumnsWidenToDoublesWhenExact() {
+        BinaryCompoundColumnArray exact = new BinaryCompoundColumnArray();
+        exact.addObject(row -> row.add("value", 1L << 53));
+        exact.addObject(row -> row.add("value", -(1L << 53)));
+        exact.addObject(row -> row.add("value", 0.25));
+        exact.addObject(row -> row.add("value", 7L));
+
+        assertArrayEquals(new double[]{0x1p53, -0x1p53, 0.25, 7}, exact.doubleColumn("value").toArray());
+        assertThrows(IllegalStateException.class, () -> exact.longColumn("value"));
+
+        BinaryCompoundColumnArray inexact = new BinaryCompoundColumnArray();
+        inexact.addObject(row -> row.add("value", (1L << 53) + 1));
+        inexact.addObject(row -> row.add("value", 0.25));
+        inexact.addObject(row -> row.add("value", 1));
+
+        // Elements keep every value exactly, numeric streams are no longer available.
+        assertThrows(IllegalStateException.class, () -> inexact.doubleColumn("value"));
+        assertEquals((1L << 53) + 1, inexact.get(0).getAsPrimitive("value").getAsLong());
+        assertEquals(0.25, inexact.get(1).getAsPrimitive("value").getAsDouble());
+        assertEquals(1, inexact.get(2).getAsPrimitive("value").getAsInt());
+    }
+
+    @Test
+    void doubleColumnsStoreExactIntegers() {
+        BinaryCompoundColumnArray array = new BinaryCompoundColumnArray();
+        array.addObject(row -> row.add("value", 0.5));
+        array.addObject(row -> row.add("value", Integer.MIN_VALUE));
+        array.addObject(row -> row.add("value", 1L << 53));
+        array.get(0).add("value", 2);
+
+        assertArrayEquals(new double[]{2, Integer.MIN_VALUE, 0x1p53}, array.doubleColumn("value").toArray());
+
+        array.addObject(row -> row.add("value", Long.MAX_VALUE));
+        assertThrows(IllegalStateException.class, () -> array.doubleColumn("value"));
+        assertEquals(Long.MAX_VALUE, array.get(3).getAsPrimitive("value").getAsLong());
+        assertEquals(2, array.get(0).getAsPrimitive("value").getAsInt());
+    }
+
+    @Test
+    void otherValuesDemoteToElements() {
+        BinaryCompoundColumnArray array = new BinaryCompoundColumnArray();
+        array.addObject(row -> row.add("value", 1));
+        array.addObject(row -> row.add("value", "two"));
+
+        assertThrows(IllegalStateException.class, () -> array.doubleColumn("value"));
+        assertEquals(1, array.get(0).getAsPrimitive("value").getAsInt());
+        assertEquals("two", array.get(1).getAsPrimitive("value").getAsString());
+    }
+
+    @Test
+    void removeShiftsEveryColumn() {
+        BinaryCompoundColumnArray array = new BinaryCompoundColumnArray();
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            array.addObject(row -> row.add("int", index).add("long", index * 10L).add("double", index + 0.5)
+                    .add("name", "row-" + index));
+        }
+
+        CompoundObject removed = array.remove(1).getAsObject();
+        assertEquals(1, removed.getAsPrimitive("int").getAsInt());
+        assertEquals("row-1", removed.getAsPrimitive("name").getAsString());
+        assertTrue(array.remove(array.get(3).clone()));
+
+        assertEquals(3, array.size());
+        assertArrayEquals(new int[]{0, 2, 3}, array.intColumn("int").toArray());
+        assertArrayEquals(new long[]{0, 20, 30}, array.longColumn("long").toArray());
+        assertArrayEquals(new double[]{0.5, 2.5, 3.5}, array.doubleColumn("double").toArray());
+        assertEquals("row-3", array.get(2).getAsPrimitive("name").getAsString());
+
+        array.remove(0);
+        array.remove(0);
+        array.remove(0);
+        assertTrue(array.isEmpty());
+
+        // Once empty, the next row defines the columns again.
+        array.addObject(row -> row.add("other", true));
+        assertEquals(List.of("other"), array.columns());
+    }
+
+    @Test
+    void copyOfRejectsMismatchedKeys() {
+        BinaryCompoundArray missing = new BinaryCompoundArray();
+        missing.addObject(row -> row.add("a", 1).add("b", 2));
+        missing.addObject(row -> row.add("a", 1));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCompoundColumnArray.copyOf(missing));
+
+        BinaryCompoundArray renamed = new BinaryCompoundArray();
+        renamed.addObject(row -> row.add("a", 1).add("b", 2));
+        renamed.addObject(row -> row.add("a", 1).add("c", 2));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCompoundColumnArray.copyOf(renamed));
+
+        BinaryCompoundArray values = new BinaryCompoundArray();
+        values.addObject(row -> row.add("a", 1));
+        values.add(1);
+        assertThrows(IllegalArgumentException.class, () -> BinaryCompoundColumnArray.copyOf(values));
+
+        BinaryCompoundArray reordered = new BinaryCompoundArray();
+        reordered.addObject(row -> row.add("a", 1).add("b", 2));
+        reordered.addObject(row -> row.add("b", 4).add("a", 3));
+        CompoundArray columns = BinaryCompoundColumnArray.copyOf(reordered);
+        assertEquals(3, columns.get(1).getAsObject().getAsPrimitive("a").getAsInt());
+        assertEquals(4, columns.get(1).getAsObject().getAsPrimitive("b").getAsInt());
+    }
+}
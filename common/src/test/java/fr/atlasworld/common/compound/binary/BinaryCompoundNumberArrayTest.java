@@ -0,0 +1,76 @@
+package fr.atlasworld.common.compound.binary;
+
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundIntArray;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.concurrent.ConcurrentCompoundObject;
+import fr.atlasworld.common.compound.json.JsonCompoundObject;
+import fr.atlasworld.common.compound.persistent.PersistentCompoundObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCompoundNumberArrayTest {
+
+    @Test
+    void genericAddsAreConverted() {
+        BinaryCompoundIntArray ints = new BinaryCompoundIntArray();
+        ints.add(1).add((byte) 2).add(3L).add(4.0).add(BinaryCompoundPrimitive.of(5L));
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, ints.toIntArray());
+
+        BinaryCompoundLongArray longs = new BinaryCompoundLongArray();
+        longs.add(Long.MAX_VALUE).add(-1).add(2.0);
+        assertArrayEquals(new long[]{Long.MAX_VALUE, -1, 2}, longs.toLongArray());
+
+        BinaryCompoundDoubleArray doubles = new BinaryCompoundDoubleArray();
+        doubles.add(1).add(Long.MAX_VALUE).add(0.5);
+        assertArrayEquals(new double[]{1.0, Long.MAX_VALUE, 0.5}, doubles.toDoubleArray());
+    }
+
+    @Test
+    void genericAddsOfOtherValuesAreRejected() {
+        for (CompoundArray array : new CompoundArray[]{new BinaryCompoundIntArray(new int[]{1}),
+                new BinaryCompoundLongArray(new long[]{1}), new BinaryCompoundDoubleArray(new double[]{1})}) {
+            assertThrows(IllegalArgumentException.class, () -> array.add(true));
+            assertThrows(IllegalArgumentException.class, () -> array.add("1"));
+            assertThrows(IllegalArgumentException.class, () -> array.add('1'));
+            assertThrows(IllegalArgumentException.class, () -> array.add(new byte[]{1}));
+            assertThrows(IllegalArgumentException.class, () -> array.add(BinaryCompoundNull.NULL));
+            assertThrows(IllegalArgumentException.class, () -> array.add(new BinaryCompoundObject()));
+            assertThrows(IllegalArgumentException.class, () -> array.addObject(object -> {}));
+            assertThrows(IllegalArgumentException.class, () -> array.addArray(nested -> {}));
+            assertThrows(IllegalArgumentException.class, () -> array.set(0, "1"));
+
+            assertEquals(1, array.size());
+        }
+
+        // Numbers must fit the type of the array.
+        assertThrows(IllegalArgumentException.class, () -> new BinaryCompoundIntArray().add(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryCompoundIntArray().add(Integer.MAX_VALUE + 1L));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryCompoundLongArray().add(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryCompoundLongArray().add(Double.NaN));
+    }
+
+    @Test
+    void otherBackendsCopyTypedArrays() {
+        int[] values = {1, -2, Integer.MAX_VALUE};
+
+        BinaryCompoundObject binary = new BinaryCompoundObject();
+        binary.add("ints", new BinaryCompoundIntArray(values));
+        assertInstanceOf(CompoundIntArray.class, binary.get("ints"));
+
+        JsonCompoundObject json = new JsonCompoundObject();
+        json.add("ints", new BinaryCompoundIntArray(values));
+
+        CompoundObject concurrent = ConcurrentCompoundObject.copyOf(binary);
+        CompoundObject persistent = PersistentCompoundObject.EMPTY.with("ints", new BinaryCompoundIntArray(values));
+
+        for (CompoundObject object : new CompoundObject[]{json, concurrent, persistent}) {
+            CompoundArray array = object.getAsArray("ints");
+
+            assertFalse(array instanceof CompoundIntArray, object.getClass().getSimpleName());
+            assertEquals(new BinaryCompoundIntArray(values), array);
+            assertEquals("[1,-2,2147483647]", array.toJson());
+        }
+    }
+}
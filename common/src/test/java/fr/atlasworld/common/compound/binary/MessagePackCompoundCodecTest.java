@@ -0,0 +1,188 @@
+package fr.atlasworld.common.compound.binary;
+
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundHashing;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagePackCompoundCodecTest {
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Test
+    void integerBoundaries() throws IOException {
+        Map<Long, String> expected = new LinkedHashMap<>();
+        expected.put(0L, "00");
+        expected.put(0x7FL, "7f");
+        expected.put(0x80L, "cc80");
+        expected.put(0xFFL, "ccff");
+        expected.put(0x100L, "cd0100");
+        expected.put(0xFFFFL, "cdffff");
+        expected.put(0x10000L, "ce00010000");
+        expected.put(0x7FFFFFFFL, "ce7fffffff");
+        expected.put(0xFFFFFFFFL, "ceffffffff");
+        expected.put(0x100000000L, "cf0000000100000000");
+        expected.put(Long.MAX_VALUE, "cf7fffffffffffffff");
+        expected.put(-1L, "ff");
+        expected.put(-32L, "e0");
+        expected.put(-33L, "d0df");
+        expected.put(-128L, "d080");
+        expected.put(-129L, "d1ff7f");
+        expected.put(-32768L, "d18000");
+        expected.put(-32769L, "d2ffff7fff");
+        expected.put((long) Integer.MIN_VALUE, "d280000000");
+        expected.put(Integer.MIN_VALUE - 1L, "d3ffffffff7fffffff");
+        expected.put(Long.MIN_VALUE, "d38000000000000000");
+
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            long value = entry.getKey();
+            byte[] bytes = HEX.parseHex(entry.getValue());
+
+            assertArrayEquals(bytes, MessagePackCompoundCodec.encode(BinaryCompoundPrimitive.of(value)), entry.getValue());
+            if (value == (int) value)
+                assertArrayEquals(bytes, MessagePackCompoundCodec.encode(BinaryCompoundPrimitive.of((int) value)), entry.getValue());
+
+            for (CompoundElement decoded : decodeBoth(bytes)) {
+                CompoundPrimitive primitive = decoded.getAsPrimitive();
+                assertEquals(value, primitive.getAsLong(), entry.getValue());
+                assertEquals(value == (int) value, primitive.isInt(), entry.getValue());
+            }
+        }
+    }
+
+    @Test
+    void unsigned64AboveLongRange() throws IOException {
+        for (String hex : new String[]{"cf8000000000000000", "cfffffffffffffffff", "cf8000000000000001"}) {
+            double expected = new BigInteger(hex.substring(2), 16).doubleValue();
+
+            for (CompoundElement decoded : decodeBoth(HEX.parseHex(hex))) {
+                CompoundPrimitive primitive = decoded.getAsPrimitive();
+                assertTrue(primitive.isDouble(), hex);
+                assertFalse(primitive.isLong(), hex);
+                assertEquals(expected, primitive.getAsDouble(), hex);
+            }
+        }
+
+        assertEquals(0x1p64, MessagePackCompoundCodec.decode(HEX.parseHex("cfffffffffffffffff")).getAsPrimitive().getAsDouble());
+    }
+
+    @Test
+    void binaryHeaders() throws IOException {
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        expected.put(0, "c400");
+        expected.put(1, "c401");
+        expected.put(0xFF, "c4ff");
+        expected.put(0x100, "c50100");
+        expected.put(0xFFFF, "c5ffff");
+        expected.put(0x10000, "c600010000");
+
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            byte[] value = new byte[entry.getKey()];
+            for (int i = 0; i < value.length; i++) {
+                value[i] = (byte) (i * 31);
+            }
+
+            byte[] encoded = MessagePackCompoundCodec.encode(BinaryCompoundPrimitive.of(value));
+            byte[] header = HEX.parseHex(entry.getValue());
+
+            assertEquals(header.length + value.length, encoded.length);
+            assertArrayEquals(header, Arrays.copyOf(encoded, header.length));
+
+            for (CompoundElement decoded : decodeBoth(encoded)) {
+                assertTrue(decoded.getAsPrimitive().isByteArray());
+                assertArrayEquals(value, decoded.getAsPrimitive().getAsByteArray());
+            }
+        }
+    }
+
+    @Test
+    void stringHeaders() throws IOException {
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        expected.put(0, "a0");
+        expected.put(31, "bf");
+        expected.put(32, "d920");
+        expected.put(0xFF, "d9ff");
+        expected.put(0x100, "da0100");
+        expected.put(0xFFFF, "daffff");
+        expected.put(0x10000, "db00010000");
+
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            String value = "x".repeat(entry.getKey());
+            byte[] encoded = MessagePackCompoundCodec.encode(BinaryCompoundPrimitive.of(value));
+            byte[] header = HEX.parseHex(entry.getValue());
+
+            assertArrayEquals(header, Arrays.copyOf(encoded, header.length));
+            for (CompoundElement decoded : decodeBoth(encoded)) {
+                assertEquals(value, decoded.getAsPrimitive().getAsString());
+            }
+        }
+
+        // Lengths count UTF-8 bytes, not characters.
+        assertEquals((byte) 0xA5, MessagePackCompoundCodec.encode(BinaryCompoundPrimitive.of("é€"))[0]);
+    }
+
+    @Test
+    void extensionTypesAreRejected() {
+        for (String hex : new String[]{"d40100", "d5010000", "d601000000", "d70100000000000000",
+                "d8010000000000000000000000000000000000", "c70101ff", "c8000101ff", "c90000000101ff"}) {
+            byte[] bytes = HEX.parseHex(hex);
+
+            assertThrows(IllegalArgumentException.class, () -> MessagePackCompoundCodec.decode(bytes), hex);
+            assertThrows(IllegalArgumentException.class, () -> MessagePackCompoundCodec.decode(new ByteArrayInputStream(bytes)), hex);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> MessagePackCompoundCodec.decode(HEX.parseHex("c1")));
+    }
+
+    @Test
+    void nonStringKeysAreRejected() {
+        for (String hex : new String[]{"810101", "81c001", "81c3c2", "81cb3ff000000000000001", "81c40161c0", "8190c0", "8180c0"}) {
+            byte[] bytes = HEX.parseHex(hex);
+
+            assertThrows(IllegalArgumentException.class, () -> MessagePackCompoundCodec.decode(bytes), hex);
+            assertThrows(IllegalArgumentException.class, () -> MessagePackCompoundCodec.decode(new ByteArrayInputStream(bytes)), hex);
+        }
+
+        assertEquals(1, MessagePackCompoundCodec.decode(HEX.parseHex("81a16101")).getAsObject().getAsPrimitive("a").getAsInt());
+    }
+
+    @Test
+    void truncatedInputIsRejected() {
+        BinaryCompoundObject document = new BinaryCompoundObject();
+        document.add("text", "truncated");
+        document.add("bytes", new byte[300]);
+        document.add("long", Long.MIN_VALUE);
+        document.add("double", 0.5);
+        document.addArray("array", array -> array.add(0xFFFF).addObject(object -> object.add("nested", true)));
+
+        byte[] encoded = MessagePackCompoundCodec.encode(document);
+        assertTrue(CompoundHashing.equals(document, MessagePackCompoundCodec.decode(encoded)));
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+
+            assertThrows(BufferUnderflowException.class, () -> MessagePackCompoundCodec.decode(truncated), "length " + length);
+            assertThrows(EOFException.class, () -> MessagePackCompoundCodec.decode(new ByteArrayInputStream(truncated)), "length " + length);
+        }
+    }
+
+    // Decodes from a byte array and from a stream, the stream must be consumed entirely.
+    private static CompoundElement[] decodeBoth(byte[] bytes) throws IOException {
+        ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+        CompoundElement fromStream = MessagePackCompoundCodec.decode(stream);
+        assertEquals(0, stream.available());
+
+        return new CompoundElement[]{MessagePackCompoundCodec.decode(bytes), fromStream};
+    }
+}
@@ -0,0 +1,184 @@
+package fr.atlasworld.common.compound.concurrent;
+
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.binary.BinaryCompoundArray;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers the concurrent backend from many threads, then checks that no update was lost.
+ */
+class ConcurrentCompoundStressTest {
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int OPERATIONS = 2_000;
+
+    @Test
+    void addIfAbsentAddsEachKeyOnce() throws Exception {
+        ConcurrentCompoundObject object = new ConcurrentCompoundObject();
+        AtomicInteger added = new AtomicInteger();
+
+        run(thread -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                if (object.addIfAbsent("key-" + i, BinaryCompoundPrimitive.of(thread)) == null)
+                    added.incrementAndGet();
+            }
+        });
+
+        assertEquals(OPERATIONS, added.get());
+        assertEquals(OPERATIONS, object.size());
+    }
+
+    @Test
+    void replaceLosesNoIncrement() throws Exception {
+        ConcurrentCompoundObject object = new ConcurrentCompoundObject();
+        object.add("counter", 0L);
+
+        run(thread -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                CompoundElement current;
+                do {
+                    current = object.get("counter");
+                } while (!object.replace("counter", current, BinaryCompoundPrimitive.of(current.getAsLong() + 1)));
+            }
+        });
+
+        assertEquals((long) THREADS * OPERATIONS, object.get("counter").getAsLong());
+    }
+
+    @Test
+    void addAndAddAllKeepEveryElement() throws Exception {
+        ConcurrentCompoundArray array = new ConcurrentCompoundArray();
+        int batch = 10;
+
+        run(thread -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                array.add(encode(thread, i));
+            }
+
+            for (int i = 0; i < OPERATIONS; i += batch) {
+                BinaryCompoundArray values = new BinaryCompoundArray();
+                for (int j = 0; j < batch; j++) {
+                    values.add(encode(thread, OPERATIONS + i + j));
+                }
+
+                array.addAll(values);
+            }
+        });
+
+        assertEquals(THREADS * OPERATIONS * 2, array.size());
+
+        Set<Long> values = new HashSet<>();
+        for (CompoundElement element : array) {
+            assertTrue(values.add(element.getAsLong()), "Duplicated element " + element);
+        }
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < OPERATIONS * 2; i++) {
+                assertTrue(values.contains(encode(thread, i).getAsLong()));
+            }
+        }
+
+        // Batches are appended atomically, their elements stay contiguous.
+        for (int i = 0; i < array.size(); i++) {
+            long value = array.get(i).getAsLong();
+            if (value % (OPERATIONS * 2) < OPERATIONS || value % batch != 0)
+                continue;
+
+            for (int j = 1; j < batch; j++) {
+                assertEquals(value + j, array.get(i + j).getAsLong());
+            }
+        }
+    }
+
+    @Test
+    void removeWhileIterating() throws Exception {
+        ConcurrentCompoundArray array = new ConcurrentCompoundArray();
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < OPERATIONS; i++) {
+                array.add(encode(thread, i));
+            }
+        }
+
+        AtomicBoolean removing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        List<Future<?>> reads = new ArrayList<>();
+
+        for (int reader = 0; reader < 2; reader++) {
+            reads.add(readers.submit(() -> {
+                while (removing.get()) {
+                    int count = 0;
+                    for (CompoundElement element : array) {
+                        assertNotNull(element);
+                        count++;
+                    }
+
+                    assertTrue(count <= THREADS * OPERATIONS);
+                }
+                return null;
+            }));
+        }
+
+        // Each thread removes the odd elements it added.
+        run(thread -> {
+            for (int i = 1; i < OPERATIONS; i += 2) {
+                assertTrue(array.remove(encode(thread, i)));
+                assertFalse(array.contains(encode(thread, i)));
+            }
+        });
+
+        removing.set(false);
+        for (Future<?> read : reads) {
+            read.get(1, TimeUnit.MINUTES);
+        }
+        readers.shutdown();
+
+        assertEquals(THREADS * OPERATIONS / 2, array.size());
+        for (CompoundElement element : array) {
+            assertEquals(0, element.getAsLong() % 2);
+        }
+    }
+
+    // Unique value per thread and operation.
+    private static CompoundElement encode(int thread, int operation) {
+        return BinaryCompoundPrimitive.of((long) thread * OPERATIONS * 2 + operation);
+    }
+
+    private static void run(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            int id = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                worker.run(id);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,112 @@
+package fr.atlasworld.common.compound.concurrent;
+
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.binary.BinaryCompoundArray;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput harness comparing the concurrent backend with binary compounds guarded by a single lock.
+ * <p>
+ * Not run by the test task, start it manually with optional arguments {@code [threads] [seconds]}.
+ * Each thread performs 90% reads and 10% writes on a shared object, then appends to a shared array.
+ */
+public final class ConcurrentCompoundThroughput {
+    private static final int KEYS = 1024;
+
+    private ConcurrentCompoundThroughput() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 3;
+
+        System.out.printf("%d threads, %d seconds per run%n", threads, seconds);
+
+        for (int round = 0; round < 2; round++) { // The first round warms the JIT up.
+            ConcurrentCompoundObject concurrentObject = new ConcurrentCompoundObject();
+            BinaryCompoundObject lockedObject = new BinaryCompoundObject();
+            for (int i = 0; i < KEYS; i++) {
+                concurrentObject.add("key-" + i, i);
+                lockedObject.add("key-" + i, i);
+            }
+
+            report(round, "object, concurrent", measure(threads, seconds, () -> objectOperation(concurrentObject)));
+            report(round, "object, locked", measure(threads, seconds, () -> {
+                synchronized (lockedObject) {
+                    objectOperation(lockedObject);
+                }
+            }));
+
+            ConcurrentCompoundArray concurrentArray = new ConcurrentCompoundArray();
+            BinaryCompoundArray lockedArray = new BinaryCompoundArray();
+
+            report(round, "array, concurrent", measure(threads, seconds, () -> arrayOperation(concurrentArray)));
+            report(round, "array, locked", measure(threads, seconds, () -> {
+                synchronized (lockedArray) {
+                    arrayOperation(lockedArray);
+                }
+            }));
+        }
+    }
+
+    private static void objectOperation(CompoundObject object) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String key = "key-" + random.nextInt(KEYS);
+
+        if (random.nextInt(10) == 0)
+            object.add(key, random.nextInt());
+        else
+            object.get(key).getAsInt();
+    }
+
+    private static void arrayOperation(CompoundArray array) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (random.nextInt(10) == 0 || array.isEmpty())
+            array.add(random.nextInt());
+        else
+            array.get(random.nextInt(array.size())).getAsInt();
+    }
+
+    private static long measure(int threads, long seconds, Runnable operation) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        Thread[] workers = new Thread[threads];
+
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    operation.run();
+                    count++;
+                }
+                operations.add(count);
+            });
+            workers[i].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        return operations.sum() / seconds;
+    }
+
+    private static void report(int round, String name, long throughput) {
+        if (round > 0)
+            System.out.printf("%-20s %,15d ops/s%n", name, throughput);
+    }
+}
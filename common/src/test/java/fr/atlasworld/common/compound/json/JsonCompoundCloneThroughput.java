@@ -0,0 +1,83 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Harness comparing the structural clone of Json compounds with the former {@code toJson}/{@code fromJson} round trip.
+ * <p>
+ * Not run by the test task, start it manually with optional arguments {@code [entries] [seconds]}.
+ * The document is an object of small nested objects holding strings, numbers, booleans and an array.
+ */
+public final class JsonCompoundCloneThroughput {
+    private static final Gson GSON = new Gson();
+
+    private JsonCompoundCloneThroughput() {
+    }
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 3;
+
+        JsonCompoundObject document = new JsonCompoundObject(document(entries));
+        System.out.printf("%,d entries, %d seconds per run%n", entries, seconds);
+
+        for (int round = 0; round < 2; round++) { // The first round warms the JIT up.
+            report(round, "round trip", measure(seconds, () -> new JsonCompoundElement(
+                    GSON.fromJson(GSON.toJson(document.getObject(), JsonElement.class), JsonElement.class))));
+            report(round, "deep copy", measure(seconds, document::clone));
+        }
+    }
+
+    private static JsonObject document(int entries) {
+        JsonObject document = new JsonObject();
+        for (int i = 0; i < entries; i++) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("name", "entry-" + i);
+            entry.addProperty("value", i * 0.5);
+            entry.addProperty("enabled", i % 2 == 0);
+
+            JsonArray tags = new JsonArray();
+            tags.add(i);
+            tags.add("tag-" + i % 16);
+            entry.add("tags", tags);
+
+            document.add("key-" + i, entry);
+        }
+
+        return document;
+    }
+
+    // Returns the time and the bytes allocated per operation.
+    static double[] measure(long seconds, Supplier<?> operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long count = 0;
+        Object sink = null;
+
+        while (System.nanoTime() < deadline) {
+            sink = operation.get();
+            count++;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+        if (sink == null)
+            throw new IllegalStateException();
+
+        return new double[]{elapsed / (double) count, allocated / (double) count};
+    }
+
+    static void report(int round, String name, double[] result) {
+        if (round > 0)
+            System.out.printf("%-20s %,15.1f us/op %,15.0f B/op%n", name, result[0] / 1_000, result[1]);
+    }
+}
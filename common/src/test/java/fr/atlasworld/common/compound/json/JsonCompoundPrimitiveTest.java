@@ -0,0 +1,82 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.gson.JsonPrimitive;
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.CompoundPrimitive;
+import fr.atlasworld.common.compound.CompoundSizes;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCompoundPrimitiveTest {
+    private static final byte[] BYTES = {1, 2, 3};
+
+    @Test
+    void byteArrayIsExact() {
+        JsonCompoundPrimitive bytes = new JsonCompoundPrimitive(BYTES);
+        assertTrue(bytes.isByteArray());
+        assertFalse(bytes.isString());
+        assertArrayEquals(BYTES, bytes.getAsByteArray());
+        assertEquals("\"AQID\"", bytes.toJson());
+
+        // Same text, but read as a string.
+        JsonCompoundPrimitive text = new JsonCompoundPrimitive(new JsonPrimitive("AQID"));
+        assertFalse(text.isByteArray());
+        assertTrue(text.isString());
+        assertArrayEquals(BYTES, text.getAsByteArray());
+    }
+
+    @Test
+    void byteArrayIsCopied() {
+        byte[] source = BYTES.clone();
+        JsonCompoundPrimitive primitive = new JsonCompoundPrimitive(source);
+
+        source[0] = 42;
+        primitive.getAsByteArray()[1] = 42;
+
+        assertArrayEquals(BYTES, primitive.getAsByteArray());
+    }
+
+    @Test
+    void byteArraySizeIsMeasuredFromBytes() {
+        JsonCompoundPrimitive bytes = new JsonCompoundPrimitive(new byte[1_000]);
+
+        long expected = 2 * CompoundSizes.instanceSize(1, 0) + CompoundSizes.arraySize(1_000, 1);
+        assertEquals(expected, CompoundSizes.sizeOf(bytes));
+    }
+
+    @Test
+    void containersKeepByteArrays() {
+        JsonCompoundObject object = new JsonCompoundObject();
+        object.add("bytes", BYTES);
+        object.add("text", "AQID");
+        object.add("primitive", new JsonCompoundPrimitive(BYTES));
+
+        JsonCompoundArray array = new JsonCompoundArray();
+        array.add("AQID");
+        array.set(0, BYTES);
+
+        for (CompoundPrimitive primitive : new CompoundPrimitive[]{object.getAsPrimitive("bytes"),
+                object.getAsPrimitive("primitive"), array.get(0).getAsPrimitive()}) {
+            assertTrue(primitive.isByteArray());
+            assertFalse(primitive.isString());
+            assertArrayEquals(BYTES, primitive.getAsByteArray());
+            assertEquals(BinaryCompoundPrimitive.of(BYTES), primitive);
+        }
+
+        // Held as raw bytes in the tree, only encoded once written.
+        assertInstanceOf(JsonByteArray.class, object.getObject().get("bytes"));
+        assertInstanceOf(JsonByteArray.class, array.getArray().get(0));
+        assertFalse(object.getAsPrimitive("text").isByteArray());
+        assertEquals("{\"bytes\":\"AQID\",\"text\":\"AQID\",\"primitive\":\"AQID\"}", object.toJson());
+
+        CompoundObject copy = object.clone();
+        assertTrue(copy.getAsPrimitive("bytes").isByteArray());
+
+        CompoundArray converted = new JsonCompoundArray();
+        converted.add(BinaryCompoundPrimitive.of(BYTES));
+        assertTrue(converted.get(0).getAsPrimitive().isByteArray());
+    }
+}
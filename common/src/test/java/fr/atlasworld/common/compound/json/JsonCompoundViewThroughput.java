@@ -0,0 +1,95 @@
+package fr.atlasworld.common.compound.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import fr.atlasworld.common.compound.CompoundElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static fr.atlasworld.common.compound.json.JsonCompoundCloneThroughput.measure;
+import static fr.atlasworld.common.compound.json.JsonCompoundCloneThroughput.report;
+
+/**
+ * Harness comparing the live views of Json compounds with the former copying views.
+ * <p>
+ * Not run by the test task, start it manually with optional arguments {@code [elements] [seconds]}.
+ * The copying views are reproduced as they were: every element wrapped and collected into a new collection per call.
+ */
+public final class JsonCompoundViewThroughput {
+
+    private JsonCompoundViewThroughput() {
+    }
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 3;
+
+        JsonArray jsonArray = new JsonArray(elements);
+        JsonObject jsonObject = new JsonObject();
+        for (int i = 0; i < elements; i++) {
+            jsonArray.add(i);
+            jsonObject.addProperty("key-" + i, i);
+        }
+
+        JsonCompoundArray array = new JsonCompoundArray(jsonArray);
+        JsonCompoundObject object = new JsonCompoundObject(jsonObject);
+        String key = "key-" + elements / 2;
+
+        System.out.printf("%,d elements, %d seconds per run%n", elements, seconds);
+
+        for (int round = 0; round < 2; round++) { // The first round warms the JIT up.
+            report(round, "array iterate, copy", measure(seconds, () -> sum(copiedList(array))));
+            report(round, "array iterate, view", measure(seconds, () -> sum(array)));
+            report(round, "array get, copy", measure(seconds, () -> copiedList(array).get(elements / 2)));
+            report(round, "array get, view", measure(seconds, () -> array.asList().get(elements / 2)));
+
+            report(round, "object iterate, copy", measure(seconds, () -> sum(copiedEntries(object))));
+            report(round, "object iterate, view", measure(seconds, () -> sum(object.entrySet())));
+            report(round, "object get, copy", measure(seconds, () -> copiedMap(object).get(key)));
+            report(round, "object get, view", measure(seconds, () -> object.asMap().get(key)));
+        }
+    }
+
+    private static long sum(Iterable<CompoundElement> elements) {
+        long sum = 0;
+        for (CompoundElement element : elements) {
+            sum += element.getAsInt();
+        }
+
+        return sum;
+    }
+
+    private static long sum(Set<Map.Entry<String, CompoundElement>> entries) {
+        long sum = 0;
+        for (Map.Entry<String, CompoundElement> entry : entries) {
+            sum += entry.getValue().getAsInt();
+        }
+
+        return sum;
+    }
+
+    private static List<CompoundElement> copiedList(JsonCompoundArray array) {
+        return array.getArray().asList()
+                .stream()
+                .map(element -> (CompoundElement) JsonCompoundElement.toCompound(element))
+                .toList();
+    }
+
+    private static Set<Map.Entry<String, CompoundElement>> copiedEntries(JsonCompoundObject object) {
+        return object.getObject().entrySet()
+                .stream()
+                .map(entry -> Map.entry(entry.getKey(), (CompoundElement) JsonCompoundElement.toCompound(entry.getValue())))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Map<String, CompoundElement> copiedMap(JsonCompoundObject object) {
+        return object.getObject().asMap()
+                .entrySet()
+                .stream()
+                .map(entry -> Map.entry(entry.getKey(), (CompoundElement) JsonCompoundElement.toCompound(entry.getValue())))
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
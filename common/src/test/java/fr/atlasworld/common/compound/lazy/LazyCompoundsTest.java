@@ -0,0 +1,117 @@
+package fr.atlasworld.common.compound.lazy;
+
+import com.google.gson.JsonSyntaxException;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.CompoundSizes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyCompoundsTest {
+
+    @Test
+    void decodesUnicodeEscapes() {
+        assertEquals("caf\u00e9 \u20AC", parse("{\"name\":\"caf\\u00e9 \\u20AC\"}").getAsObject().getAsPrimitive("name").getAsString());
+    }
+
+    @Test
+    void rejectsMalformedUnicodeEscapes() {
+        for (String escape : new String[]{"\\u", "\\u1", "\\u12", "\\u123", "\\u12g4", "\\u+123", "\\u-123"}) {
+            CompoundElement element = parse("{\"name\":\"" + escape + "\"}");
+
+            assertThrows(JsonSyntaxException.class, () -> element.getAsObject().get("name").getAsString(), escape);
+        }
+    }
+
+    @Test
+    void rejectsDuplicateKeys() {
+        CompoundElement element = parse("{\"a\":1,\"b\":2,\"a\":3}");
+
+        assertThrows(JsonSyntaxException.class, () -> element.getAsObject().size());
+        assertThrows(JsonSyntaxException.class, () -> element.getAsObject().get("c"));
+        assertThrows(JsonSyntaxException.class, element::clone);
+    }
+
+    @Test
+    void sizeOfOnlyCountsDecodedValues() {
+        CompoundElement element = parse("{\"small\":1,\"large\":{\"text\":\"" + "x".repeat(4_096) + "\"}}");
+
+        long indexed = CompoundSizes.sizeOf(element);
+        assertEquals(indexed, CompoundSizes.sizeOf(element));
+
+        element.getAsObject().getAsObject("large").get("text");
+        assertTrue(CompoundSizes.sizeOf(element) > indexed + 4_096);
+    }
+
+    @Test
+    void readsNestedKeyWithoutDecodingSiblings() {
+        CompoundElement element = parse("""
+                {"broken":{"value":nope},"list":[1,{"bad":}],
+                 "nested":{"skip":[tru],"key":"value","after":{"x":-}}}""");
+
+        CompoundObject nested = element.getAsObject().getAsObject("nested");
+        assertEquals("value", nested.getAsPrimitive("key").getAsString());
+
+        // The malformed siblings were skipped, they are only reported once decoded.
+        assertThrows(JsonSyntaxException.class, () -> element.getAsObject().getAsObject("broken").get("value"));
+        assertThrows(JsonSyntaxException.class, () -> nested.getAsArray("skip").get(0));
+    }
+
+    @Test
+    void rejectsTrailingContent() {
+        for (String json : new String[]{"{} garbage", "[1] [2]", "1 2", "\"a\"\"b\"", "{\"a\":1}}", "null,"}) {
+            assertThrows(JsonSyntaxException.class, () -> parse(json), json);
+        }
+
+        assertTrue(parse(" {\"a\":[1,2]} \n\t").isObject());
+        assertTrue(parse("42").isPrimitive());
+    }
+
+    @Test
+    void rejectsUnterminatedRoot() {
+        for (String json : new String[]{"", "  ", "{\"a\":1", "[1,2", "\"text"}) {
+            assertThrows(JsonSyntaxException.class, () -> parse(json), json);
+        }
+    }
+
+    @Test
+    void openMapsFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("document.json");
+        String json = "{\"name\":\"atlas\",\"values\":[1,2.5,true,null]}";
+        Files.write(file, new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        Files.writeString(file, json, StandardOpenOption.APPEND);
+
+        CompoundElement element = LazyCompounds.open(file);
+        assertEquals("atlas", element.getAsObject().getAsPrimitive("name").getAsString());
+        assertEquals(2.5, element.getAsObject().getAsArray("values").get(1).getAsPrimitive().getAsDouble());
+        assertEquals(parse(json), element);
+        assertEquals(json, element.toJson());
+
+        Files.writeString(file, "{} garbage");
+        assertThrows(JsonSyntaxException.class, () -> LazyCompounds.open(file));
+    }
+
+    @Test
+    void cloneIsMutableCopy() {
+        CompoundElement element = parse("{\"a\":{\"b\":[1,2]}}");
+        CompoundObject copy = element.getAsObject().clone();
+
+        copy.getAsObject("a").getAsArray("b").add(3);
+        assertEquals(2, element.getAsObject().getAsObject("a").getAsArray("b").size());
+        assertEquals(3, copy.getAsObject("a").getAsArray("b").size());
+        assertThrows(UnsupportedOperationException.class, () -> element.getAsObject().add("c", 1));
+    }
+
+    private static CompoundElement parse(String json) {
+        return LazyCompounds.parse(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,136 @@
+package fr.atlasworld.common.compound.merge;
+
+import com.google.gson.JsonParser;
+import fr.atlasworld.common.compound.CompoundCanonical;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundHashing;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import fr.atlasworld.common.compound.json.JsonCompoundElement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompoundMergeTest {
+    // Values a layer may hold under the same key, null leaves the key out of the layer.
+    private static final List<String> VALUES = List.of(
+            "{\"a\":1,\"shared\":{\"x\":1},\"list\":[1]}",
+            "{\"b\":2,\"shared\":{\"y\":2},\"list\":[2,3]}",
+            "7",
+            "\"text\"",
+            "[1,{\"in\":true}]",
+            "[2]",
+            "null"
+    );
+
+    @Test
+    void replaceKeepsTheLastValue() {
+        CompoundObject merged = merge(MergePolicy.REPLACE,
+                "{\"k\":{\"a\":1,\"n\":{\"x\":1}},\"list\":[1],\"only\":1}",
+                "{\"k\":5,\"list\":[2]}",
+                "{\"k\":{\"b\":2},\"list\":[3]}");
+
+        assertEquals("{\"k\":{\"b\":2},\"list\":[3],\"only\":1}", CompoundCanonical.toJson(merged));
+    }
+
+    @Test
+    void replaceMergesObjectsAboveTheLastPrimitive() {
+        CompoundObject merged = merge(MergePolicy.REPLACE,
+                "{\"k\":{\"a\":1}}",
+                "{\"k\":5}",
+                "{\"k\":{\"b\":2}}",
+                "{\"k\":{\"c\":3}}");
+
+        assertEquals("{\"k\":{\"b\":2,\"c\":3}}", CompoundCanonical.toJson(merged));
+    }
+
+    @Test
+    void appendArraysConcatenatesInLayerOrder() {
+        CompoundObject merged = merge(MergePolicy.APPEND_ARRAYS,
+                "{\"list\":[1],\"nested\":{\"list\":[{\"id\":1}]},\"broken\":[1]}",
+                "{\"list\":[2,3],\"nested\":{\"list\":[{\"id\":2}]},\"broken\":\"cut\"}",
+                "{\"list\":[],\"nested\":{\"list\":[[4]]},\"broken\":[2]}");
+
+        assertEquals("{\"broken\":[2],\"list\":[1,2,3],\"nested\":{\"list\":[{\"id\":1},{\"id\":2},[4]]}}",
+                CompoundCanonical.toJson(merged));
+    }
+
+    @Test
+    void keepFirstOnlyFillsMissingEntries() {
+        CompoundObject merged = merge(MergePolicy.KEEP_FIRST,
+                "{\"k\":{\"a\":1},\"p\":1}",
+                "{\"k\":5,\"p\":{\"x\":1},\"q\":[1]}",
+                "{\"k\":{\"a\":2,\"b\":2},\"q\":[2]}");
+
+        assertEquals("{\"k\":{\"a\":1,\"b\":2},\"p\":1,\"q\":[1]}", CompoundCanonical.toJson(merged));
+    }
+
+    @Test
+    void overlayMatchesMergeForEveryLayerCombination() {
+        for (MergePolicy policy : MergePolicy.values()) {
+            for (int first = -1; first < VALUES.size(); first++) {
+                for (int second = -1; second < VALUES.size(); second++) {
+                    for (int third = -1; third < VALUES.size(); third++) {
+                        List<CompoundObject> layers = List.of(layer(first), layer(second), layer(third));
+                        String description = policy + " " + layers;
+
+                        CompoundObject merged = CompoundMerge.mergeAll(new BinaryCompoundObject(), policy,
+                                layers.toArray(CompoundObject[]::new));
+                        OverlayCompoundObject overlay = OverlayCompoundObject.of(policy, layers);
+                        CompoundObject clone = overlay.clone();
+
+                        assertTrue(CompoundHashing.equals(merged, overlay), description);
+                        assertTrue(CompoundHashing.equals(merged, clone), description);
+                        assertEquals(CompoundCanonical.toJson(merged), CompoundCanonical.toJson(overlay), description);
+                        assertEquals(merged.size(), overlay.size(), description);
+                        assertEquals(merged.digest(), clone.digest(), description);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void mergeLeavesLayersUnchanged() {
+        CompoundObject bottom = object("{\"k\":{\"a\":1},\"list\":[1]}");
+        CompoundObject top = object("{\"k\":{\"b\":2},\"list\":[2]}");
+        String bottomJson = CompoundCanonical.toJson(bottom);
+        String topJson = CompoundCanonical.toJson(top);
+
+        for (MergePolicy policy : MergePolicy.values()) {
+            CompoundObject merged = CompoundMerge.mergeAll(new BinaryCompoundObject(), policy, bottom, top);
+            merged.getAsObject("k").add("c", 3);
+            merged.getAsArray("list").add(4);
+
+            assertEquals(bottomJson, CompoundCanonical.toJson(bottom));
+            assertEquals(topJson, CompoundCanonical.toJson(top));
+        }
+
+        OverlayCompoundObject overlay = OverlayCompoundObject.of(bottom, top);
+        assertThrows(UnsupportedOperationException.class, () -> overlay.add("k", 1));
+        assertThrows(UnsupportedOperationException.class, () -> overlay.getAsObject("k").add("c", 3));
+    }
+
+    private static CompoundObject merge(MergePolicy policy, String... layers) {
+        List<CompoundObject> objects = new ArrayList<>();
+        for (String layer : layers) {
+            objects.add(object(layer));
+        }
+
+        CompoundObject merged = CompoundMerge.mergeAll(new BinaryCompoundObject(), policy, objects.toArray(CompoundObject[]::new));
+        assertEquals(CompoundCanonical.toJson(merged), CompoundCanonical.toJson(OverlayCompoundObject.of(policy, objects)));
+        return merged;
+    }
+
+    private static CompoundObject layer(int value) {
+        return object(value < 0 ? "{\"other\":0}" : "{\"other\":" + value + ",\"k\":" + VALUES.get(value) + "}");
+    }
+
+    private static CompoundObject object(String json) {
+        CompoundElement element = JsonCompoundElement.toCompound(JsonParser.parseString(json));
+        return element.getAsObject();
+    }
+}
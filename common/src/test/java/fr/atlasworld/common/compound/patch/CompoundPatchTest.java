@@ -0,0 +1,129 @@
+package fr.atlasworld.common.compound.patch;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.binary.BinaryCompoundArray;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import fr.atlasworld.common.compound.concurrent.ConcurrentCompoundObject;
+import fr.atlasworld.common.compound.json.JsonCompoundElement;
+import fr.atlasworld.common.compound.persistent.PersistentCompoundObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompoundPatchTest {
+    private static final String SOURCE = """
+            {"name":"source","count":1,"ratio":0.5,"flags":{"a":true,"b":false},
+             "items":[{"id":1},{"id":2},{"id":3}],"removed":"yes"}""";
+    private static final String TARGET = """
+            {"name":"target","count":1,"ratio":0.75,"flags":{"a":true,"c":null},
+             "items":[{"id":1},{"id":4}],"added":[1,2,3]}""";
+
+    private static final List<Function<CompoundObject, CompoundObject>> BACKENDS = List.of(
+            object -> object,
+            object -> {
+                BinaryCompoundObject binary = new BinaryCompoundObject();
+                object.entrySet().forEach(entry -> binary.add(entry.getKey(), entry.getValue()));
+                return binary;
+            },
+            ConcurrentCompoundObject::copyOf,
+            PersistentCompoundObject::copyOf
+    );
+
+    @Test
+    void diffThenApplyAcrossBackends() {
+        for (Function<CompoundObject, CompoundObject> sourceBackend : BACKENDS) {
+            for (Function<CompoundObject, CompoundObject> targetBackend : BACKENDS) {
+                CompoundObject source = sourceBackend.apply(json(SOURCE));
+                CompoundObject target = targetBackend.apply(json(TARGET));
+                CompoundPatch patch = CompoundPatch.diff(source, target);
+
+                assertFalse(patch.isEmpty());
+                assertTrue(CompoundPatch.diff(source, source.clone()).isEmpty());
+
+                // Persistent compounds are immutable, the patch is applied to mutable copies of the source.
+                for (CompoundObject copy : List.of(json(SOURCE), BACKENDS.get(1).apply(json(SOURCE)))) {
+                    assertEquals(target, patch.apply(copy));
+                }
+
+                assertEquals(patch.operations(), CompoundPatch.fromJson(patch.toJson()).operations());
+            }
+        }
+    }
+
+    @Test
+    void equalNumbersOfDifferentTypesAreNotReplaced() {
+        BinaryCompoundObject source = new BinaryCompoundObject();
+        source.add("value", 1).add("large", Long.MAX_VALUE);
+
+        CompoundObject target = json("{\"value\":1.0,\"large\":9223372036854775807}");
+
+        assertTrue(CompoundPatch.diff(source, target).isEmpty());
+    }
+
+    @Test
+    void arrayInsertAndRemoveShiftIndices() {
+        BinaryCompoundArray array = new BinaryCompoundArray();
+        array.add("a").add("b").add("c");
+
+        CompoundPatch.fromJson("""
+                [{"op":"add","path":"/1","value":"x"},
+                 {"op":"remove","path":"/0"},
+                 {"op":"add","path":"/-","value":"end"},
+                 {"op":"add","path":"/0","value":"start"}]""").apply(array);
+
+        assertEquals(parse("[\"start\",\"x\",\"b\",\"c\",\"end\"]"), array);
+
+        assertThrows(IllegalStateException.class, () -> CompoundPatch.fromJson("[{\"op\":\"add\",\"path\":\"/6\",\"value\":0}]").apply(array));
+        assertThrows(IllegalStateException.class, () -> CompoundPatch.fromJson("[{\"op\":\"remove\",\"path\":\"/5\"}]").apply(array));
+    }
+
+    @Test
+    void arrayDiffRemovesFromTheEnd() {
+        CompoundElement source = parse("[1,2,3,4,5]");
+        CompoundElement target = parse("[1,9]");
+
+        CompoundPatch patch = CompoundPatch.diff(source, target);
+
+        assertEquals(List.of("/1", "/4", "/3", "/2"), patch.operations().stream().map(PatchOperation::pointer).toList());
+        assertEquals(target, patch.apply(source));
+    }
+
+    @Test
+    void pointerEscaping() {
+        CompoundObject source = json("{}");
+        CompoundObject target = json("{\"a/b\":1,\"m~n\":2,\"~1\":3}");
+
+        CompoundPatch patch = CompoundPatch.diff(source, target);
+        assertEquals(List.of("/a~1b", "/m~0n", "/~01"), patch.operations().stream().map(PatchOperation::pointer).toList());
+
+        CompoundPatch parsed = CompoundPatch.fromJson(patch.toJson());
+        assertEquals(List.of(List.of("a/b"), List.of("m~n"), List.of("~1")),
+                parsed.operations().stream().map(PatchOperation::path).toList());
+        assertEquals(target, parsed.apply(source));
+    }
+
+    @Test
+    void fromJsonRejectsInvalidDocuments() {
+        assertThrows(JsonParseException.class, () -> CompoundPatch.fromJson("[{\"op\":"));
+        assertThrows(IllegalArgumentException.class, () -> CompoundPatch.fromJson("{\"op\":\"add\"}"));
+        assertThrows(IllegalArgumentException.class, () -> CompoundPatch.fromJson("[1]"));
+        assertThrows(IllegalArgumentException.class, () -> CompoundPatch.fromJson("[{\"op\":\"move\",\"path\":\"/a\",\"from\":\"/b\"}]"));
+        assertThrows(IllegalArgumentException.class, () -> CompoundPatch.fromJson("[{\"op\":\"add\",\"path\":\"/a\"}]"));
+        assertThrows(IllegalArgumentException.class, () -> CompoundPatch.fromJson("[{\"op\":\"add\",\"path\":\"a\",\"value\":1}]"));
+        assertThrows(IllegalArgumentException.class, () -> CompoundPatch.fromJson("[{\"path\":\"/a\"}]"));
+    }
+
+    private static CompoundObject json(String json) {
+        return parse(json).getAsObject();
+    }
+
+    private static CompoundElement parse(String json) {
+        return JsonCompoundElement.toCompound(JsonParser.parseString(json));
+    }
+}
@@ -0,0 +1,210 @@
+package fr.atlasworld.common.compound.persistent;
+
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import fr.atlasworld.common.compound.binary.BinaryCompoundPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentCompoundsTest {
+
+    @Test
+    void objectMatchesHashMap() {
+        Random random = new Random(42);
+        Map<String, CompoundElement> expected = new HashMap<>();
+        PersistentCompoundObject object = PersistentCompoundObject.EMPTY;
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key" + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                object = object.without(key);
+            } else {
+                CompoundElement value = BinaryCompoundPrimitive.of(i);
+                expected.put(key, value);
+                object = object.with(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), object.size());
+        assertEquals(expected, object.asMap());
+        for (Map.Entry<String, CompoundElement> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), object.get(entry.getKey()));
+        }
+
+        assertFalse(object.has("missing"));
+    }
+
+    @Test
+    void objectHandlesHashCollisions() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        PersistentCompoundObject object = PersistentCompoundObject.EMPTY.with("Aa", 1).with("BB", 2).with("AaAa", 3).with("BBBB", 4);
+        assertEquals(4, object.size());
+        assertEquals(2, object.get("BB").getAsPrimitive().getAsInt());
+
+        PersistentCompoundObject removed = object.without("Aa").without("AaAa");
+        assertEquals(2, removed.size());
+        assertFalse(removed.has("Aa"));
+        assertEquals(4, removed.get("BBBB").getAsPrimitive().getAsInt());
+        assertTrue(removed.without("BB").without("BBBB").isEmpty());
+    }
+
+    @Test
+    void objectUpdatesShareUntouchedNodes() {
+        PersistentCompoundObject object = PersistentCompoundObject.EMPTY;
+        for (int i = 0; i < 4_096; i++) {
+            object = object.with("key" + i, i);
+        }
+
+        PersistentCompoundObject updated = object.with("key0", -1).without("key1");
+        assertEquals(-1, updated.get("key0").getAsPrimitive().getAsInt());
+        assertEquals(0, object.get("key0").getAsPrimitive().getAsInt());
+        assertSame(object, object.with("key2", object.get("key2")));
+        assertSame(object, object.without("missing"));
+
+        // Only the root slots leading to the two changed keys were copied, every other subtree is the same instance.
+        assertEquals(object.size() - 1, updated.size());
+        assertTrue(differentSlots(rootArray(object), rootArray(updated)) <= 2);
+    }
+
+    @Test
+    void nestedUpdatesShareSiblings() {
+        BinaryCompoundObject source = new BinaryCompoundObject();
+        source.addObject("left", left -> left.add("value", 1));
+        source.addObject("right", right -> right.addObject("deep", deep -> deep.add("value", 2)));
+
+        PersistentCompoundObject object = PersistentCompoundObject.copyOf(source);
+        PersistentCompoundObject updated = object.withIn(List.of("right", "deep", "value"), BinaryCompoundPrimitive.of(3));
+
+        assertSame(object.get("left"), updated.get("left"));
+        assertEquals(2, object.getAsObject("right").getAsObject("deep").getAsPrimitive("value").getAsInt());
+        assertEquals(3, updated.getAsObject("right").getAsObject("deep").getAsPrimitive("value").getAsInt());
+    }
+
+    @Test
+    void arrayMatchesArrayList() {
+        Random random = new Random(42);
+        List<CompoundElement> expected = new ArrayList<>();
+        PersistentCompoundArray array = PersistentCompoundArray.EMPTY;
+
+        for (int i = 0; i < 5_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation == 0 && !expected.isEmpty()) {
+                int index = random.nextInt(10) == 0 ? random.nextInt(expected.size()) : expected.size() - 1;
+                expected.remove(index);
+                array = array.without(index);
+            } else if (operation == 1 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                CompoundElement value = BinaryCompoundPrimitive.of(-i);
+                expected.set(index, value);
+                array = array.with(index, value);
+            } else {
+                CompoundElement value = BinaryCompoundPrimitive.of(i);
+                expected.add(value);
+                array = array.plus(value);
+            }
+        }
+
+        assertEquals(expected, array.asList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), array.get(i));
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentCompoundArray.EMPTY.plus(1).get(1));
+    }
+
+    @Test
+    void arrayRemovalAcrossLevels() {
+        PersistentCompoundArray array = PersistentCompoundArray.EMPTY;
+        for (int i = 0; i < 40_000; i++) {
+            array = array.plus(i);
+        }
+
+        for (int count : new int[]{40_000, 32_800, 1_057, 1_056, 1_024, 33, 32, 31, 1}) {
+            PersistentCompoundArray shortened = array;
+            while (shortened.size() > count) {
+                shortened = shortened.without(shortened.size() - 1);
+            }
+
+            assertEquals(count, shortened.size());
+            assertEquals(count - 1, shortened.get(count - 1).getAsPrimitive().getAsInt());
+
+            PersistentCompoundArray grown = shortened.plus(-1);
+            assertEquals(-1, grown.get(count).getAsPrimitive().getAsInt());
+            assertEquals(0, grown.get(0).getAsPrimitive().getAsInt());
+        }
+
+        PersistentCompoundArray middle = array.without(20_000);
+        assertEquals(39_999, middle.size());
+        assertEquals(19_999, middle.get(19_999).getAsPrimitive().getAsInt());
+        assertEquals(20_001, middle.get(20_000).getAsPrimitive().getAsInt());
+    }
+
+    @Test
+    void arrayUpdatesShareUntouchedLeaves() {
+        PersistentCompoundArray array = PersistentCompoundArray.EMPTY;
+        for (int i = 0; i < 4_096; i++) {
+            array = array.plus(i);
+        }
+
+        VectorTrie elements = vector(array);
+        VectorTrie replaced = vector(array.with(100, BinaryCompoundPrimitive.of(-1)));
+        VectorTrie appended = vector(array.plus(-1));
+        VectorTrie removed = vector(array.without(3_000));
+
+        for (int index = 0; index < array.size(); index += 32) {
+            boolean onPath = index >>> 5 == 100 >>> 5;
+            assertEquals(!onPath, elements.leafFor(index) == replaced.leafFor(index));
+            assertSame(elements.leafFor(index), appended.leafFor(index));
+
+            if (index + 32 <= 3_000)
+                assertSame(elements.leafFor(index), removed.leafFor(index));
+        }
+
+        assertEquals(-1, array.with(100, BinaryCompoundPrimitive.of(-1)).get(100).getAsPrimitive().getAsInt());
+        assertEquals(100, array.get(100).getAsPrimitive().getAsInt());
+    }
+
+    private static Object[] rootArray(PersistentCompoundObject object) {
+        return entries(object).root().array;
+    }
+
+    private static int differentSlots(Object[] first, Object[] second) {
+        assertEquals(first.length, second.length);
+
+        int different = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] != second[i])
+                different++;
+        }
+
+        return different;
+    }
+
+    private static HashTrie entries(PersistentCompoundObject object) {
+        return field(object, "entries");
+    }
+
+    private static VectorTrie vector(PersistentCompoundArray array) {
+        return field(array, "elements");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T field(Object owner, String name) {
+        try {
+            var field = owner.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            return (T) field.get(owner);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
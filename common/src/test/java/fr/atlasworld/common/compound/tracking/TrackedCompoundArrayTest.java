@@ -0,0 +1,80 @@
+package fr.atlasworld.common.compound.tracking;
+
+import fr.atlasworld.common.compound.CompoundArray;
+import fr.atlasworld.common.compound.CompoundObject;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackedCompoundArrayTest {
+
+    @Test
+    void viewRetrievedBeforeShiftRecordsWholeArray() {
+        TrackedCompoundObject root = track(5);
+        CompoundObject view = root.getAsArray("items").get(3).getAsObject();
+
+        root.getAsArray("items").remove(0);
+        root.tracker().markClean();
+
+        view.add("name", "moved");
+
+        assertEquals(List.of(List.of("items")), root.tracker().dirtyPaths());
+        assertEquals("moved", root.getAsArray("items").get(2).getAsObject().getAsPrimitive("name").getAsString());
+        assertTrue(((TrackedCompoundObject) view).isDirty());
+    }
+
+    @Test
+    void viewRetrievedAfterShiftRecordsItsIndex() {
+        TrackedCompoundObject root = track(5);
+
+        root.getAsArray("items").remove(0);
+        root.tracker().markClean();
+
+        root.getAsArray("items").get(2).getAsObject().add("name", "moved");
+
+        assertEquals(List.of(List.of("items", "2", "name")), root.tracker().dirtyPaths());
+    }
+
+    @Test
+    void removingLastElementKeepsViews() {
+        TrackedCompoundObject root = track(5);
+        CompoundObject view = root.getAsArray("items").get(1).getAsObject();
+
+        root.getAsArray("items").remove(4);
+        root.tracker().markClean();
+
+        view.add("name", "kept");
+
+        assertEquals(List.of(List.of("items", "1", "name")), root.tracker().dirtyPaths());
+    }
+
+    @Test
+    void nestedShiftInvalidatesOuterViews() {
+        TrackedCompoundObject root = track(3);
+        CompoundArray items = root.getAsArray("items");
+        items.get(0).getAsObject().addArray("children", children -> children.add(1).add(2));
+        CompoundObject view = items.get(1).getAsObject();
+
+        items.get(0).getAsObject().getAsArray("children").remove(0);
+        root.tracker().markClean();
+
+        view.add("name", "other");
+
+        assertEquals(List.of(List.of("items")), root.tracker().dirtyPaths());
+    }
+
+    private static TrackedCompoundObject track(int size) {
+        BinaryCompoundObject object = new BinaryCompoundObject();
+        object.addArray("items", array -> {
+            for (int i = 0; i < size; i++) {
+                int id = i;
+                array.addObject(element -> element.add("id", id));
+            }
+        });
+
+        return TrackedCompoundObject.track(object);
+    }
+}
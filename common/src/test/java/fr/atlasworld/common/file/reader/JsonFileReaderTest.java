@@ -0,0 +1,137 @@
+package fr.atlasworld.common.file.reader;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import fr.atlasworld.common.compound.CompoundElement;
+import fr.atlasworld.common.compound.CompoundWriter;
+import fr.atlasworld.common.compound.binary.BinaryCompoundObject;
+import fr.atlasworld.common.compound.lazy.LazyCompounds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JsonFileReaderTest {
+    private static final String PREVIOUS = "{\"previous\":true}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeCompoundReplacesFile() throws IOException {
+        JsonFileReader<JsonObject> reader = this.reader();
+
+        BinaryCompoundObject compound = new BinaryCompoundObject();
+        compound.add("name", "atlas").add("level", 3);
+        reader.writeCompound(compound, false);
+
+        assertEquals(compound.toJson(), this.content());
+        assertEquals(1, this.files());
+    }
+
+    @Test
+    void failedWriteCompoundKeepsFile() throws IOException {
+        JsonFileReader<JsonObject> reader = this.reader();
+
+        // Lazy values are only decoded while being written, the second entry fails halfway through the document.
+        byte[] malformed = "{\"first\":1,\"second\":nope}".getBytes(StandardCharsets.UTF_8);
+        CompoundElement compound = LazyCompounds.parse(ByteBuffer.wrap(malformed));
+
+        assertThrows(JsonSyntaxException.class, () -> reader.writeCompound(compound, false));
+        assertEquals(PREVIOUS, this.content());
+        assertEquals(1, this.files());
+    }
+
+    @Test
+    void incompleteCompoundWriterKeepsFile() throws IOException {
+        JsonFileReader<JsonObject> reader = this.reader();
+
+        CompoundWriter writer = reader.asCompoundWriter();
+        writer.beginObject().name("partial").value(1);
+
+        assertThrows(IOException.class, writer::close);
+        assertEquals(PREVIOUS, this.content());
+        assertEquals(1, this.files());
+    }
+
+    @Test
+    void compoundWriterReplacesFileOnClose() throws IOException {
+        JsonFileReader<JsonObject> reader = this.reader();
+
+        try (CompoundWriter writer = reader.asCompoundWriter()) {
+            writer.beginObject().name("complete").value(true).endObject();
+            assertEquals(PREVIOUS, this.content());
+        }
+
+        assertEquals("{\"complete\":true}", this.content());
+        assertEquals(1, this.files());
+    }
+
+    @Test
+    void writeRawKeepsPermissions() throws IOException {
+        Path file = this.directory.resolve("data.json");
+        assumeTrue(Files.getFileStore(file.getParent()).supportsFileAttributeView(PosixFileAttributeView.class));
+
+        JsonFileReader<JsonObject> reader = this.reader();
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, permissions);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("written", true);
+        reader.writeRaw(json);
+
+        assertEquals("{\"written\":true}", this.content());
+        assertEquals(permissions, Files.getPosixFilePermissions(file));
+    }
+
+    @Test
+    void writeRawFollowsSymbolicLinks() throws IOException {
+        Path target = this.directory.resolve("data.json");
+        Path link = this.directory.resolve("link.json");
+        Files.writeString(target, PREVIOUS);
+
+        try {
+            Files.createSymbolicLink(link, target.getFileName());
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "Symbolic links are not supported: " + e);
+        }
+
+        JsonObject json = new JsonObject();
+        json.addProperty("written", true);
+        new JsonFileReader<>(link.toFile(), JsonObject.class).writeRaw(json);
+
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals("{\"written\":true}", this.content());
+        assertEquals(2, this.files());
+    }
+
+    private JsonFileReader<JsonObject> reader() throws IOException {
+        File file = this.directory.resolve("data.json").toFile();
+        Files.writeString(file.toPath(), PREVIOUS);
+
+        return new JsonFileReader<>(file, JsonObject.class);
+    }
+
+    private String content() throws IOException {
+        return Files.readString(this.directory.resolve("data.json"), StandardCharsets.UTF_8);
+    }
+
+    private long files() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.count();
+        }
+    }
+}